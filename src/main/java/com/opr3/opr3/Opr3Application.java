@@ -2,8 +2,10 @@ package com.opr3.opr3;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class Opr3Application {
 
 	public static void main(String[] args) {
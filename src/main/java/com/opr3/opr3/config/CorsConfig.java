@@ -1,6 +1,7 @@
 package com.opr3.opr3.config;
 
 import java.util.Arrays;
+import java.util.List;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,23 +13,26 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 @Configuration
 public class CorsConfig {
 
+    // also applied to WebSocket handshakes, see WebSocketConfig
+    public static final List<String> ALLOWED_ORIGINS = List.of(
+            "http://localhost:5173",
+            "http://127.0.0.1:5173",
+            "http://frontend:5173",
+            "http://0.0.0.0:5173",
+            "http://host.docker.internal:5173",
+            "http://localhost:80",
+            "http://127.0.0.1:80",
+            "http://localhost",
+            "http://127.0.0.1");
+
     @Bean
     @Primary
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
-        configuration.setAllowedOrigins(Arrays.asList(
-                "http://localhost:5173",
-                "http://127.0.0.1:5173",
-                "http://frontend:5173",
-                "http://0.0.0.0:5173",
-                "http://host.docker.internal:5173",
-                "http://localhost:80",
-                "http://127.0.0.1:80",
-                "http://localhost",
-                "http://127.0.0.1"));
+        configuration.setAllowedOrigins(ALLOWED_ORIGINS);
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "X-Refresh-Token"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "X-Refresh-Token", "ETag"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
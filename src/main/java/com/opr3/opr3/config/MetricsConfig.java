@@ -0,0 +1,50 @@
+package com.opr3.opr3.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+
+/**
+ * Metrics exported on the management port at {@code /actuator/prometheus}.
+ *
+ * <p>
+ * Boot records a timer per request ({@code http.server.requests}), Hikari
+ * pool usage and connection wait ({@code hikaricp.*}) and, from Hibernate's
+ * statistics, statement and query counts ({@code hibernate.*}). Histogram
+ * buckets for the timers are switched on in {@code application.properties}.
+ * This configuration adds a {@code handler} tag naming the controller method
+ * to the request timers, so latency can be told apart per endpoint method.
+ * The JWT timers are recorded by {@code JwtAuthenticationFilter} and
+ * {@code JwtService}.
+ * </p>
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final KeyValue NO_HANDLER = KeyValue.of("handler", "none");
+
+    @Bean
+    public ServerRequestObservationConvention handlerTaggingObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(handler(context));
+            }
+        };
+    }
+
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return KeyValue.of("handler", method.getBeanType().getSimpleName() + "#" + method.getMethod().getName());
+        }
+        return NO_HANDLER;
+    }
+}
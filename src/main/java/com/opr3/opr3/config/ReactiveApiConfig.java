@@ -0,0 +1,124 @@
+package com.opr3.opr3.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.observation.DefaultServerRequestObservationConvention;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opr3.opr3.controller.ReactiveReadHandler;
+import com.opr3.opr3.filter.JwtWebFilter;
+
+import io.micrometer.observation.ObservationRegistry;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Serves the project and task read endpoints from a reactive stack on a port
+ * of its own, next to the servlet endpoints on {@code server.port}.
+ *
+ * <p>
+ * Enabled by {@code app.reactive.port}. Connections are handled by Netty's
+ * event loops, one thread per core, however many clients are connected. Only
+ * the HTTP side is non-blocking: the database is reached over blocking JDBC
+ * through the same services and connection pool as the servlet endpoints, from
+ * a scheduler with one thread per pooled connection
+ * ({@code app.reactive.database-threads}, by default the Hikari pool size).
+ * At most that many threads ever wait for the database, and database
+ * concurrency stays bounded by them.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty("app.reactive.port")
+public class ReactiveApiConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler reactiveDatabaseScheduler(
+            @Value("${app.reactive.database-threads:${spring.datasource.hikari.maximum-pool-size:10}}") int threads,
+            @Value("${app.reactive.database-queue:100000}") int queueCapacity) {
+        return Schedulers.newBoundedElastic(threads, queueCapacity, "reactive-db");
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveReadRoutes(ReactiveReadHandler handler) {
+        return RouterFunctions.route()
+                .path("/api/projects", projects -> projects
+                        .GET("", handler::getAllUserProjects)
+                        .GET("/{projectId}", handler::getProjectById)
+                        .GET("/{projectId}/tasks", handler::getProjectTasks)
+                        .GET("/{projectId}/tasks/{taskId}", handler::getTaskById))
+                .build();
+    }
+
+    // requests are timed as http.server.reactive.requests; the servlet timers
+    // carry a handler tag these do not have, which one Prometheus name cannot mix
+    @Bean
+    public ReactiveApiServer reactiveApiServer(RouterFunction<ServerResponse> reactiveReadRoutes,
+            JwtWebFilter jwtWebFilter, ObjectMapper objectMapper, ObservationRegistry observationRegistry,
+            @Value("${app.reactive.port}") int port) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+
+        HttpHandler httpHandler = WebHttpHandlerBuilder
+                .webHandler(RouterFunctions.toWebHandler(reactiveReadRoutes, strategies))
+                .filter(jwtWebFilter)
+                .observationRegistry(observationRegistry)
+                .observationConvention(new DefaultServerRequestObservationConvention("http.server.reactive.requests"))
+                .build();
+        WebServer webServer = new NettyReactiveWebServerFactory(port).getWebServer(httpHandler);
+        return new ReactiveApiServer(webServer);
+    }
+
+    /**
+     * Starts and stops the reactive server with the application context.
+     */
+    public static class ReactiveApiServer implements SmartLifecycle {
+
+        private final WebServer webServer;
+        private volatile boolean running;
+
+        ReactiveApiServer(WebServer webServer) {
+            this.webServer = webServer;
+        }
+
+        /**
+         * @return the port the server listens on, once started
+         */
+        public int getPort() {
+            return webServer.getPort();
+        }
+
+        @Override
+        public void start() {
+            webServer.start();
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            webServer.stop();
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+    }
+}
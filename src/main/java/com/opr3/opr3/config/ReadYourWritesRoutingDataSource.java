@@ -0,0 +1,109 @@
+package com.opr3.opr3.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.event.DataChangeEvent;
+
+/**
+ * Picks the pool a read-only transaction runs on: the replica, unless the
+ * authenticated user changed a project or task within the read-your-writes
+ * window. Those users keep reading from the primary for the length of the
+ * window, so their own changes do not disappear while the replica catches up.
+ * Reads without a user, such as jobs, always go to the replica.
+ *
+ * <p>
+ * Replica reads stay out of the shared caches, which primary reads and writes
+ * rely on: {@link ReplicaAwareJpaDialect} keeps their entities out of the
+ * Hibernate second-level cache, and {@code ProjectListCache} does not store
+ * lists they build.
+ * </p>
+ */
+public class ReadYourWritesRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final Cache<String, Boolean> recentWriters;
+    private final ThreadLocal<Target> pinnedTarget = new ThreadLocal<>();
+
+    /**
+     * @param window how long a user reads from the primary after a change; zero
+     *               sends every read-only transaction to the replica
+     */
+    public ReadYourWritesRoutingDataSource(DataSource primary, DataSource replica, Duration window) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(replica);
+        this.recentWriters = window.isZero() ? null : Caffeine.newBuilder().expireAfterWrite(window).build();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDataChange(DataChangeEvent event) {
+        if (recentWriters != null) {
+            recentWriters.put(event.userUid(), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Whether a read-only transaction started now on this thread reads from
+     * the replica. Reads from there may lag behind the primary, so their
+     * results must not go into caches shared with primary reads.
+     */
+    public boolean routesToReplica() {
+        Target pinned = pinnedTarget.get();
+        return (pinned != null ? pinned : currentTarget()) == Target.REPLICA;
+    }
+
+    /**
+     * Fixes the target of read-only transactions on this thread until
+     * {@link #unpin(Object)}, so that they agree with {@link #routesToReplica()}
+     * even if the user's read-your-writes window ends meanwhile. An existing pin
+     * is kept.
+     *
+     * @return the previous pin, to be handed to {@link #unpin(Object)}
+     */
+    public Object pin() {
+        Target previous = pinnedTarget.get();
+        pinnedTarget.set(previous != null ? previous : currentTarget());
+        return previous;
+    }
+
+    public void unpin(Object previous) {
+        if (previous == null) {
+            pinnedTarget.remove();
+        } else {
+            pinnedTarget.set((Target) previous);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target pinned = pinnedTarget.get();
+        return pinned != null ? pinned : currentTarget();
+    }
+
+    private Target currentTarget() {
+        if (recentWriters == null) {
+            return Target.REPLICA;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user
+                && recentWriters.getIfPresent(user.getUid()) != null) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+}
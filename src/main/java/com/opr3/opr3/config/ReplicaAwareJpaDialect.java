@@ -0,0 +1,58 @@
+package com.opr3.opr3.config;
+
+import java.sql.SQLException;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Runs read-only transactions that {@link ReadYourWritesRoutingDataSource}
+ * sends to the replica with {@link CacheMode#GET}: they read from the
+ * second-level cache but never put into it, so rows from a lagging replica
+ * cannot reach later reads and writes on the primary. The routing decision is
+ * pinned for the length of the transaction.
+ */
+public class ReplicaAwareJpaDialect extends HibernateJpaDialect {
+
+    private final ReadYourWritesRoutingDataSource routingDataSource;
+
+    public ReplicaAwareJpaDialect(ReadYourWritesRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    private record ReplicaRead(Object transactionData, Session session, CacheMode cacheMode, Object previousPin) {
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly()) {
+            return transactionData;
+        }
+
+        Object previousPin = routingDataSource.pin();
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        if (routingDataSource.routesToReplica()) {
+            session.setCacheMode(CacheMode.GET);
+        }
+        return new ReplicaRead(transactionData, session, cacheMode, previousPin);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaRead read) {
+            read.session().setCacheMode(read.cacheMode());
+            routingDataSource.unpin(read.previousPin());
+            super.cleanupTransaction(read.transactionData());
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.opr3.opr3.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Sends read-only transactions to a replica when
+ * {@code app.datasource.replica.jdbc-url} is set; everything else keeps using
+ * the pool configured under {@code spring.datasource}.
+ *
+ * <p>
+ * The data source handed to JPA is a {@link LazyConnectionDataSourceProxy}.
+ * It takes the physical connection only at the first statement, after the
+ * transaction has been marked read-only, and then asks
+ * {@link ReadYourWritesRoutingDataSource} for read-only connections. Writes,
+ * read-write transactions and statements outside a transaction go to the
+ * primary. The replica pool takes Hikari settings directly under
+ * {@code app.datasource.replica} ({@code jdbc-url}, {@code username},
+ * {@code password}, {@code maximum-pool-size}, ...). Replica reads do not fill
+ * the second-level cache, see {@link ReplicaAwareJpaDialect}.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty("app.datasource.replica.jdbc-url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadYourWritesRoutingDataSource readOnlyDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${app.datasource.read-your-writes-ms:5000}") long readYourWritesMs) {
+        return new ReadYourWritesRoutingDataSource(primaryDataSource, replicaDataSource,
+                Duration.ofMillis(readYourWritesMs));
+    }
+
+    // set before the factory initializes, so JpaTransactionManager picks it up
+    @Bean
+    public static BeanPostProcessor replicaAwareJpaDialectPostProcessor(
+            ObjectProvider<ReadYourWritesRoutingDataSource> readOnlyDataSource) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean factory) {
+                    factory.setJpaDialect(new ReplicaAwareJpaDialect(readOnlyDataSource.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+            ReadYourWritesRoutingDataSource readOnlyDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readOnlyDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,45 @@
+package com.opr3.opr3.config;
+
+import java.net.URI;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hands Hibernate a JCache CacheManager owned by this application context.
+ *
+ * <p>
+ * Hibernate closes its CacheManager together with the SessionFactory, while
+ * the caching provider would give every context in the JVM (test contexts,
+ * devtools restarts) the same instance for the same configuration URI. Each
+ * context therefore registers its own manager under a unique URI, built from
+ * the region definitions in {@code ehcache.xml}.
+ * </p>
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer() {
+        return properties -> {
+            if (!Boolean.parseBoolean(String.valueOf(
+                    properties.getOrDefault("hibernate.cache.use_second_level_cache", "false")))) {
+                return;
+            }
+
+            EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching
+                    .getCachingProvider(EhcacheCachingProvider.class.getName());
+            CacheManager cacheManager = provider.getCacheManager(URI.create("urn:opr3:l2:" + UUID.randomUUID()),
+                    new XmlConfiguration(getClass().getResource("/ehcache.xml")));
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        };
+    }
+}
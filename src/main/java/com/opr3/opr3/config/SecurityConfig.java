@@ -18,6 +18,8 @@ import com.opr3.opr3.filter.JwtAuthenticationFilter;
 import com.opr3.opr3.filter.LoggingFilter;
 import com.opr3.opr3.filter.UserContextFilter;
 
+import jakarta.servlet.DispatcherType;
+
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -29,7 +31,9 @@ public class SecurityConfig {
     public static final String[] WHITE_LIST_URL = {
             "/api/auth/authenticate",
             "/api/auth/register",
-            "/ws/**" };
+            "/ws/**",
+            // served on the management port only, see MetricsConfig
+            "/actuator/**" };
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final AuthenticationProvider authenticationProvider;
     private final CorsConfigurationSource corsSource;
@@ -42,6 +46,10 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(req -> {
                     req.requestMatchers(HttpMethod.OPTIONS, "/**")
+                            .permitAll()
+                            // async dispatches complete a request that was already authorized,
+                            // e.g. streamed responses; there is no session to re-authenticate from
+                            .dispatcherTypeMatchers(DispatcherType.ASYNC)
                             .permitAll()
                             .requestMatchers(WHITE_LIST_URL)
                             .permitAll()
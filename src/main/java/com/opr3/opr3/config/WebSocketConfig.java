@@ -0,0 +1,52 @@
+package com.opr3.opr3.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.ServletContextAware;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import com.opr3.opr3.websocket.ChangePushHandler;
+import com.opr3.opr3.websocket.JwtHandshakeInterceptor;
+
+import jakarta.servlet.ServletContext;
+import jakarta.websocket.server.ServerContainer;
+
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer, ServletContextAware {
+
+    private final ChangePushHandler changePushHandler;
+    private final JwtHandshakeInterceptor jwtHandshakeInterceptor;
+
+    @Value("${app.ws.message-buffer-size:1024}")
+    private int messageBufferSize;
+    @Value("${app.ws.idle-timeout-ms:0}")
+    private long idleTimeoutMs;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(changePushHandler, "/ws/changes")
+                .addInterceptors(jwtHandshakeInterceptor)
+                .setAllowedOrigins(CorsConfig.ALLOWED_ORIGINS.toArray(String[]::new));
+    }
+
+    /**
+     * Clients only receive on this endpoint, so the per-session receive buffers
+     * (allocated up front by the container, 8 KiB each by default) are kept
+     * small to reduce the memory held by idle connections. The container is not
+     * available in mock servlet environments, e.g. most tests.
+     */
+    @Override
+    public void setServletContext(ServletContext servletContext) {
+        if (servletContext.getAttribute(ServerContainer.class.getName()) instanceof ServerContainer container) {
+            container.setDefaultMaxTextMessageBufferSize(messageBufferSize);
+            container.setDefaultMaxBinaryMessageBufferSize(messageBufferSize);
+            container.setDefaultMaxSessionIdleTimeout(idleTimeoutMs);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.opr3.opr3.controller;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.opr3.opr3.dto.ExportFormat;
+import com.opr3.opr3.service.ExportService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Streams an export of all of the authenticated user's projects and tasks.
+ */
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final ExportService exportService;
+
+    // parameters are validated before streaming starts, so errors still get a
+    // regular error response
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        ExportService.Cursor cursor = exportService.parseCursor(after);
+        String fileName = "export." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+
+        StreamingResponseBody body = outputStream -> exportService.writeExport(exportFormat, cursor, gzip,
+                outputStream);
+        return ResponseEntity.ok()
+                .contentType(gzip ? APPLICATION_GZIP : exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName)
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,69 @@
+package com.opr3.opr3.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.opr3.opr3.dto.ExportFormat;
+import com.opr3.opr3.dto.ImportReport;
+import com.opr3.opr3.service.ImportService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Imports projects and tasks from an NDJSON or CSV upload and reports the
+ * progress of running imports.
+ */
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportController.class);
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ImportService importService;
+
+    // the raw request body is read while it is uploaded, it is never buffered
+    // as a whole
+    @PostMapping
+    public ResponseEntity<ImportReport> importData(@RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) {
+        ExportFormat importFormat = ExportFormat.fromParameter(format);
+
+        InputStream input = body;
+        if ("gzip".equalsIgnoreCase(contentEncoding)) {
+            try {
+                input = new GZIPInputStream(body, GZIP_BUFFER_SIZE);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Request body is not valid gzip");
+            }
+        }
+
+        ImportReport report = importService.importRows(importFormat, input);
+        log.info("[{}] import {}: {} projects and {} tasks created, {} rows rejected", 200, report.getStatus(),
+                report.getProjectsCreated(), report.getTasksCreated(), report.getErrorCount());
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ImportReport>> getImports() {
+        List<ImportReport> response = importService.getImports();
+        log.info("[{}] imports retrieved: {}", 200, response.size());
+        return ResponseEntity.ok(response);
+    }
+}
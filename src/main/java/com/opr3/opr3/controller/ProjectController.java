@@ -1,24 +1,34 @@
 package com.opr3.opr3.controller;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.opr3.opr3.dto.ProjectCreateRequest;
 import com.opr3.opr3.dto.ProjectResponse;
 import com.opr3.opr3.dto.ProjectUpdateRequest;
 import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.ProjectSnapshotService;
+import com.opr3.opr3.service.ProjectSnapshotService.Snapshot;
 
 import lombok.RequiredArgsConstructor;
 
@@ -29,7 +39,10 @@ public class ProjectController {
 
     private static final Logger log = LoggerFactory.getLogger(ProjectController.class);
 
+    private static final Duration SNAPSHOT_MAX_AGE = Duration.ofDays(365);
+
     private final ProjectService projectService;
+    private final ProjectSnapshotService projectSnapshotService;
 
     @PostMapping
     public ResponseEntity<ProjectResponse> createProject(@RequestBody ProjectCreateRequest request) {
@@ -38,15 +51,34 @@ public class ProjectController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // checkNotModified answers 304 on an If-None-Match hit and otherwise adds the
+    // ETag header, so the DTO is only built when the client's copy is stale
     @GetMapping("/{projectId}")
-    public ResponseEntity<ProjectResponse> getProjectById(@PathVariable Integer projectId) {
+    public ResponseEntity<?> getProjectById(@PathVariable Integer projectId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        Optional<Snapshot> snapshot = projectService.findArchivedSnapshot(projectId);
+        if (snapshot.isPresent()) {
+            return snapshotResponse(snapshot.get(), acceptEncoding);
+        }
+
+        if (webRequest.checkNotModified(projectService.getProjectETag(projectId))) {
+            log.info("[{}] project not modified: {}", 304, projectId);
+            return null;
+        }
+
         ProjectResponse response = projectService.getProjectById(projectId);
         log.info("[{}] project retrieved: {}", 200, projectId);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping
-    public ResponseEntity<List<ProjectResponse>> getAllUserProjects() {
+    public ResponseEntity<List<ProjectResponse>> getAllUserProjects(WebRequest webRequest) {
+        if (webRequest.checkNotModified(projectService.getAllUserProjectsETag())) {
+            log.info("[{}] all user projects not modified", 304);
+            return null;
+        }
+
         List<ProjectResponse> response = projectService.getAllUserProjects();
         log.info("[{}] all user projects retrieved: {} projects", 200, response.size());
         return ResponseEntity.ok(response);
@@ -54,16 +86,45 @@ public class ProjectController {
 
     @PutMapping("/{projectId}")
     public ResponseEntity<ProjectResponse> updateProject(@PathVariable Integer projectId,
-            @RequestBody ProjectUpdateRequest request) {
-        ProjectResponse response = projectService.updateProject(projectId, request);
+            @RequestBody ProjectUpdateRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ProjectResponse response = projectService.updateProject(projectId, request, ifMatch);
         log.info("[{}] project updated: {}", 200, projectId);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(response.getEtag()).body(response);
+    }
+
+    // Archived projects never change. The snapshot is sent as stored when the
+    // client accepts gzip, and clients may cache it for good; the ETag check
+    // for a conditional request is done by Spring from the entity headers.
+    private ResponseEntity<byte[]> snapshotResponse(Snapshot snapshot, String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(SNAPSHOT_MAX_AGE).cachePrivate().immutable())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        log.info("[{}] archived project retrieved from snapshot: {}", 200, snapshot.projectId());
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.eTag(snapshot.gzipETag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(snapshot.gzippedJson());
+        }
+
+        return response.eTag(snapshot.etag()).body(projectSnapshotService.readJson(snapshot));
+    }
+
+    @DeleteMapping("/{projectId}")
+    public ResponseEntity<Void> deleteProject(@PathVariable Integer projectId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        projectService.deleteProject(projectId, ifMatch);
+        log.info("[{}] project deleted: {}", 204, projectId);
+        return ResponseEntity.noContent().build();
     }
 
     @PatchMapping("/{projectId}/archive")
-    public ResponseEntity<ProjectResponse> archiveProject(@PathVariable Integer projectId) {
-        ProjectResponse response = projectService.archiveProject(projectId);
+    public ResponseEntity<ProjectResponse> archiveProject(@PathVariable Integer projectId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ProjectResponse response = projectService.archiveProject(projectId, ifMatch);
         log.info("[{}] project archived: {}", 200, projectId);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(response.getEtag()).body(response);
     }
 }
@@ -0,0 +1,204 @@
+package com.opr3.opr3.controller;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Callable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.opr3.opr3.dto.ErrorResponse;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.ProjectSnapshotService;
+import com.opr3.opr3.service.ProjectSnapshotService.Snapshot;
+import com.opr3.opr3.service.TaskService;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Reactive counterpart of the read endpoints of {@link ProjectController} and
+ * {@link TaskController}, with the same responses and conditional request
+ * handling.
+ *
+ * <p>
+ * The services are called as they are, so caching, sharding and replica
+ * routing apply unchanged. Every call is a blocking JPA call and runs on the
+ * database scheduler, which has one thread per pooled connection, with the
+ * security context of the request set for its duration. Requests waiting for
+ * the database therefore wait in the scheduler's queue instead of holding a
+ * thread, but each query still holds one of those threads while it runs.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty("app.reactive.port")
+public class ReactiveReadHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveReadHandler.class);
+
+    private static final Duration SNAPSHOT_MAX_AGE = Duration.ofDays(365);
+
+    private final ProjectService projectService;
+    private final ProjectSnapshotService projectSnapshotService;
+    private final TaskService taskService;
+    private final Scheduler databaseScheduler;
+
+    public ReactiveReadHandler(ProjectService projectService, ProjectSnapshotService projectSnapshotService,
+            TaskService taskService, @Qualifier("reactiveDatabaseScheduler") Scheduler databaseScheduler) {
+        this.projectService = projectService;
+        this.projectSnapshotService = projectSnapshotService;
+        this.taskService = taskService;
+        this.databaseScheduler = databaseScheduler;
+    }
+
+    public Mono<ServerResponse> getAllUserProjects(ServerRequest request) {
+        return blocking(projectService::getAllUserProjectsETag)
+                .flatMap(etag -> request.checkNotModified(etag)
+                        .doOnNext(notModified -> log.info("[{}] all user projects not modified", 304))
+                        .switchIfEmpty(blocking(projectService::getAllUserProjects)
+                                .flatMap(projects -> {
+                                    log.info("[{}] all user projects retrieved: {} projects", 200, projects.size());
+                                    return ServerResponse.ok().eTag(etag).bodyValue(projects);
+                                })))
+                .onErrorResume(e -> error(request, e));
+    }
+
+    public Mono<ServerResponse> getProjectById(ServerRequest request) {
+        return Mono.fromCallable(() -> Integer.valueOf(request.pathVariable("projectId")))
+                .flatMap(projectId -> blocking(() -> projectService.findArchivedSnapshot(projectId))
+                        .flatMap(snapshot -> snapshot.isPresent()
+                                ? snapshotResponse(request, snapshot.get())
+                                : project(request, projectId)))
+                .onErrorResume(e -> error(request, e));
+    }
+
+    public Mono<ServerResponse> getProjectTasks(ServerRequest request) {
+        boolean includeArchived = includeArchived(request);
+        return Mono.fromCallable(() -> Integer.valueOf(request.pathVariable("projectId")))
+                .flatMap(projectId -> blocking(() -> taskService.getProjectTasksETag(projectId, includeArchived))
+                        .flatMap(etag -> request.checkNotModified(etag)
+                                .doOnNext(notModified -> log.info("[{}] tasks not modified for project {}", 304,
+                                        projectId))
+                                .switchIfEmpty(blocking(() -> taskService.getProjectTasks(projectId, includeArchived))
+                                        .flatMap(tasks -> {
+                                            log.info("[{}] tasks retrieved for project {}: {} tasks", 200,
+                                                    projectId, tasks.size());
+                                            return ServerResponse.ok().eTag(etag).bodyValue(tasks);
+                                        }))))
+                .onErrorResume(e -> error(request, e));
+    }
+
+    public Mono<ServerResponse> getTaskById(ServerRequest request) {
+        boolean includeArchived = includeArchived(request);
+        return Mono.fromCallable(() -> Integer.valueOf(request.pathVariable("taskId")))
+                .flatMap(taskId -> blocking(() -> taskService.getTaskETag(taskId, includeArchived))
+                        .flatMap(etag -> request.checkNotModified(etag)
+                                .doOnNext(notModified -> log.info("[{}] task not modified: {}", 304, taskId))
+                                .switchIfEmpty(blocking(() -> taskService.getTaskById(taskId, includeArchived))
+                                        .flatMap(task -> {
+                                            log.info("[{}] task retrieved: {}", 200, taskId);
+                                            return ServerResponse.ok().eTag(etag).bodyValue(task);
+                                        }))))
+                .onErrorResume(e -> error(request, e));
+    }
+
+    private Mono<ServerResponse> project(ServerRequest request, Integer projectId) {
+        return blocking(() -> projectService.getProjectETag(projectId))
+                .flatMap(etag -> request.checkNotModified(etag)
+                        .doOnNext(notModified -> log.info("[{}] project not modified: {}", 304, projectId))
+                        .switchIfEmpty(blocking(() -> projectService.getProjectById(projectId))
+                                .flatMap(project -> {
+                                    log.info("[{}] project retrieved: {}", 200, projectId);
+                                    return ServerResponse.ok().eTag(etag).bodyValue(project);
+                                })));
+    }
+
+    // see ProjectController#snapshotResponse; the gzipped bytes are sent as
+    // stored when the client accepts gzip
+    private Mono<ServerResponse> snapshotResponse(ServerRequest request, Snapshot snapshot) {
+        String acceptEncoding = request.headers().firstHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? snapshot.gzipETag() : snapshot.etag();
+
+        return request.checkNotModified(etag)
+                .switchIfEmpty(Mono.defer(() -> {
+                    ServerResponse.BodyBuilder response = ServerResponse.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .cacheControl(CacheControl.maxAge(SNAPSHOT_MAX_AGE).cachePrivate().immutable())
+                            .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                            .eTag(etag);
+
+                    log.info("[{}] archived project retrieved from snapshot: {}", 200, snapshot.projectId());
+                    if (gzip) {
+                        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").bodyValue(snapshot.gzippedJson());
+                    }
+                    return response.bodyValue(projectSnapshotService.readJson(snapshot));
+                }));
+    }
+
+    /**
+     * Runs a blocking service call on the database scheduler, as the user of
+     * the request.
+     */
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return ReactiveSecurityContextHolder.getContext()
+                .defaultIfEmpty(SecurityContextHolder.createEmptyContext())
+                .flatMap(context -> Mono.fromCallable(() -> callAs(context, call)).subscribeOn(databaseScheduler));
+    }
+
+    private static <T> T callAs(SecurityContext context, Callable<T> call) throws Exception {
+        SecurityContextHolder.setContext(context);
+        try {
+            return call.call();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static boolean includeArchived(ServerRequest request) {
+        return request.queryParam("includeArchived").map(Boolean::parseBoolean).orElse(false);
+    }
+
+    // same statuses and body as GlobalExceptionHandler for the exceptions the
+    // read services throw
+    private static Mono<ServerResponse> error(ServerRequest request, Throwable e) {
+        HttpStatus status;
+        String message;
+        if (e instanceof IllegalArgumentException) {
+            status = HttpStatus.BAD_REQUEST;
+            message = e.getMessage();
+            log.warn("[400] Illegal argument: {}", e.getMessage());
+        } else if (e instanceof AuthenticationException) {
+            status = HttpStatus.UNAUTHORIZED;
+            message = e instanceof InsufficientAuthenticationException ? "Authentication required"
+                    : "Authentication failed";
+            log.warn("[401] Authentication error: {}", e.getMessage());
+        } else {
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+            message = "An unexpected error occurred";
+            log.error("[500] Unexpected error on {}", request.path(), e);
+        }
+
+        ErrorResponse error = ErrorResponse.builder()
+                .status(status.value())
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                .path(request.path())
+                .build();
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(error);
+    }
+}
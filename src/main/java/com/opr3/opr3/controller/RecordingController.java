@@ -0,0 +1,53 @@
+package com.opr3.opr3.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.opr3.opr3.dto.RecordingResponse;
+import com.opr3.opr3.service.RecordingService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Java Flight Recorder recordings for administrators; files are written to the
+ * server's disk, not returned.
+ */
+@RestController
+@RequestMapping("/api/admin/recordings")
+@RequiredArgsConstructor
+public class RecordingController {
+
+    private final RecordingService recordingService;
+
+    @PostMapping
+    public ResponseEntity<RecordingResponse> startRecording(
+            @RequestParam(defaultValue = "60") long durationSeconds,
+            @RequestParam(required = false) Long maxSizeMb,
+            @RequestParam(defaultValue = "default") String settings) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(recordingService.start(durationSeconds, maxSizeMb, settings));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<RecordingResponse>> getRecordings() {
+        return ResponseEntity.ok(recordingService.list());
+    }
+
+    @PostMapping("/{id}/stop")
+    public ResponseEntity<RecordingResponse> stopRecording(@PathVariable long id) {
+        return ResponseEntity.ok(recordingService.stop(id));
+    }
+
+    @PostMapping("/{id}/dump")
+    public ResponseEntity<RecordingResponse> dumpRecording(@PathVariable long id) {
+        return ResponseEntity.ok(recordingService.dump(id));
+    }
+}
@@ -0,0 +1,34 @@
+package com.opr3.opr3.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.opr3.opr3.dto.TitleSuggestionResponse;
+import com.opr3.opr3.service.TitleSuggestionService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchController.class);
+
+    private final TitleSuggestionService titleSuggestionService;
+
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<TitleSuggestionResponse>> getSuggestions(@RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<TitleSuggestionResponse> response = titleSuggestionService.suggest(query, limit);
+        log.debug("[{}] title suggestions retrieved: {} matches", 200, response.size());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,37 @@
+package com.opr3.opr3.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.opr3.opr3.dto.SyncResponse;
+import com.opr3.opr3.service.SyncService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncController.class);
+
+    private final SyncService syncService;
+
+    @GetMapping
+    public ResponseEntity<SyncResponse> sync(@RequestParam(required = false) Long since) {
+        SyncResponse response = syncService.getChanges(since);
+        if (response.isReset()) {
+            log.info("[{}] sync since {} needs a reset, cursor {}", 200, since, response.getCursor());
+        } else {
+            log.info("[{}] sync since {}: {} projects, {} tasks, {} deleted tasks, cursor {}", 200, since,
+                    response.getProjects().size(), response.getTasks().size(), response.getDeletedTaskIds().size(),
+                    response.getCursor());
+        }
+        return ResponseEntity.ok(response);
+    }
+}
@@ -4,7 +4,9 @@ import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,8 +15,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.opr3.opr3.dto.TaskCreateRequest;
 import com.opr3.opr3.dto.TaskResponse;
@@ -42,34 +48,66 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // on a 304 only the ETag lookup runs, the task itself is never loaded
     @GetMapping("/{taskId}")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Integer projectId, @PathVariable Integer taskId) {
-        TaskResponse response = taskService.getTaskById(taskId);
+    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Integer projectId, @PathVariable Integer taskId,
+            @RequestParam(defaultValue = "false") boolean includeArchived, WebRequest webRequest) {
+        if (webRequest.checkNotModified(taskService.getTaskETag(taskId, includeArchived))) {
+            log.info("[{}] task not modified: {}", 304, taskId);
+            return null;
+        }
+
+        TaskResponse response = taskService.getTaskById(taskId, includeArchived);
         log.info("[{}] task retrieved: {}", 200, taskId);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getProjectTasks(@PathVariable Integer projectId) {
-        List<TaskResponse> response = taskService.getProjectTasks(projectId);
+    public ResponseEntity<List<TaskResponse>> getProjectTasks(@PathVariable Integer projectId,
+            @RequestParam(defaultValue = "false") boolean includeArchived, WebRequest webRequest) {
+        if (webRequest.checkNotModified(taskService.getProjectTasksETag(projectId, includeArchived))) {
+            log.info("[{}] tasks not modified for project {}", 304, projectId);
+            return null;
+        }
+
+        List<TaskResponse> response = taskService.getProjectTasks(projectId, includeArchived);
         log.info("[{}] tasks retrieved for project {}: {} tasks", 200, projectId, response.size());
         return ResponseEntity.ok(response);
     }
 
+    // same payload as getProjectTasks, but written from a database cursor so
+    // memory stays flat for very large projects
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamProjectTasks(@PathVariable Integer projectId,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(taskService.getProjectTasksETag(projectId))) {
+            log.info("[{}] tasks not modified for project {}", 304, projectId);
+            return null;
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            taskService.writeProjectTasks(projectId, outputStream);
+            log.info("[{}] tasks streamed for project {}", 200, projectId);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @PutMapping("/{taskId}")
     public ResponseEntity<TaskResponse> updateTask(@PathVariable Integer projectId, @PathVariable Integer taskId,
-            @RequestBody TaskUpdateRequest request) {
-        TaskResponse response = taskService.updateTask(taskId, request);
+            @RequestBody TaskUpdateRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskResponse response = taskService.updateTask(taskId, request, ifMatch);
         log.info("[{}] task updated: {}", 200, taskId);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(response.getEtag()).body(response);
     }
 
     @PatchMapping("/{taskId}/status")
     public ResponseEntity<TaskResponse> updateTaskStatus(@PathVariable Integer projectId, @PathVariable Integer taskId,
-            @RequestBody TaskStatusUpdateRequest request) {
-        TaskResponse response = taskService.updateTaskStatus(taskId, request);
+            @RequestBody TaskStatusUpdateRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskResponse response = taskService.updateTaskStatus(taskId, request, ifMatch);
         log.info("[{}] task status updated: {} to {}", 200, taskId, request.getStatus());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(response.getEtag()).body(response);
     }
 
     @DeleteMapping("/{taskId}")
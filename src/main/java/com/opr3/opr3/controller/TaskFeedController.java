@@ -0,0 +1,72 @@
+package com.opr3.opr3.controller;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.opr3.opr3.dto.CalendarDayCount;
+import com.opr3.opr3.dto.TaskFeedResponse;
+import com.opr3.opr3.service.TaskService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cross-project task views of the authenticated user: tasks due in a date
+ * range, overdue tasks and per-day counts for a month calendar.
+ */
+@RestController
+@RequestMapping("/api/tasks")
+@RequiredArgsConstructor
+public class TaskFeedController {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskFeedController.class);
+
+    private final TaskService taskService;
+
+    @GetMapping("/due")
+    public ResponseEntity<TaskFeedResponse> getDueTasks(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        LocalDate rangeStart = from != null ? from : LocalDate.now();
+        LocalDate rangeEnd = to != null ? to : rangeStart.plusDays(6);
+
+        TaskFeedResponse response = taskService.getDueTasks(rangeStart, rangeEnd, cursor, limit);
+        log.info("[{}] due tasks retrieved from {} to {}: {} tasks", 200, rangeStart, rangeEnd,
+                response.getTasks().size());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/overdue")
+    public ResponseEntity<TaskFeedResponse> getOverdueTasks(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        TaskFeedResponse response = taskService.getOverdueTasks(cursor, limit);
+        log.info("[{}] overdue tasks retrieved: {} tasks", 200, response.getTasks().size());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<List<CalendarDayCount>> getCalendar(@RequestParam(required = false) String month) {
+        YearMonth yearMonth;
+        try {
+            yearMonth = month != null ? YearMonth.parse(month) : YearMonth.now();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Month must be in format yyyy-MM");
+        }
+
+        List<CalendarDayCount> response = taskService.getCalendarCounts(yearMonth);
+        log.info("[{}] task calendar retrieved for {}: {} days", 200, yearMonth, response.size());
+        return ResponseEntity.ok(response);
+    }
+}
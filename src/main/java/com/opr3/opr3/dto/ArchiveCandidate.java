@@ -0,0 +1,13 @@
+package com.opr3.opr3.dto;
+
+/**
+ * Projection of a task selected for archiving, carrying what is needed to
+ * evict caches and notify the owner without loading the task.
+ */
+public interface ArchiveCandidate {
+    Integer getId();
+
+    Integer getProjectId();
+
+    String getOwnerUid();
+}
@@ -0,0 +1,28 @@
+package com.opr3.opr3.dto;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of open tasks due on a single calendar day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarDayCount {
+    private LocalDate date;
+    private Long count;
+
+    // used by the grouped JPQL query, which yields the raw due_date column value
+    public CalendarDayCount(Date date, Long count) {
+        this.date = date instanceof java.sql.Date sqlDate
+                ? sqlDate.toLocalDate()
+                : date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        this.count = count;
+    }
+}
@@ -0,0 +1,59 @@
+package com.opr3.opr3.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.opr3.opr3.entity.Task.TaskStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of the account export: a task together with its project, or a
+ * project without tasks, in which case all task fields are null. The property
+ * order is the CSV column order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({ "projectId", "projectTitle", "projectDescription", "projectDueDate", "projectArchived",
+        "projectCreatedAt", "taskId", "taskTitle", "taskDescription", "taskStatus", "taskDueDate", "taskCreatedAt",
+        "taskUpdatedAt" })
+public class ExportRow {
+    private Integer projectId;
+    private String projectTitle;
+    private String projectDescription;
+    private LocalDate projectDueDate;
+    private Boolean projectArchived;
+    private LocalDateTime projectCreatedAt;
+    private Integer taskId;
+    private String taskTitle;
+    private String taskDescription;
+    private TaskStatus taskStatus;
+    private LocalDate taskDueDate;
+    private LocalDateTime taskCreatedAt;
+    private LocalDateTime taskUpdatedAt;
+
+    // used by the export JPQL query, which yields the raw due_date column values
+    public ExportRow(Integer projectId, String projectTitle, String projectDescription, Date projectDueDate,
+            Boolean projectArchived, LocalDateTime projectCreatedAt, Integer taskId, String taskTitle,
+            String taskDescription, TaskStatus taskStatus, Date taskDueDate, LocalDateTime taskCreatedAt,
+            LocalDateTime taskUpdatedAt) {
+        this(projectId, projectTitle, projectDescription, toLocalDate(projectDueDate), projectArchived,
+                projectCreatedAt, taskId, taskTitle, taskDescription, taskStatus, toLocalDate(taskDueDate),
+                taskCreatedAt, taskUpdatedAt);
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        if (date == null) {
+            return null;
+        }
+        return date instanceof java.sql.Date sqlDate
+                ? sqlDate.toLocalDate()
+                : date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
@@ -0,0 +1,51 @@
+package com.opr3.opr3.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReport {
+    private String importId;
+    private ImportStatus status;
+    private ExportFormat format;
+    private long rowsRead;
+    private long projectsCreated;
+    private long tasksCreated;
+    private long errorCount;
+    /**
+     * Rejected rows, only the first ones when there are many; see errorCount
+     */
+    private List<RowError> errors;
+    /**
+     * Reason the import stopped, set when status is FAILED
+     */
+    private String failure;
+    private long rowsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public enum ImportStatus {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        /**
+         * 1-based number of the data row, not counting the CSV header
+         */
+        private long row;
+        private String message;
+    }
+}
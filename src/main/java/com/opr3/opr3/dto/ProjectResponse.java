@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,7 +21,15 @@ public class ProjectResponse {
     private String description;
     private Date dueDate;
     private Boolean isArchived;
+    private Integer todoCount;
+    private Integer inProgressCount;
+    private Integer doneCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private List<TaskResponse> tasks;
+
+    // ETag of this representation, set by writes from the state they
+    // committed; sent as a header, not in the body
+    @JsonIgnore
+    private String etag;
 }
@@ -0,0 +1,18 @@
+package com.opr3.opr3.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the values a project representation's ETag is derived from:
+ * the project's own version and modification time plus the number and latest
+ * modification time of its tasks.
+ */
+public interface ProjectVersionView {
+    Long getVersion();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getTaskCount();
+
+    LocalDateTime getLastTaskUpdate();
+}
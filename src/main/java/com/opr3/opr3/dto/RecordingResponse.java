@@ -0,0 +1,31 @@
+package com.opr3.opr3.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingResponse {
+    private Long id;
+    private String name;
+    /**
+     * NEW, RUNNING, STOPPED or CLOSED, see {@code jdk.jfr.RecordingState}
+     */
+    private String state;
+    private String settings;
+    private Instant startTime;
+    private Long durationSeconds;
+    private Long maxSizeBytes;
+    /**
+     * File on the server's disk written by the request: the recording on stop,
+     * a snapshot of it on dump. On start and list, the file the recording is
+     * written to when it stops.
+     */
+    private String file;
+}
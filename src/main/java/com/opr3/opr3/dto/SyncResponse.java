@@ -0,0 +1,38 @@
+package com.opr3.opr3.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+    /**
+     * Cursor to send as {@code since} on the next sync
+     */
+    private Long cursor;
+    /**
+     * True when the changes cannot be delivered incrementally; the client has to
+     * drop its local copy, reload everything and continue from cursor
+     */
+    private boolean reset;
+    /**
+     * Created or updated projects, without their tasks
+     */
+    private List<ProjectResponse> projects;
+    /**
+     * Created or updated tasks
+     */
+    private List<TaskResponse> tasks;
+    private List<Integer> deletedTaskIds;
+    /**
+     * Deleted projects; their tasks are deleted with them and not listed in
+     * deletedTaskIds
+     */
+    private List<Integer> deletedProjectIds;
+}
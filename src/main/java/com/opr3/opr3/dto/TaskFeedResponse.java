@@ -0,0 +1,20 @@
+package com.opr3.opr3.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFeedResponse {
+    private List<TaskResponse> tasks;
+    /**
+     * Opaque keyset cursor for the next page, null when there are no more tasks
+     */
+    private String nextCursor;
+}
@@ -5,6 +5,8 @@ import java.util.Date;
 
 import com.opr3.opr3.entity.Task.TaskStatus;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,4 +25,15 @@ public class TaskResponse {
     private Date dueDate;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    // ETag of this representation, set by writes from the state they
+    // committed; sent as a header, not in the body
+    @JsonIgnore
+    private String etag;
+
+    // for the constructor expressions of TaskRepository and ArchivedTaskRepository
+    public TaskResponse(Integer id, Integer projectId, String title, String description, TaskStatus status,
+            Date dueDate, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, projectId, title, description, status, dueDate, createdAt, updatedAt, null);
+    }
 }
@@ -0,0 +1,22 @@
+package com.opr3.opr3.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TitleSuggestionResponse {
+    private SuggestionType type;
+    private Integer id;
+    private Integer projectId;
+    private String title;
+
+    public enum SuggestionType {
+        PROJECT,
+        TASK
+    }
+}
@@ -0,0 +1,13 @@
+package com.opr3.opr3.dto;
+
+/**
+ * Lightweight projection of a project or task title used to build the
+ * per-user title suggestion index without hydrating whole entities.
+ */
+public interface TitleView {
+    Integer getId();
+
+    Integer getProjectId();
+
+    String getTitle();
+}
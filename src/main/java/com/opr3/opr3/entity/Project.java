@@ -5,6 +5,12 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -21,6 +27,7 @@ import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -31,8 +38,13 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@SQLRestriction("deleted_at is null")
 @Table(name = "project", indexes = {
-        @Index(name = "idx_project_title", columnList = "title")
+        @Index(name = "idx_project_title", columnList = "title"),
+        @Index(name = "idx_project_user_sync", columnList = "user_uid, sync_seq"),
+        @Index(name = "idx_project_deleted_at", columnList = "deleted_at")
 })
 public class Project {
 
@@ -51,6 +63,7 @@ public class Project {
     private String description;
 
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @Builder.Default
     private List<Task> tasks = new ArrayList<>();
 
@@ -62,12 +75,49 @@ public class Project {
     @Temporal(TemporalType.DATE)
     private Date dueDate;
 
+    // Denormalized task counters, maintained by TaskService with single-statement
+    // increments so progress views never need to load the tasks collection. Not
+    // updatable: saving a loaded project must not write back counts that
+    // concurrent increments have changed since
+    @Column(name = "todo_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer todoCount = 0;
+
+    @Column(name = "in_progress_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer inProgressCount = 0;
+
+    // includes tasks moved to the archive table
+    @Column(name = "done_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer doneCount = 0;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    // Owner's change marker at the last write, including counter updates; backs
+    // the delta sync
+    @Column(name = "sync_seq", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long syncSeq = 0L;
+
+    // Same as Task.deletedAt; the project's tasks are marked in the same
+    // transaction
+    @Column(name = "deleted_at", insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
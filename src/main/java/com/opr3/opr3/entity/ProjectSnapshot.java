@@ -0,0 +1,57 @@
+package com.opr3.opr3.entity;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Gzipped JSON of an archived project, as returned by
+ * {@code GET /api/projects/{projectId}} at the moment it was archived. Written
+ * once and never updated.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "project_snapshot", indexes = {
+        @Index(name = "idx_project_snapshot_owner", columnList = "owner_uid")
+})
+public class ProjectSnapshot {
+
+    @Id
+    @Column(name = "project_id")
+    private Integer projectId;
+
+    @Column(name = "owner_uid", nullable = false)
+    private String ownerUid;
+
+    // size of the uncompressed JSON
+    @Column(name = "raw_size", nullable = false)
+    private Integer rawSize;
+
+    @Lob
+    @Column(name = "data", nullable = false)
+    private byte[] data;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // whole seconds, so the ETag derived from it at creation matches the one
+    // derived from the stored column
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+}
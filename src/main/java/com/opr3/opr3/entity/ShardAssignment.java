@@ -0,0 +1,30 @@
+package com.opr3.opr3.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user placed on another shard than the hash of their uid picks, after
+ * being moved. Only the directory shard (shard 0) holds rows; they are read
+ * and written by {@link com.opr3.opr3.shard.ShardMap} with plain JDBC, since
+ * the map has to exist before the entity manager does.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "shard_assignment")
+public class ShardAssignment {
+
+    @Id
+    @Column(name = "user_uid")
+    private String userUid;
+
+    @Column(name = "shard", nullable = false)
+    private Integer shard;
+}
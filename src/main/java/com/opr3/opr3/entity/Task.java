@@ -3,6 +3,12 @@ package com.opr3.opr3.entity;
 import java.time.LocalDateTime;
 import java.util.Date;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -19,6 +25,7 @@ import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -29,8 +36,15 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@SQLRestriction("deleted_at is null")
 @Table(name = "task", indexes = {
-        @Index(name = "idx_task_title", columnList = "title")
+        @Index(name = "idx_task_title", columnList = "title"),
+        @Index(name = "idx_task_owner_status_due", columnList = "owner_uid, status, due_date, id"),
+        @Index(name = "idx_task_owner_sync", columnList = "owner_uid, sync_seq"),
+        @Index(name = "idx_task_status_id", columnList = "status, id"),
+        @Index(name = "idx_task_deleted_at", columnList = "deleted_at")
 })
 public class Task {
 
@@ -42,6 +56,11 @@ public class Task {
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
 
+    // Denormalized owner of the parent project, backs the cross-project due date
+    // feed without joining project
+    @Column(name = "owner_uid", updatable = false)
+    private String ownerUid;
+
     @Column(nullable = false)
     private String title;
 
@@ -63,8 +82,28 @@ public class Task {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    // Owner's change marker at the last write, backs the delta sync
+    @Column(name = "sync_seq", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long syncSeq = 0L;
+
+    // Set by a native update when the task or its project is deleted; the row is
+    // hidden from every query and removed later by SoftDeletePurgeJob. Never
+    // written by Hibernate, so a stale copy cannot undo the deletion.
+    @Column(name = "deleted_at", insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
     @PrePersist
     protected void onCreate() {
+        if (ownerUid == null && project != null && project.getUser() != null) {
+            ownerUid = project.getUser().getUid();
+        }
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
     }
@@ -0,0 +1,65 @@
+package com.opr3.opr3.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Record of a deleted row, kept so delta sync clients learn about the
+ * deletion. A project tombstone stands for the project and all its tasks.
+ * Purged after {@code app.sync.tombstone-retention-days}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tombstone", indexes = {
+        @Index(name = "idx_tombstone_owner_sync", columnList = "owner_uid, sync_seq"),
+        @Index(name = "idx_tombstone_deleted_at", columnList = "deleted_at")
+})
+public class Tombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "owner_uid", nullable = false)
+    private String ownerUid;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Integer entityId;
+
+    @Column(name = "sync_seq", nullable = false)
+    private Long syncSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        deletedAt = LocalDateTime.now();
+    }
+
+    public enum EntityType {
+        TASK,
+        PROJECT
+    }
+}
@@ -3,6 +3,7 @@ package com.opr3.opr3.entity;
 import java.util.Collection;
 import java.util.Collections;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -35,6 +36,18 @@ public class User implements UserDetails {
     @Column(name = "email", unique = true)
     private String email;
 
+    // incremented on every change to the user's projects or tasks, used as the
+    // ETag source for list endpoints
+    @Column(name = "change_marker", nullable = false)
+    @ColumnDefault("0")
+    private Long changeMarker = 0L;
+
+    // highest change marker whose tombstones have been purged; sync cursors
+    // below it can no longer be served and the client has to reload
+    @Column(name = "sync_horizon", nullable = false)
+    @ColumnDefault("0")
+    private Long syncHorizon = 0L;
+
 
     public User(String name, String password, String email) {
         this.name = name;
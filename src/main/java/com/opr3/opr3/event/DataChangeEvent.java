@@ -0,0 +1,15 @@
+package com.opr3.opr3.event;
+
+/**
+ * Published inside the transaction of every project or task mutation, just
+ * before it commits, once the change has its marker. Listeners
+ * that derive state from a user's data (caches, push notifications) should
+ * react after commit, e.g. with
+ * {@code @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)}.
+ *
+ * @param userUid      uid of the user whose projects or tasks changed
+ * @param changeMarker the user's change marker after the change, usable as a
+ *                     sync cursor
+ */
+public record DataChangeEvent(String userUid, long changeMarker) {
+}
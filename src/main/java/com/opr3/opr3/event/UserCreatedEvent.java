@@ -0,0 +1,9 @@
+package com.opr3.opr3.event;
+
+/**
+ * Published inside the transaction that creates a user.
+ *
+ * @param userUid uid of the new user
+ */
+public record UserCreatedEvent(String userUid) {
+}
@@ -0,0 +1,12 @@
+package com.opr3.opr3.exception;
+
+/**
+ * Exception thrown when a conditional request's If-Match header does not match
+ * the current version of the resource.
+ * Results in HTTP 412 status (Precondition Failed).
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,7 @@
 package com.opr3.opr3.filter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,15 +16,18 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.opr3.opr3.config.SecurityConfig;
 import com.opr3.opr3.dto.JwtValidationResult;
+import com.opr3.opr3.jfr.UserLoadEvent;
 import com.opr3.opr3.repository.TokenRepository;
 import com.opr3.opr3.service.JwtService;
+import com.opr3.opr3.shard.ShardContext;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 
 /**
  * JWT authentication filter that validates access and refresh tokens for
@@ -53,7 +57,6 @@ import lombok.RequiredArgsConstructor;
  * @see SecurityConfig#WHITE_LIST_URL
  */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
@@ -61,6 +64,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
     private final TokenRepository tokenRepository;
+    private final Timer authenticatedTimer;
+    private final Timer rejectedTimer;
+
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService,
+            TokenRepository tokenRepository, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.tokenRepository = tokenRepository;
+        this.authenticatedTimer = filterTimer(meterRegistry, "authenticated");
+        this.rejectedTimer = filterTimer(meterRegistry, "rejected");
+    }
+
+    private static Timer filterTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("jwt.filter")
+                .description("Time spent authenticating requests, excluding the rest of the filter chain")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
@@ -77,9 +98,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return false;
     }
 
+    // the time spent here is recorded separately from the rest of the chain
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean authenticated = authenticate(request, response);
+        (authenticated ? authenticatedTimer : rejectedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (authenticated) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * Checks the tokens of the request and sets up the security context.
+     *
+     * @return false if the request was rejected and the response written
+     */
+    private boolean authenticate(HttpServletRequest request, HttpServletResponse response) throws IOException {
         final String authHeader = request.getHeader("Authorization");
         String refreshToken = extractRefreshTokenFromCookie(request);
 
@@ -91,14 +128,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             response.getWriter().write("Authorization header missing and no refresh token in cookies");
             log.warn("[{}] Authorization header missing and no refresh token in cookies",
                     HttpServletResponse.SC_UNAUTHORIZED);
-            return;
+            return false;
         }
 
         if (!authHeader.startsWith("Bearer ")) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write("Invalid authorization format");
             log.warn("[{}] Invalid authorization format (missing Bearer)", HttpServletResponse.SC_UNAUTHORIZED);
-            return;
+            return false;
         }
 
         // if refresh header is null while sending request to /refresh endpoint this if
@@ -107,7 +144,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write("missing refresh token");
             log.warn("[{}] missing refresh token", HttpServletResponse.SC_UNAUTHORIZED);
-            return;
+            return false;
         }
 
         final String jwt = authHeader.substring(7);
@@ -119,13 +156,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // in the database...
             try {
                 // database check TODO: remove
-                userDetails = this.userDetailsService.loadUserByUsername(validationResultAccess.getUsername());
+                userDetails = loadUser(validationResultAccess.getUsername());
             } catch (UsernameNotFoundException e) {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("Invalid token " + validationResultAccess.getStatus());
                 log.error("[{}] Invalid access token {}; exception: {}", HttpServletResponse.SC_UNAUTHORIZED,
                         validationResultAccess.getStatus().toString(), e.getMessage());
-                return;
+                return false;
             }
 
             if (!request.getServletPath().contains("/api/auth/refresh")) {
@@ -137,7 +174,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     response.getWriter().write("Invalid token " + validationResultAccess.getStatus());
                     log.warn("[{}] Invalid access token {}", HttpServletResponse.SC_UNAUTHORIZED,
                             validationResultAccess.getStatus().toString());
-                    return;
+                    return false;
                 }
             }
         }
@@ -151,7 +188,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
                 response.getWriter().write("wrong endpoint");
                 log.warn("[{}] wrong endpoint", HttpServletResponse.SC_BAD_REQUEST);
-                return;
+                return false;
             }
 
             if (!validationResultAccess.isUsableEvenIfExpired()) {
@@ -159,7 +196,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 response.getWriter().write("Invalid token " + validationResultAccess.getStatus());
                 log.warn("[{}] Invalid access token {}", HttpServletResponse.SC_UNAUTHORIZED,
                         validationResultAccess.getStatus().toString());
-                return;
+                return false;
             }
 
             // REFRESH TOKEN
@@ -167,26 +204,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             JwtValidationResult validationResultRefresh = jwtService.validateToken(refreshToken);
 
             try {
-                userDetailsRefresh = this.userDetailsService.loadUserByUsername(validationResultRefresh.getUsername());
+                userDetailsRefresh = loadUser(validationResultRefresh.getUsername());
             } catch (UsernameNotFoundException e) {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("Invalid token " + validationResultRefresh.getStatus());
                 log.error("[{}] Invalid refresh token {}; {}", HttpServletResponse.SC_UNAUTHORIZED,
                         validationResultRefresh.getStatus().toString(), e.getMessage());
-                return;
+                return false;
             }
 
             if (!validationResultRefresh.getUsername().equals(validationResultAccess.getUsername())) {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("Unauthorized tokens");
                 log.warn("[{}] Token holders don't match", HttpServletResponse.SC_UNAUTHORIZED);
-                return;
+                return false;
             }
 
             if (SecurityContextHolder.getContext().getAuthentication() == null) {
-                var isTokenInDatabase = tokenRepository.findByToken(refreshToken)
+                // tokens are kept on the directory shard
+                boolean isTokenInDatabase = ShardContext.callOn(0, () -> tokenRepository.findByToken(refreshToken)
                         .map(t -> !t.isRevoked())
-                        .orElse(false);
+                        .orElse(false));
 
                 if (validationResultRefresh.isValid() && isTokenInDatabase) {
                     setAuthentication(request, userDetailsRefresh);
@@ -197,13 +235,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             HttpServletResponse.SC_UNAUTHORIZED,
                             validationResultRefresh.getStatus().toString(),
                             isTokenInDatabase);
-                    return;
+                    return false;
                 }
             }
         }
 
         // If we got here, authentication was successful
-        filterChain.doFilter(request, response);
+        return true;
+    }
+
+    private UserDetails loadUser(String username) {
+        UserLoadEvent event = new UserLoadEvent();
+        event.begin();
+        boolean found = false;
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            found = true;
+            return userDetails;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setFound(found);
+                event.commit();
+            }
+        }
     }
 
     private void setAuthentication(HttpServletRequest request, UserDetails userDetails) {
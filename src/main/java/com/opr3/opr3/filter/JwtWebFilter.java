@@ -0,0 +1,105 @@
+package com.opr3.opr3.filter;
+
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.opr3.opr3.dto.JwtValidationResult;
+import com.opr3.opr3.service.JwtService;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Access token check of {@link JwtAuthenticationFilter} for the reactive read
+ * API.
+ *
+ * <p>
+ * The API is read-only and has no refresh endpoint, so only the access token
+ * from the {@code Authorization} header is checked. The user is loaded on the
+ * database scheduler, as the servlet filter does on its request thread, and
+ * passed on in the Reactor context through {@link ReactiveSecurityContextHolder}.
+ * Rejections answer with the same status and text as the servlet filter.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty("app.reactive.port")
+public class JwtWebFilter implements WebFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtWebFilter.class);
+
+    private final JwtService jwtService;
+    private final UserDetailsService userDetailsService;
+    private final Scheduler databaseScheduler;
+
+    public JwtWebFilter(JwtService jwtService, UserDetailsService userDetailsService,
+            @Qualifier("reactiveDatabaseScheduler") Scheduler databaseScheduler) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.databaseScheduler = databaseScheduler;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpResponse response = exchange.getResponse();
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (authHeader == null) {
+            log.warn("[{}] Authorization header missing", HttpStatus.UNAUTHORIZED.value());
+            return reject(response, HttpStatus.UNAUTHORIZED,
+                    "Authorization header missing and no refresh token in cookies");
+        }
+
+        if (!authHeader.startsWith("Bearer ")) {
+            log.warn("[{}] Invalid authorization format (missing Bearer)", HttpStatus.UNAUTHORIZED.value());
+            return reject(response, HttpStatus.UNAUTHORIZED, "Invalid authorization format");
+        }
+
+        if (exchange.getRequest().getCookies().containsKey("refreshToken")) {
+            log.warn("[{}] wrong endpoint", HttpStatus.BAD_REQUEST.value());
+            return reject(response, HttpStatus.BAD_REQUEST, "wrong endpoint");
+        }
+
+        JwtValidationResult validationResult = jwtService.validateToken(authHeader.substring(7));
+        if (!validationResult.isValid()) {
+            log.warn("[{}] Invalid access token {}", HttpStatus.UNAUTHORIZED.value(), validationResult.getStatus());
+            return reject(response, HttpStatus.UNAUTHORIZED, "Invalid token " + validationResult.getStatus());
+        }
+
+        return Mono.fromCallable(() -> userDetailsService.loadUserByUsername(validationResult.getUsername()))
+                .subscribeOn(databaseScheduler)
+                .flatMap(userDetails -> chain.filter(exchange)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication(userDetails))))
+                .onErrorResume(UsernameNotFoundException.class, e -> {
+                    log.error("[{}] Invalid access token {}; exception: {}", HttpStatus.UNAUTHORIZED.value(),
+                            validationResult.getStatus(), e.getMessage());
+                    return reject(response, HttpStatus.UNAUTHORIZED, "Invalid token " + validationResult.getStatus());
+                });
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication(UserDetails userDetails) {
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response, HttpStatus status, String message) {
+        response.setStatusCode(status);
+        DataBuffer body = response.bufferFactory().wrap(message.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(body));
+    }
+}
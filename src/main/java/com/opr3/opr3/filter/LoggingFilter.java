@@ -1,12 +1,18 @@
 package com.opr3.opr3.filter;
 
 import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.opr3.opr3.config.SecurityConfig;
 import com.opr3.opr3.util.LoggerUtil;
+import com.opr3.opr3.util.SqlStatementStats;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -16,7 +22,7 @@ import lombok.RequiredArgsConstructor;
 
 /**
  * Filter that sets up logging context for all incoming HTTP requests.
- * 
+ *
  * <p>
  * This filter is the first in the security filter chain and is responsible for
  * setting up the MDC (Mapped Diagnostic Context) with request information such
@@ -25,38 +31,113 @@ import lombok.RequiredArgsConstructor;
  * available for all subsequent logging statements during the request
  * processing.
  * </p>
- * 
+ *
  * <p>
  * Key responsibilities:
  * </p>
  * <ul>
  * <li>Sets up MDC context at the start of each request using
  * {@link LoggerUtil}</li>
+ * <li>Counts the SQL statements of the request and logs them with the status
+ * and duration once it completes, as a warning above
+ * {@code app.sql-stats.statement-budget}</li>
+ * <li>Adds {@code X-SQL-Statements} and {@code X-SQL-Time-Ms} response headers
+ * when {@code app.sql-stats.response-headers} is set</li>
+ * <li>Keeps the INFO and DEBUG logs of a share {@code app.logging.sample-rate}
+ * of the requests; warnings, errors and the completion line of failed requests
+ * are always kept</li>
  * <li>Ensures the context is properly cleared after request completion</li>
  * <li>Executes before JWT authentication for comprehensive logging
  * coverage</li>
  * </ul>
- * 
+ *
  * @see LoggerUtil
+ * @see SqlStatementStats
  * @see SecurityConfig
  */
 @Component
 @RequiredArgsConstructor
 public class LoggingFilter extends OncePerRequestFilter {
 
+    public static final String SQL_STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String SQL_TIME_HEADER = "X-SQL-Time-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingFilter.class);
+
     private final LoggerUtil loggerUtil;
 
+    @Value("${app.sql-stats.statement-budget:20}")
+    private int statementBudget;
+
+    @Value("${app.sql-stats.response-headers:false}")
+    private boolean responseHeaders;
+
+    @Value("${app.logging.sample-rate:1.0}")
+    private double sampleRate;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain)
             throws ServletException, IOException {
 
+        long start = System.nanoTime();
+        SqlStatementStats stats = SqlStatementStats.start();
+        HttpServletResponse tracked = responseHeaders ? new SqlStatsHeaderWriter(response, stats) : response;
         try {
             loggerUtil.setupRequestContext(request);
-            filterChain.doFilter(request, response);
+            loggerUtil.setupSampling(sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+            filterChain.doFilter(request, tracked);
         } finally {
+            SqlStatementStats.stop();
+            if (tracked instanceof SqlStatsHeaderWriter writer) {
+                writer.writeHeaders();
+            }
+            logCompletion(response, stats, (System.nanoTime() - start) / 1_000_000);
             loggerUtil.clearContext();
         }
     }
+
+    private void logCompletion(HttpServletResponse response, SqlStatementStats stats, long millis) {
+        loggerUtil.setupSqlContext(stats);
+        if (response.getStatus() >= 400) {
+            loggerUtil.setupSampling(true);
+        }
+        if (statementBudget > 0 && stats.getStatements() > statementBudget) {
+            log.warn("Completed {} in {} ms with {} SQL statements ({} ms), over the budget of {}",
+                    response.getStatus(), millis, stats.getStatements(), stats.formatMillis(), statementBudget);
+        } else {
+            log.info("Completed {} in {} ms with {} SQL statements ({} ms)", response.getStatus(), millis,
+                    stats.getStatements(), stats.formatMillis());
+        }
+    }
+
+    /**
+     * Sets the statement headers just before the response is committed, or
+     * after the request if it never was. Statements run after the commit are
+     * only in the log.
+     */
+    private static class SqlStatsHeaderWriter extends OnCommittedResponseWrapper {
+
+        private final SqlStatementStats stats;
+
+        SqlStatsHeaderWriter(HttpServletResponse response, SqlStatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+            disableOnResponseCommitted();
+        }
+
+        void writeHeaders() {
+            if (isDisableOnResponseCommitted() || isCommitted()) {
+                return;
+            }
+            setHeader(SQL_STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+            setHeader(SQL_TIME_HEADER, stats.formatMillis());
+        }
+    }
 }
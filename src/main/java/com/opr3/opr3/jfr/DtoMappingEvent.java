@@ -0,0 +1,45 @@
+package com.opr3.opr3.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for converting one entity to its response DTO in
+ * {@code ProjectService} or {@code TaskService}. A project's tasks are loaded
+ * lazily, so their loading is part of the event when they were not loaded
+ * before. Like {@link RepositoryCallEvent} it has a threshold of 1 ms.
+ */
+@Name("com.opr3.DtoMapping")
+@Label("DTO Mapping")
+@Category({ "OPR3", "Mapping" })
+@Description("Converting one entity to its response DTO")
+@StackTrace(false)
+@Threshold("1 ms")
+public class DtoMappingEvent extends Event {
+
+    @Label("Type")
+    private String type;
+
+    @Label("Id")
+    private long id;
+
+    @Label("Tasks")
+    private int tasks;
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public void setTasks(int tasks) {
+        this.tasks = tasks;
+    }
+}
@@ -0,0 +1,27 @@
+package com.opr3.opr3.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one access or refresh token validation in
+ * {@code JwtService}: parsing the token and checking its signature and expiry.
+ */
+@Name("com.opr3.JwtValidation")
+@Label("JWT Validation")
+@Category({ "OPR3", "Authentication" })
+@Description("Parsing and verifying one JWT")
+@StackTrace(false)
+public class JwtValidationEvent extends Event {
+
+    @Label("Status")
+    private String status;
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
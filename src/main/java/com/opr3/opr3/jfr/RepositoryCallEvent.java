@@ -0,0 +1,39 @@
+package com.opr3.opr3.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for one call of a Spring Data repository method,
+ * recorded by {@link RepositoryCallRecorder}. For methods returning a stream
+ * it covers opening the stream, not reading it. Only calls of at least 1 ms are
+ * recorded unless the recording lowers the threshold, as {@code profile}
+ * recordings of {@code RecordingService} do.
+ */
+@Name("com.opr3.RepositoryCall")
+@Label("Repository Call")
+@Category({ "OPR3", "Persistence" })
+@Description("One call of a Spring Data repository method")
+@StackTrace(false)
+@Threshold("1 ms")
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    private String repository;
+
+    @Label("Method")
+    private String method;
+
+    public void setRepository(String repository) {
+        this.repository = repository;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+}
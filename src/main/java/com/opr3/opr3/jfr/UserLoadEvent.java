@@ -0,0 +1,27 @@
+package com.opr3.opr3.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for loading the user of an access token in
+ * {@code JwtAuthenticationFilter}.
+ */
+@Name("com.opr3.UserLoad")
+@Label("User Load")
+@Category({ "OPR3", "Authentication" })
+@Description("Loading the user named by an access token")
+@StackTrace(false)
+public class UserLoadEvent extends Event {
+
+    @Label("Found")
+    private boolean found;
+
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+}
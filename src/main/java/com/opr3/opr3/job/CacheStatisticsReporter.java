@@ -0,0 +1,63 @@
+package com.opr3.opr3.job;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Background job that logs the hit ratio of every Hibernate second-level cache
+ * region over the last reporting interval.
+ *
+ * <p>
+ * Requires {@code hibernate.generate_statistics}; without it the job does
+ * nothing. Counters are cumulative in Hibernate, so the job keeps the previous
+ * snapshot per region and reports the difference.
+ * </p>
+ */
+@Component
+public class CacheStatisticsReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheStatisticsReporter.class);
+
+    private final Statistics statistics;
+    private final Map<String, long[]> previous = new HashMap<>();
+
+    public CacheStatisticsReporter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.stats-interval-ms:300000}",
+            initialDelayString = "${app.cache.stats-interval-ms:300000}")
+    public synchronized void reportHitRatios() {
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            long[] current = { regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                    regionStatistics.getPutCount() };
+            long[] last = previous.getOrDefault(region, new long[3]);
+            previous.put(region, current);
+
+            long hits = current[0] - last[0];
+            long misses = current[1] - last[1];
+            long puts = current[2] - last[2];
+            if (hits + misses == 0) {
+                continue;
+            }
+
+            log.info("L2 cache region {}: {} hits, {} misses, {} puts, hit ratio {}%", region, hits, misses, puts,
+                    Math.round(hits * 100.0 / (hits + misses)));
+        }
+    }
+}
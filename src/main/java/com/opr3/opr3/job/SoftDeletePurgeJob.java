@@ -0,0 +1,90 @@
+package com.opr3.opr3.job;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.repository.ArchivedTaskRepository;
+import com.opr3.opr3.repository.ProjectRepository;
+import com.opr3.opr3.repository.TaskRepository;
+import com.opr3.opr3.shard.ShardRunner;
+
+/**
+ * Background job that hard-deletes soft-deleted tasks and projects.
+ *
+ * <p>
+ * Deleting a task or project only sets {@code deleted_at}, which hides the
+ * rows from every query. This job removes them in batches of
+ * {@code app.soft-delete.purge-batch-size}, each in its own short transaction:
+ * first the tasks, then the archived tasks of deleted projects, then the
+ * projects themselves. The rows were evicted from the caches when they were
+ * marked, so nothing is loaded or evicted here. Like
+ * {@link TaskArchiveJob}, the work left is decided from the tables alone and
+ * an interrupted run continues on the next one. With sharding, every shard is
+ * purged in turn.
+ * </p>
+ */
+@Component
+public class SoftDeletePurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(SoftDeletePurgeJob.class);
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final ProjectRepository projectRepository;
+    private final ShardRunner shardRunner;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.soft-delete.purge-batch-size:1000}")
+    private int batchSize;
+
+    public SoftDeletePurgeJob(TaskRepository taskRepository, ArchivedTaskRepository archivedTaskRepository,
+            ProjectRepository projectRepository, ShardRunner shardRunner,
+            PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.projectRepository = projectRepository;
+        this.shardRunner = shardRunner;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${app.soft-delete.purge-interval-ms:300000}",
+            initialDelayString = "${app.soft-delete.purge-interval-ms:300000}")
+    public void purgeDeleted() {
+        shardRunner.forEachShard(this::purgeShard);
+    }
+
+    private void purgeShard() {
+        int tasks = purge(taskRepository::findDeletedIds, taskRepository::deleteByIds);
+        int archivedTasks = purge(archivedTaskRepository::findIdsOfDeletedProjects,
+                archivedTaskRepository::deleteByIds);
+        int projects = purge(projectRepository::findDeletedIds, projectRepository::purgeByIds);
+
+        if (tasks + archivedTasks + projects > 0) {
+            log.info("purged {} deleted tasks, {} archived tasks of deleted projects and {} deleted projects",
+                    tasks, archivedTasks, projects);
+        }
+    }
+
+    private int purge(Function<Integer, List<Integer>> findIds, Function<List<Integer>, Integer> deleteByIds) {
+        int purged = 0;
+        while (true) {
+            int[] batch = transactionTemplate.execute(status -> {
+                List<Integer> ids = findIds.apply(batchSize);
+                return new int[] { ids.size(), ids.isEmpty() ? 0 : deleteByIds.apply(ids) };
+            });
+            purged += batch[1];
+            // projects whose tasks are not purged yet stay; they would be found again
+            if (batch[0] < batchSize || batch[1] == 0) {
+                return purged;
+            }
+        }
+    }
+}
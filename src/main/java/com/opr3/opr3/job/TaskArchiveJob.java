@@ -0,0 +1,157 @@
+package com.opr3.opr3.job;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.dto.ArchiveCandidate;
+import com.opr3.opr3.entity.Project;
+import com.opr3.opr3.entity.Task;
+import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.repository.ArchivedTaskRepository;
+import com.opr3.opr3.repository.TaskRepository;
+import com.opr3.opr3.service.TitleSuggestionService;
+import com.opr3.opr3.service.UserService;
+import com.opr3.opr3.shard.ShardRunner;
+import com.opr3.opr3.util.EntityCacheUtil;
+
+/**
+ * Background job that moves DONE tasks not updated for
+ * {@code app.task-archive.min-age-days} from {@code task} to
+ * {@code task_archive}, keeping the hot table and its indexes small.
+ *
+ * <p>
+ * Tasks are moved in batches of {@code app.task-archive.batch-size} in id
+ * order, each batch in its own short transaction that locks the selected
+ * tasks, copies them and deletes the originals. Only the owners of tasks
+ * actually moved get a change recorded.
+ * Which tasks are left to move is decided from the table alone, so an
+ * interrupted run simply continues on the next one, and running it twice moves
+ * nothing new. Project counters are not
+ * touched: {@code done_count} includes archived tasks. With sharding, every
+ * shard is processed in turn.
+ * </p>
+ */
+@Component
+public class TaskArchiveJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiveJob.class);
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final UserService userService;
+    private final TitleSuggestionService titleSuggestionService;
+    private final EntityCacheUtil entityCacheUtil;
+    private final ShardRunner shardRunner;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.task-archive.min-age-days:90}")
+    private int minAgeDays;
+    @Value("${app.task-archive.batch-size:500}")
+    private int batchSize;
+
+    public TaskArchiveJob(TaskRepository taskRepository, ArchivedTaskRepository archivedTaskRepository,
+            UserService userService, TitleSuggestionService titleSuggestionService,
+            EntityCacheUtil entityCacheUtil, ShardRunner shardRunner,
+            PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.userService = userService;
+        this.titleSuggestionService = titleSuggestionService;
+        this.entityCacheUtil = entityCacheUtil;
+        this.shardRunner = shardRunner;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.task-archive.cron:0 0 3 * * *}")
+    public void archiveTasks() {
+        archiveTasksBefore(LocalDateTime.now().minusDays(minAgeDays));
+    }
+
+    /**
+     * Moves all DONE tasks last updated before the cutoff to the archive.
+     *
+     * @return number of tasks moved
+     */
+    public int archiveTasksBefore(LocalDateTime cutoff) {
+        int[] archived = new int[1];
+        shardRunner.forEachShard(() -> archived[0] += archiveShardBefore(cutoff));
+
+        if (archived[0] > 0) {
+            log.info("archived {} tasks completed before {}", archived[0], cutoff);
+        }
+        return archived[0];
+    }
+
+    private int archiveShardBefore(LocalDateTime cutoff) {
+        int archived = 0;
+        int afterId = 0;
+        Batch batch;
+        do {
+            int fromId = afterId;
+            batch = transactionTemplate.execute(status -> archiveBatch(cutoff, fromId));
+            archived += batch.moved();
+            afterId = batch.lastCandidateId();
+        } while (batch.candidates() == batchSize);
+        return archived;
+    }
+
+    /**
+     * Outcome of one batch: how many candidates were selected, the last of
+     * their ids to continue after, and how many of them were moved.
+     */
+    private record Batch(int candidates, int lastCandidateId, int moved) {
+    }
+
+    private Batch archiveBatch(LocalDateTime cutoff, int afterId) {
+        List<ArchiveCandidate> candidates = taskRepository.findArchiveCandidates(TaskStatus.DONE, cutoff, afterId,
+                Limit.of(batchSize));
+        if (candidates.isEmpty()) {
+            return new Batch(0, afterId, 0);
+        }
+
+        List<Integer> ids = taskRepository.lockArchivable(
+                candidates.stream().map(ArchiveCandidate::getId).toList(), TaskStatus.DONE, cutoff);
+        int lastCandidateId = candidates.get(candidates.size() - 1).getId();
+        if (ids.isEmpty()) {
+            return new Batch(candidates.size(), lastCandidateId, 0);
+        }
+
+        archivedTaskRepository.deleteByIds(ids);
+        archivedTaskRepository.copyFromTasks(ids, LocalDateTime.now());
+        taskRepository.deleteByIds(ids);
+
+        Set<Integer> moved = Set.copyOf(ids);
+        Set<Integer> projectIds = new LinkedHashSet<>();
+        Set<String> ownerUids = new LinkedHashSet<>();
+        for (ArchiveCandidate candidate : candidates) {
+            if (moved.contains(candidate.getId())) {
+                entityCacheUtil.evictAfterCommit(Task.class, candidate.getId());
+                projectIds.add(candidate.getProjectId());
+                if (candidate.getOwnerUid() != null) {
+                    ownerUids.add(candidate.getOwnerUid());
+                }
+            }
+        }
+        for (Integer projectId : projectIds) {
+            entityCacheUtil.evictCollectionAfterCommit(Project.class, "tasks", projectId);
+        }
+        // project lists and their ETags change, the tasks themselves did not
+        for (String ownerUid : ownerUids) {
+            userService.markDataChanged(ownerUid);
+            titleSuggestionService.evictUser(ownerUid);
+        }
+
+        return new Batch(candidates.size(), lastCandidateId, ids.size());
+    }
+}
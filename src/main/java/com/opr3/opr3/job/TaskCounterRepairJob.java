@@ -0,0 +1,74 @@
+package com.opr3.opr3.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.repository.ProjectRepository;
+import com.opr3.opr3.service.ProjectListCache;
+import com.opr3.opr3.shard.ShardRunner;
+
+/**
+ * Background job that recomputes the denormalized task counters on
+ * {@code project} from the task table.
+ *
+ * <p>
+ * The counters are maintained incrementally by
+ * {@link com.opr3.opr3.service.TaskService}; this job only exists to heal
+ * drift, e.g. after manual data fixes. Projects are processed in id ranges,
+ * each range in its own short transaction, so row locks are never held on the
+ * whole table. With sharding, every shard is repaired in turn.
+ * </p>
+ */
+@Component
+public class TaskCounterRepairJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCounterRepairJob.class);
+
+    private final ProjectRepository projectRepository;
+    private final ProjectListCache projectListCache;
+    private final ShardRunner shardRunner;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.task-counters.repair-batch-size:1000}")
+    private int batchSize;
+
+    public TaskCounterRepairJob(ProjectRepository projectRepository, ProjectListCache projectListCache,
+            ShardRunner shardRunner, PlatformTransactionManager transactionManager) {
+        this.projectRepository = projectRepository;
+        this.projectListCache = projectListCache;
+        this.shardRunner = shardRunner;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.task-counters.repair-cron:0 30 3 * * *}")
+    public void repairTaskCounters() {
+        int[] repaired = new int[1];
+        shardRunner.forEachShard(() -> repaired[0] += repairShard());
+
+        // cached project lists carry the counters and are not covered by change events
+        projectListCache.invalidateAll();
+        log.info("task counters recomputed for {} projects", repaired[0]);
+    }
+
+    // ids of a shard start at its id block, see ShardSchemaInitializer
+    private int repairShard() {
+        int minId = projectRepository.findMinId();
+        int maxId = projectRepository.findMaxId();
+        int repaired = 0;
+
+        for (int fromId = minId - 1; fromId < maxId; fromId += batchSize) {
+            int rangeStart = fromId;
+            Integer updated = transactionTemplate.execute(status -> projectRepository.recomputeTaskCounters(
+                    rangeStart, rangeStart + batchSize,
+                    TaskStatus.TODO, TaskStatus.IN_PROGRESS, TaskStatus.DONE));
+            repaired += updated != null ? updated : 0;
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,44 @@
+package com.opr3.opr3.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.repository.TaskRepository;
+import com.opr3.opr3.shard.ShardRunner;
+
+/**
+ * Fills the denormalized {@code task.owner_uid} column for rows created before
+ * the column existed. New tasks get it on insert, so after the first start on
+ * an upgraded schema this is a no-op.
+ */
+@Component
+public class TaskOwnerBackfillJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskOwnerBackfillJob.class);
+
+    private final TaskRepository taskRepository;
+    private final ShardRunner shardRunner;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskOwnerBackfillJob(TaskRepository taskRepository, ShardRunner shardRunner,
+            PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.shardRunner = shardRunner;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillTaskOwners() {
+        shardRunner.forEachShard(() -> {
+            int updated = transactionTemplate.execute(status -> taskRepository.backfillOwnerUids());
+            if (updated > 0) {
+                log.info("task owner backfilled for {} tasks", updated);
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.opr3.opr3.job;
+
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.repository.TombstoneRepository;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.shard.ShardRunner;
+
+/**
+ * Deletes tombstones older than {@code app.sync.tombstone-retention-days}.
+ * Before deleting, each affected user's sync horizon is moved past them, so a
+ * client whose cursor predates the purge is told to reload instead of silently
+ * missing deletions.
+ */
+@Component
+public class TombstonePurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TombstonePurgeJob.class);
+
+    private final TombstoneRepository tombstoneRepository;
+    private final UserRepository userRepository;
+    private final ShardRunner shardRunner;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.sync.tombstone-retention-days:30}")
+    private int retentionDays;
+
+    public TombstonePurgeJob(TombstoneRepository tombstoneRepository, UserRepository userRepository,
+            ShardRunner shardRunner, PlatformTransactionManager transactionManager) {
+        this.tombstoneRepository = tombstoneRepository;
+        this.userRepository = userRepository;
+        this.shardRunner = shardRunner;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.sync.tombstone-purge-cron:0 0 4 * * *}")
+    public void purgeTombstones() {
+        purgeTombstonesBefore(LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    // one transaction per shard
+    public void purgeTombstonesBefore(LocalDateTime cutoff) {
+        shardRunner.forEachShard(() -> transactionTemplate.executeWithoutResult(status -> {
+            int users = userRepository.advanceSyncHorizons(cutoff);
+            int purged = tombstoneRepository.deleteDeletedBefore(cutoff);
+            log.info("{} tombstones purged for {} users", purged, users);
+        }));
+    }
+}
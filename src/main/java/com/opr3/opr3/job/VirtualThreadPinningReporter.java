@@ -0,0 +1,109 @@
+package com.opr3.opr3.job;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Logs virtual threads that stay pinned to their carrier thread, typically by
+ * blocking inside a {@code synchronized} block of a JDBC driver or pool.
+ *
+ * <p>
+ * Active with {@code spring.threads.virtual.enabled} on Java 21. Listens to
+ * the JFR {@code jdk.VirtualThreadPinned} event in-process and logs every pin
+ * longer than {@code app.virtual-threads.pinned-threshold-ms} with the first
+ * frames outside the JDK, which is where the monitor was taken. A pinned
+ * virtual thread blocks its carrier, and with it every other virtual thread
+ * waiting to run there.
+ * </p>
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningReporter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningReporter.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int FRAMES = 8;
+
+    private final Duration threshold;
+    private final AtomicLong pinned = new AtomicLong();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningReporter(
+            @Value("${app.virtual-threads.pinned-threshold-ms:20}") long thresholdMs) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    /**
+     * Number of pins reported since startup.
+     */
+    public long getPinnedCount() {
+        return pinned.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (stream != null) {
+            return;
+        }
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+        log.info("reporting virtual threads pinned for more than {} ms", threshold.toMillis());
+    }
+
+    void report(RecordedEvent event) {
+        pinned.incrementAndGet();
+        log.warn("virtual thread {} pinned its carrier for {} ms at{}",
+                event.getThread() != null ? event.getThread().getJavaName() : "?",
+                event.getDuration().toMillis(), frames(event.getStackTrace()));
+    }
+
+    // the top of the stack is the JDK parking the thread, the cause is below it
+    private static String frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " (no stack trace)";
+        }
+
+        List<RecordedFrame> frames = stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(frame -> !isJdk(frame.getMethod().getType().getName()))
+                .limit(FRAMES)
+                .toList();
+        return frames.stream()
+                .map(frame -> "\n\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + "(line " + frame.getLineNumber() + ")")
+                .collect(Collectors.joining());
+    }
+
+    private static boolean isJdk(String className) {
+        return className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.");
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.opr3.opr3.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.opr3.opr3.dto.ExportRow;
+import com.opr3.opr3.dto.TaskResponse;
+import com.opr3.opr3.entity.ArchivedTask;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Integer> {
+
+    @Query("""
+            select new com.opr3.opr3.dto.TaskResponse(a.id, a.project.id, a.title, a.description, a.status,\s
+            a.dueDate, a.createdAt, a.updatedAt)\s
+            from ArchivedTask a where a.project.id = :projectId order by a.id\s
+            """)
+    List<TaskResponse> findResponsesByProjectId(@Param("projectId") Integer projectId);
+
+    @Query("""
+            select new com.opr3.opr3.dto.TaskResponse(a.id, a.project.id, a.title, a.description, a.status,\s
+            a.dueDate, a.createdAt, a.updatedAt)\s
+            from ArchivedTask a where a.id = :taskId and a.project.user.uid = :userUid\s
+            """)
+    Optional<TaskResponse> findResponseByIdAndUserUid(@Param("taskId") Integer taskId,
+            @Param("userUid") String userUid);
+
+    @Query("select a.version from ArchivedTask a where a.id = :taskId and a.project.user.uid = :userUid")
+    Optional<Long> findVersionByIdAndUserUid(@Param("taskId") Integer taskId, @Param("userUid") String userUid);
+
+    // same keyset order as ProjectRepository.streamExportRows, so both streams
+    // can be merged; projects without archived tasks produce no rows here
+    @Query("""
+            select new com.opr3.opr3.dto.ExportRow(p.id, p.title, p.description, p.dueDate, p.isArchived,\s
+            p.createdAt, a.id, a.title, a.description, a.status, a.dueDate, a.createdAt, a.updatedAt)\s
+            from ArchivedTask a join a.project p\s
+            where p.user.uid = :userUid\s
+            and (p.id > :afterProjectId or (p.id = :afterProjectId and a.id > :afterTaskId))\s
+            order by p.id, a.id\s
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<ExportRow> streamExportRows(@Param("userUid") String userUid, @Param("afterProjectId") int afterProjectId,
+            @Param("afterTaskId") int afterTaskId);
+
+    // archived tasks of soft-deleted projects, waiting to be purged
+    @Query(value = """
+            select a.id from task_archive a join project p on p.id = a.project_id\s
+            where p.deleted_at is not null limit :limit\s
+            """, nativeQuery = true)
+    List<Integer> findIdsOfDeletedProjects(@Param("limit") int limit);
+
+    // Copies the rows as they are in the task table. Any archived copy with the
+    // same id is replaced first, so a batch can be repeated safely.
+    @Modifying
+    @Query(value = "delete from task_archive where id in (:ids)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_archive"))
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @Query(value = """
+            insert into task_archive (id, project_id, owner_uid, title, description, status, due_date,\s
+            created_at, updated_at, version, archived_at)\s
+            select id, project_id, owner_uid, title, description, status, due_date,\s
+            created_at, updated_at, version, :archivedAt\s
+            from task where id in (:ids)\s
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_archive"))
+    int copyFromTasks(@Param("ids") Collection<Integer> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -1,13 +1,165 @@
 package com.opr3.opr3.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.opr3.opr3.dto.ExportRow;
+import com.opr3.opr3.dto.ProjectVersionView;
+import com.opr3.opr3.dto.TitleView;
 import com.opr3.opr3.entity.Project;
+import com.opr3.opr3.entity.Task.TaskStatus;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Integer> {
     List<Project> findByUserUid(String userUid);
+
+    // archived projects with a snapshot are served from it instead; the tasks
+    // are fetched in the same query, the list needs all of them
+    @EntityGraph(attributePaths = "tasks")
+    @Query("""
+            select p from Project p\s
+            where p.user.uid = :userUid\s
+            and not exists (select s from ProjectSnapshot s where s.projectId = p.id)\s
+            """)
+    List<Project> findWithoutSnapshotByUserUid(@Param("userUid") String userUid);
+
+    @Query("select p.id as id, p.id as projectId, p.title as title from Project p where p.user.uid = :userUid")
+    List<TitleView> findTitlesByUserUid(@Param("userUid") String userUid);
+
+    // Native with its own query space: a JPQL bulk update would make Hibernate
+    // drop the whole Project cache region on every task write. TaskService
+    // evicts the single affected project instead. The project is stamped with
+    // the sync sequence of the change, since its counters changed.
+    @Modifying
+    @Query(value = """
+            update project set todo_count = todo_count + :todo,\s
+            in_progress_count = in_progress_count + :inProgress,\s
+            done_count = done_count + :done,\s
+            sync_seq = :syncSeq\s
+            where id = :projectId\s
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project_task_counters"))
+    int adjustTaskCounters(@Param("projectId") Integer projectId, @Param("todo") int todo,
+            @Param("inProgress") int inProgress, @Param("done") int done, @Param("syncSeq") long syncSeq);
+
+    // adjustTaskCounters for task writes: matches nothing once the project is
+    // archived or deleted, and the row lock orders the write with the archive
+    // or delete that got there first
+    @Modifying
+    @Query(value = """
+            update project set todo_count = todo_count + :todo,\s
+            in_progress_count = in_progress_count + :inProgress,\s
+            done_count = done_count + :done,\s
+            sync_seq = :syncSeq\s
+            where id = :projectId and is_archived = false and deleted_at is null\s
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project_task_counters"))
+    int adjustOpenTaskCounters(@Param("projectId") Integer projectId, @Param("todo") int todo,
+            @Param("inProgress") int inProgress, @Param("done") int done, @Param("syncSeq") long syncSeq);
+
+    // Replaces a committing change's ticket with its change marker, see
+    // UserService.markDataChanged; served by idx_project_user_sync. Its own query
+    // space keeps the cache regions, cached rows get a new sync_seq on every save
+    @Modifying
+    @Query(value = "update project set sync_seq = :changeMarker where user_uid = :userUid and sync_seq = :ticket",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sync_stamp"))
+    int stampChange(@Param("userUid") String userUid, @Param("ticket") long ticket,
+            @Param("changeMarker") long changeMarker);
+
+    // Soft delete, native for the same reason as adjustTaskCounters; the caller
+    // marks the tasks and evicts what it changed
+    @Modifying
+    @Query(value = """
+            update project set deleted_at = :deletedAt, version = version + 1, sync_seq = :syncSeq\s
+            where id = :projectId and deleted_at is null\s
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "soft_delete"))
+    int markDeleted(@Param("projectId") Integer projectId, @Param("deletedAt") LocalDateTime deletedAt,
+            @Param("syncSeq") long syncSeq);
+
+    // native, soft-deleted rows are invisible to JPQL; served by idx_project_deleted_at
+    @Query(value = "select id from project where deleted_at is not null limit :limit", nativeQuery = true)
+    List<Integer> findDeletedIds(@Param("limit") int limit);
+
+    // skips projects whose tasks are not purged yet, e.g. deleted after the
+    // purge job's task pass
+    @Modifying
+    @Query(value = """
+            delete from project where id in (:ids) and deleted_at is not null\s
+            and not exists (select 1 from task t where t.project_id = project.id)\s
+            and not exists (select 1 from task_archive a where a.project_id = project.id)\s
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "soft_delete"))
+    int purgeByIds(@Param("ids") Collection<Integer> ids);
+
+    // served by idx_project_user_sync
+    @Query("""
+            select p from Project p\s
+            where p.user.uid = :userUid and p.syncSeq > :afterSeq and p.syncSeq <= :upToSeq\s
+            order by p.syncSeq, p.id\s
+            """)
+    List<Project> findChanged(@Param("userUid") String userUid, @Param("afterSeq") long afterSeq,
+            @Param("upToSeq") long upToSeq, Limit limit);
+
+    @Modifying
+    @Query("""
+            update Project p set\s
+            p.todoCount = (select count(t) from Task t where t.project = p and t.status = :todo),\s
+            p.inProgressCount = (select count(t) from Task t where t.project = p and t.status = :inProgress),\s
+            p.doneCount = (select count(t) from Task t where t.project = p and t.status = :done)\s
+            + (select count(a) from ArchivedTask a where a.project = p)\s
+            where p.id > :fromId and p.id <= :toId\s
+            """)
+    int recomputeTaskCounters(@Param("fromId") Integer fromId, @Param("toId") Integer toId,
+            @Param("todo") TaskStatus todo, @Param("inProgress") TaskStatus inProgress,
+            @Param("done") TaskStatus done);
+
+    @Query("""
+            select p.version as version, p.updatedAt as updatedAt,\s
+            count(t) as taskCount, max(t.updatedAt) as lastTaskUpdate\s
+            from Project p left join p.tasks t\s
+            where p.id = :projectId and p.user.uid = :userUid\s
+            group by p.id, p.version, p.updatedAt\s
+            """)
+    Optional<ProjectVersionView> findVersionByIdAndUserUid(@Param("projectId") Integer projectId,
+            @Param("userUid") String userUid);
+
+    @Query("select u.changeMarker from Project p join p.user u where p.id = :projectId and u.uid = :userUid")
+    Optional<Long> findOwnerChangeMarker(@Param("projectId") Integer projectId, @Param("userUid") String userUid);
+
+    @Query("select coalesce(min(p.id), 0) from Project p")
+    Integer findMinId();
+
+    @Query("select coalesce(max(p.id), 0) from Project p")
+    Integer findMaxId();
+
+    // Forward-only keyset scan over the user's projects and their tasks in
+    // (project id, task id) order; rows start after the given pair.
+    @Query("""
+            select new com.opr3.opr3.dto.ExportRow(p.id, p.title, p.description, p.dueDate, p.isArchived,\s
+            p.createdAt, t.id, t.title, t.description, t.status, t.dueDate, t.createdAt, t.updatedAt)\s
+            from Project p left join p.tasks t\s
+            where p.user.uid = :userUid\s
+            and (p.id > :afterProjectId or (p.id = :afterProjectId and t.id > :afterTaskId))\s
+            order by p.id, t.id\s
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<ExportRow> streamExportRows(@Param("userUid") String userUid, @Param("afterProjectId") int afterProjectId,
+            @Param("afterTaskId") int afterTaskId);
 }
@@ -0,0 +1,20 @@
+package com.opr3.opr3.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.opr3.opr3.entity.ProjectSnapshot;
+
+@Repository
+public interface ProjectSnapshotRepository extends JpaRepository<ProjectSnapshot, Integer> {
+    List<ProjectSnapshot> findByOwnerUid(String ownerUid);
+
+    @Modifying
+    @Query("delete from ProjectSnapshot s where s.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Integer projectId);
+}
@@ -1,15 +1,156 @@
 package com.opr3.opr3.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.opr3.opr3.dto.ArchiveCandidate;
+import com.opr3.opr3.dto.CalendarDayCount;
+import com.opr3.opr3.dto.TaskResponse;
+import com.opr3.opr3.dto.TitleView;
 import com.opr3.opr3.entity.Task;
+import com.opr3.opr3.entity.Task.TaskStatus;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Integer> {
     List<Task> findByProjectId(Integer projectId);
+
+    @Query("select t.id as id, t.project.id as projectId, t.title as title from Task t where t.project.user.uid = :userUid")
+    List<TitleView> findTitlesByUserUid(@Param("userUid") String userUid);
+
+    // DTO rows never enter the persistence context, so a long stream keeps no
+    // per-row state; MySQL only honours the fetch size with useCursorFetch=true
+    @Query("""
+            select new com.opr3.opr3.dto.TaskResponse(t.id, t.project.id, t.title, t.description, t.status,\s
+            t.dueDate, t.createdAt, t.updatedAt)\s
+            from Task t where t.project.id = :projectId order by t.id\s
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<TaskResponse> streamResponsesByProjectId(@Param("projectId") Integer projectId);
+
+    @Query("select t.version from Task t where t.id = :taskId and t.project.user.uid = :userUid")
+    Optional<Long> findVersionByIdAndUserUid(@Param("taskId") Integer taskId, @Param("userUid") String userUid);
+
+    // served by idx_task_owner_sync
+    @Query("""
+            select new com.opr3.opr3.dto.TaskResponse(t.id, t.project.id, t.title, t.description, t.status,\s
+            t.dueDate, t.createdAt, t.updatedAt)\s
+            from Task t\s
+            where t.ownerUid = :ownerUid and t.syncSeq > :afterSeq and t.syncSeq <= :upToSeq\s
+            order by t.syncSeq, t.id\s
+            """)
+    List<TaskResponse> findChangedResponses(@Param("ownerUid") String ownerUid, @Param("afterSeq") long afterSeq,
+            @Param("upToSeq") long upToSeq, Limit limit);
+
+    // the due date queries below are served by idx_task_owner_status_due
+
+    // one status per query, so rows are read in index order and the page stops
+    // after limit rows; TaskService merges the pages of the open statuses
+    @Query("""
+            select t from Task t\s
+            where t.ownerUid = :ownerUid and t.status = :status\s
+            and t.dueDate <= :to\s
+            and (t.dueDate > :afterDueDate or (t.dueDate = :afterDueDate and t.id > :afterId))\s
+            order by t.dueDate, t.id\s
+            """)
+    List<Task> findDuePage(@Param("ownerUid") String ownerUid, @Param("status") TaskStatus status,
+            @Param("afterDueDate") Date afterDueDate, @Param("afterId") Integer afterId, @Param("to") Date to,
+            Limit limit);
+
+    @Query("""
+            select new com.opr3.opr3.dto.CalendarDayCount(t.dueDate, count(t))\s
+            from Task t\s
+            where t.ownerUid = :ownerUid and t.status in :statuses\s
+            and t.dueDate >= :from and t.dueDate <= :to\s
+            group by t.dueDate\s
+            order by t.dueDate\s
+            """)
+    List<CalendarDayCount> countByDueDate(@Param("ownerUid") String ownerUid,
+            @Param("statuses") Collection<TaskStatus> statuses, @Param("from") Date from, @Param("to") Date to);
+
+    // walks idx_task_status_id from afterId on, so every batch reads only its own
+    // rows; read without locks, TaskArchiveJob then locks the tasks with
+    // lockArchivable
+    @Query("""
+            select t.id as id, t.project.id as projectId, t.ownerUid as ownerUid from Task t\s
+            where t.status = :status and t.id > :afterId and t.updatedAt < :cutoff\s
+            order by t.id\s
+            """)
+    List<ArchiveCandidate> findArchiveCandidates(@Param("status") TaskStatus status,
+            @Param("cutoff") LocalDateTime cutoff, @Param("afterId") Integer afterId, Limit limit);
+
+    // the conditions are checked again under the lock, a task edited since it
+    // was selected is skipped; the rows stay locked until the batch that moves
+    // them commits, so a concurrent edit waits instead of being lost
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select t.id from Task t\s
+            where t.id in :ids and t.status = :status and t.updatedAt < :cutoff\s
+            order by t.id\s
+            """)
+    List<Integer> lockArchivable(@Param("ids") Collection<Integer> ids, @Param("status") TaskStatus status,
+            @Param("cutoff") LocalDateTime cutoff);
+
+    // Native with its own query space, like ProjectRepository.adjustTaskCounters:
+    // a JPQL bulk delete would drop the whole Task cache region, the archive job
+    // evicts the moved tasks instead. Also used by the purge job, whose rows
+    // were evicted when they were soft-deleted.
+    @Modifying
+    @Query(value = "delete from task where id in (:ids)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_archive_move"))
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+
+    // see ProjectRepository.stampChange; served by idx_task_owner_sync
+    @Modifying
+    @Query(value = "update task set sync_seq = :changeMarker where owner_uid = :ownerUid and sync_seq = :ticket",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sync_stamp"))
+    int stampChange(@Param("ownerUid") String ownerUid, @Param("ticket") long ticket,
+            @Param("changeMarker") long changeMarker);
+
+    // Soft deletes are native too, and bump the version so that a concurrent
+    // update of the same task fails instead of writing the row back
+    @Modifying
+    @Query(value = """
+            update task set deleted_at = :deletedAt, version = version + 1, sync_seq = :syncSeq\s
+            where id = :taskId and deleted_at is null\s
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "soft_delete"))
+    int markDeleted(@Param("taskId") Integer taskId, @Param("deletedAt") LocalDateTime deletedAt,
+            @Param("syncSeq") long syncSeq);
+
+    @Modifying
+    @Query(value = """
+            update task set deleted_at = :deletedAt, version = version + 1, sync_seq = :syncSeq\s
+            where project_id = :projectId and deleted_at is null\s
+            """, nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "soft_delete"))
+    int markDeletedByProjectId(@Param("projectId") Integer projectId, @Param("deletedAt") LocalDateTime deletedAt,
+            @Param("syncSeq") long syncSeq);
+
+    // native, soft-deleted rows are invisible to JPQL; served by idx_task_deleted_at
+    @Query(value = "select id from task where deleted_at is not null limit :limit", nativeQuery = true)
+    List<Integer> findDeletedIds(@Param("limit") int limit);
+
+    @Modifying
+    @Query("update Task t set t.ownerUid = (select p.user.uid from Project p where p = t.project) where t.ownerUid is null")
+    int backfillOwnerUids();
 }
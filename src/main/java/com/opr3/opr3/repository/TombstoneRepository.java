@@ -0,0 +1,43 @@
+package com.opr3.opr3.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.opr3.opr3.entity.Tombstone;
+import com.opr3.opr3.entity.Tombstone.EntityType;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    @Query("""
+            select t.entityId from Tombstone t\s
+            where t.ownerUid = :ownerUid and t.entityType = :entityType\s
+            and t.syncSeq > :afterSeq and t.syncSeq <= :upToSeq\s
+            order by t.syncSeq, t.id\s
+            """)
+    List<Integer> findDeletedIds(@Param("ownerUid") String ownerUid, @Param("entityType") EntityType entityType,
+            @Param("afterSeq") long afterSeq, @Param("upToSeq") long upToSeq, Limit limit);
+
+    // see ProjectRepository.stampChange; served by idx_tombstone_owner_sync
+    @Modifying
+    @Query(value = "update tombstone set sync_seq = :changeMarker where owner_uid = :ownerUid and sync_seq = :ticket",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sync_stamp"))
+    int stampChange(@Param("ownerUid") String ownerUid, @Param("ticket") long ticket,
+            @Param("changeMarker") long changeMarker);
+
+    @Modifying
+    @Query("delete from Tombstone t where t.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,9 +1,12 @@
 package com.opr3.opr3.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
@@ -22,5 +25,22 @@ public interface UserRepository extends JpaRepository<User, String>{
     Optional<User> findUserByEmail(@Param("email") String email);
 
     Optional<User> findUserByUid(@Param("uid") String uid);
-    
+
+    @Query("select u.changeMarker from User u where u.uid = :uid")
+    Optional<Long> findChangeMarkerByUid(@Param("uid") String uid);
+
+    @Modifying
+    @Query("update User u set u.changeMarker = u.changeMarker + 1 where u.uid = :uid")
+    int incrementChangeMarker(@Param("uid") String uid);
+
+    // moves the horizon of every user with tombstones about to be purged up to
+    // the newest of them
+    @Modifying
+    @Query("""
+            update User u set u.syncHorizon = (select max(t.syncSeq) from Tombstone t\s
+            where t.ownerUid = u.uid and t.deletedAt < :cutoff)\s
+            where exists (select t.id from Tombstone t where t.ownerUid = u.uid and t.deletedAt < :cutoff)\s
+            """)
+    int advanceSyncHorizons(@Param("cutoff") LocalDateTime cutoff);
+
 } 
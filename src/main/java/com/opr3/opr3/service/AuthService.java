@@ -11,6 +11,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.opr3.opr3.dto.AuthRequest;
 import com.opr3.opr3.dto.RegisterRequest;
@@ -20,6 +23,7 @@ import com.opr3.opr3.entity.User;
 import com.opr3.opr3.exception.ResourceAlreadyExistsException;
 import com.opr3.opr3.repository.TokenRepository;
 import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.shard.ShardContext;
 
 import lombok.RequiredArgsConstructor;
 
@@ -32,6 +36,7 @@ public class AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
+    private final PlatformTransactionManager transactionManager;
 
     /**
      * Authenticates a user with the provided credentials and generates JWT tokens.
@@ -47,8 +52,9 @@ public class AuthService {
             var user = (User) authentication.getPrincipal();
             var jwtToken = jwtService.generateToken(user);
             var refreshToken = jwtService.generateRefreshToken(user);
-            revokeAllUserTokens(user);
-            saveUserToken(user, refreshToken);
+            // only the token rotation is transactional, no connection is held
+            // while the password hash is checked
+            rotateTokens(user, refreshToken);
             var refreshCookie = jwtService.createRefreshTokenCookie(refreshToken);
 
             return new TokenInfo(jwtToken, refreshCookie);
@@ -68,6 +74,7 @@ public class AuthService {
      * @throws IllegalArgumentException       if email format is invalid or
      *                                        username/password is blank
      */
+    @Transactional
     public void register(RegisterRequest request) throws ResourceAlreadyExistsException, IllegalArgumentException {
         Optional<User> userOptionalEmail = userRepository.findUserByEmail(request.getEmail());
         Optional<User> userOptionalUsername = userRepository.findUserByNameIgnoreCase(request.getUsername());
@@ -109,8 +116,7 @@ public class AuthService {
 
         var newAccessToken = jwtService.generateToken(user);
         var newRefreshToken = jwtService.generateRefreshToken(user);
-        revokeAllUserTokens(user);
-        saveUserToken(user, newRefreshToken);
+        rotateTokens(user, newRefreshToken);
         var refreshCookie = jwtService.createRefreshTokenCookie(newRefreshToken);
 
         return new TokenInfo(newAccessToken, refreshCookie);
@@ -127,21 +133,26 @@ public class AuthService {
     public void logout() throws IllegalStateException, NullPointerException, AuthenticationException {
         User user = getAuthenticatedUser();
 
-        var validUserTokens = tokenRepository.findAllValidTokenByUser(user.getUid());
+        onDirectory(() -> revokeAllUserTokens(user));
 
-        if (validUserTokens.isEmpty()) {
-            return;
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            SecurityContextHolder.clearContext();
         }
+    }
 
-        validUserTokens.forEach(token -> {
-            token.setRevoked(true);
+    private void rotateTokens(User user, String refreshToken) {
+        onDirectory(() -> {
+            revokeAllUserTokens(user);
+            saveUserToken(user, refreshToken);
         });
+    }
 
-        tokenRepository.saveAll(validUserTokens);
-
-        if (SecurityContextHolder.getContext().getAuthentication() != null) {
-            SecurityContextHolder.clearContext();
-        }
+    // tokens live on the directory shard next to the users, while an
+    // authenticated request is routed to the user's data shard; the pin has to
+    // be set before the transaction takes its connection
+    private void onDirectory(Runnable work) {
+        ShardContext.runOn(0, () -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> work.run()));
     }
 
     private void saveUserToken(User user, String jwtToken) {
@@ -0,0 +1,190 @@
+package com.opr3.opr3.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.opr3.opr3.dto.ExportFormat;
+import com.opr3.opr3.dto.ExportRow;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.ArchivedTaskRepository;
+import com.opr3.opr3.repository.ProjectRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Exports all projects and tasks of the authenticated user as NDJSON or CSV.
+ *
+ * <p>
+ * Rows come from a forward-only query over {@code project} left joined with
+ * {@code task}, merged with a second one over {@code task_archive}. Both are
+ * read through database cursors and written one by one, so memory use does not
+ * depend on the account size. Rows are ordered by project and task id, and an
+ * interrupted export can be resumed from the ids of the last row received.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportService.class);
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final Comparator<ExportRow> ROW_ORDER = Comparator.comparing(ExportRow::getProjectId)
+            .thenComparing(ExportRow::getTaskId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final ProjectRepository projectRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final AuthService authService;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    /**
+     * Position after the last exported row. {@code taskId} is 0 when that row
+     * was a project without tasks.
+     */
+    public record Cursor(int projectId, int taskId) {
+        public static final Cursor START = new Cursor(0, 0);
+    }
+
+    /**
+     * Parses a resume cursor of the form {@code projectId:taskId} (or just
+     * {@code projectId}) taken from the last row received.
+     * 
+     * @param value the cursor, or null to start from the beginning
+     * @return the parsed Cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public Cursor parseCursor(String value) throws IllegalArgumentException {
+        if (value == null || value.isBlank()) {
+            return Cursor.START;
+        }
+
+        String[] parts = value.split(":", 2);
+        try {
+            int projectId = Integer.parseInt(parts[0].trim());
+            int taskId = parts.length > 1 && !parts[1].isBlank() ? Integer.parseInt(parts[1].trim()) : 0;
+            if (projectId < 0 || taskId < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Cursor(projectId, taskId);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Writes the authenticated user's projects and tasks after the given cursor
+     * to the stream. The CSV header is only written when starting from the
+     * beginning, so a resumed export can be appended to the partial file.
+     * 
+     * @param format       output format
+     * @param cursor       position to resume after
+     * @param gzip         whether to gzip the output
+     * @param outputStream the stream to write to, left open
+     * @return number of rows written
+     * @throws AuthenticationException if user is not authenticated
+     * @throws UncheckedIOException    if writing to the stream fails
+     */
+    public long writeExport(ExportFormat format, Cursor cursor, boolean gzip, OutputStream outputStream)
+            throws AuthenticationException, UncheckedIOException {
+        User user = authService.getAuthenticatedUser();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        long start = System.nanoTime();
+        Long rows = transaction.execute(status -> {
+            try {
+                OutputStream target = gzip ? new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE) : outputStream;
+                long written = writeRows(format, cursor, user.getUid(), target);
+                if (target instanceof GZIPOutputStream gzipStream) {
+                    gzipStream.finish();
+                }
+                target.flush();
+                return written;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        long elapsedMs = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+        log.info("exported {} rows as {}{} in {} ms ({} rows/s)", rows, format, gzip ? " (gzip)" : "", elapsedMs,
+                rows * 1000 / elapsedMs);
+        return rows;
+    }
+
+    private long writeRows(ExportFormat format, Cursor cursor, String userUid, OutputStream target)
+            throws IOException {
+        ObjectWriter writer = switch (format) {
+            case NDJSON -> objectMapper.writerFor(ExportRow.class).withRootValueSeparator("\n");
+            case CSV -> {
+                CsvSchema schema = csvMapper.schemaFor(ExportRow.class);
+                yield csvMapper.writer(Cursor.START.equals(cursor) ? schema.withHeader() : schema);
+            }
+        };
+        // one flush per buffer instead of one per row, and never close the response stream
+        writer = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        long rows = 0;
+        try (Stream<ExportRow> active = projectRepository.streamExportRows(userUid, cursor.projectId(),
+                cursor.taskId());
+                Stream<ExportRow> archived = archivedTaskRepository.streamExportRows(userUid, cursor.projectId(),
+                        cursor.taskId());
+                SequenceWriter sequence = writer.writeValues(target)) {
+            Iterator<ExportRow> activeRows = active.iterator();
+            Iterator<ExportRow> archivedRows = archived.iterator();
+            ExportRow nextActive = activeRows.hasNext() ? activeRows.next() : null;
+            ExportRow nextArchived = archivedRows.hasNext() ? archivedRows.next() : null;
+
+            while (nextActive != null || nextArchived != null) {
+                ExportRow row;
+                if (nextArchived == null || (nextActive != null && ROW_ORDER.compare(nextActive, nextArchived) < 0)) {
+                    row = nextActive;
+                    nextActive = activeRows.hasNext() ? activeRows.next() : null;
+                    // a project without active tasks is covered by its archived ones
+                    if (row.getTaskId() == null && nextArchived != null
+                            && nextArchived.getProjectId().equals(row.getProjectId())) {
+                        continue;
+                    }
+                } else {
+                    row = nextArchived;
+                    nextArchived = archivedRows.hasNext() ? archivedRows.next() : null;
+                }
+                sequence.write(row);
+                rows++;
+            }
+        }
+
+        // the separator only goes between values; every NDJSON line ends with one
+        if (format == ExportFormat.NDJSON && rows > 0) {
+            target.write('\n');
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,476 @@
+package com.opr3.opr3.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.opr3.opr3.dto.ExportFormat;
+import com.opr3.opr3.dto.ExportRow;
+import com.opr3.opr3.dto.ImportReport;
+import com.opr3.opr3.dto.ImportReport.ImportStatus;
+import com.opr3.opr3.dto.ImportReport.RowError;
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.entity.Project;
+import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.ProjectRepository;
+import com.opr3.opr3.util.EntityCacheUtil;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Imports projects and tasks from NDJSON or CSV in the row format written by
+ * {@link ExportService}.
+ *
+ * <p>
+ * The upload is parsed row by row as it arrives and every row is checked with
+ * the same rules as {@link ProjectService#createProject} and
+ * {@link TaskService#createTask}. Valid rows are collected into chunks of
+ * {@code app.import.chunk-size}; each chunk is written in its own transaction
+ * with one JDBC batch for new projects and one for tasks, so a failure only
+ * loses the chunk in flight. Rows are grouped by their source
+ * {@code projectId} (or project title when it is missing) and every source
+ * project becomes a new project of the authenticated user. Invalid rows are
+ * skipped and listed in the report.
+ * </p>
+ *
+ * <p>
+ * Progress of running imports, and the reports of finished ones for
+ * {@code app.import.retention-ms}, are kept in memory.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private static final String INSERT_PROJECT = """
+            insert into project (user_uid, title, description, is_archived, due_date, todo_count,
+            in_progress_count, done_count, created_at, updated_at, version, sync_seq)
+            values (?, ?, ?, ?, ?, 0, 0, 0, ?, ?, 0, ?)
+            """;
+
+    private static final String INSERT_TASK = """
+            insert into task (project_id, owner_uid, title, description, status, due_date, created_at,
+            updated_at, version, sync_seq)
+            values (?, ?, ?, ?, ?, ?, ?, ?, 0, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ProjectRepository projectRepository;
+    private final AuthService authService;
+    private final ProjectService projectService;
+    private final TaskService taskService;
+    private final UserService userService;
+    private final TitleSuggestionService titleSuggestionService;
+    private final EntityCacheUtil entityCacheUtil;
+    private final ObjectMapper objectMapper;
+
+    // empty cells are read as null rather than rejected for dates, numbers and
+    // the status enum
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .build();
+
+    private final Map<String, ImportJob> imports = new ConcurrentHashMap<>();
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${app.import.retention-ms:3600000}")
+    private long retentionMs;
+
+    /**
+     * Reads all rows from the stream and creates their projects and tasks for
+     * the authenticated user. CSV input must start with a header row; columns
+     * are matched by name and may be in any order.
+     * 
+     * @param format      input format
+     * @param inputStream the upload, read to the end but not closed
+     * @return ImportReport with the outcome of the import
+     * @throws AuthenticationException if user is not authenticated
+     */
+    public ImportReport importRows(ExportFormat format, InputStream inputStream) throws AuthenticationException {
+        User user = authService.getAuthenticatedUser();
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), user.getUid(), format);
+        imports.put(job.id, job);
+
+        // source project key -> id of the project created for it
+        Map<String, Integer> projectIds = new HashMap<>();
+        Chunk chunk = new Chunk();
+
+        try {
+            RowReader reader = format == ExportFormat.CSV ? csvReader(inputStream) : ndjsonReader(inputStream);
+            for (ParsedRow parsed = reader.next(); parsed != null; parsed = reader.next()) {
+                job.rowRead();
+                try {
+                    if (parsed.error() != null) {
+                        throw new IllegalArgumentException(parsed.error());
+                    }
+                    accept(parsed.row(), chunk, projectIds);
+                } catch (IllegalArgumentException e) {
+                    job.rowRejected(parsed.number(), e.getMessage());
+                    continue;
+                }
+
+                if (chunk.rows >= chunkSize) {
+                    write(user.getUid(), chunk, projectIds, job);
+                    chunk = new Chunk();
+                }
+            }
+            write(user.getUid(), chunk, projectIds, job);
+            job.complete();
+        } catch (IOException | RuntimeException e) {
+            log.warn("import {} failed after {} rows: {}", job.id, job.rowsRead, e.getMessage());
+            job.fail(e.getMessage());
+        } finally {
+            // rebuilt from the database on the next lookup
+            titleSuggestionService.evictUser(user.getUid());
+        }
+
+        ImportReport report = job.toReport();
+        log.info("import {} {}: {} rows read, {} projects and {} tasks created, {} rows rejected ({} rows/s)",
+                job.id, report.getStatus(), report.getRowsRead(), report.getProjectsCreated(),
+                report.getTasksCreated(), report.getErrorCount(), report.getRowsPerSecond());
+        return report;
+    }
+
+    /**
+     * Returns the running and recently finished imports of the authenticated
+     * user, newest first.
+     * 
+     * @return List of ImportReport with the current progress of each import
+     * @throws AuthenticationException if user is not authenticated
+     */
+    public List<ImportReport> getImports() throws AuthenticationException {
+        User user = authService.getAuthenticatedUser();
+
+        return imports.values().stream()
+                .filter(job -> job.userUid.equals(user.getUid()))
+                .map(ImportJob::toReport)
+                .sorted(Comparator.comparing(ImportReport::getStartedAt).reversed())
+                .toList();
+    }
+
+    /**
+     * Drops reports of imports that finished longer than the retention ago.
+     */
+    @Scheduled(fixedDelayString = "${app.import.cleanup-interval-ms:60000}")
+    public void evictFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(retentionMs * 1_000_000);
+        imports.values().removeIf(job -> job.isFinishedBefore(cutoff));
+    }
+
+    /**
+     * Validates a row and adds it to the chunk. The task is checked before a new
+     * project is registered, so a rejected row never creates anything.
+     */
+    private void accept(ExportRow row, Chunk chunk, Map<String, Integer> projectIds) {
+        TaskCreateRequest task = null;
+        if (row.getTaskId() != null || row.getTaskTitle() != null) {
+            task = new TaskCreateRequest(row.getTaskTitle(), row.getTaskDescription(),
+                    toDate(row.getTaskDueDate()), row.getTaskStatus());
+            taskService.validateCreateRequest(task);
+        }
+
+        String projectKey = row.getProjectId() != null ? "id:" + row.getProjectId() : "title:" + row.getProjectTitle();
+        if (!projectIds.containsKey(projectKey) && !chunk.newProjects.containsKey(projectKey)) {
+            projectService.validateCreateRequest(new ProjectCreateRequest(row.getProjectTitle(),
+                    row.getProjectDescription(), toDate(row.getProjectDueDate())));
+            chunk.newProjects.put(projectKey, row);
+        }
+
+        if (task != null) {
+            chunk.tasks.add(new PendingTask(projectKey, task));
+        }
+        chunk.rows++;
+    }
+
+    private void write(String userUid, Chunk chunk, Map<String, Integer> projectIds, ImportJob job) {
+        if (chunk.rows == 0) {
+            return;
+        }
+
+        Map<String, Integer> created = new TransactionTemplate(transactionManager).execute(status -> {
+            long syncSeq = userService.markDataChanged(userUid);
+            Map<String, Integer> newIds = insertProjects(userUid, chunk.newProjects, syncSeq);
+
+            Map<Integer, int[]> counterDeltas = new HashMap<>();
+            List<Object[]> taskRows = new ArrayList<>(chunk.tasks.size());
+            LocalDateTime now = LocalDateTime.now();
+            for (PendingTask task : chunk.tasks) {
+                Integer projectId = newIds.getOrDefault(task.projectKey(), projectIds.get(task.projectKey()));
+                TaskStatus taskStatus = task.request().getStatus() != null ? task.request().getStatus()
+                        : TaskStatus.TODO;
+                taskRows.add(new Object[] { projectId, userUid, task.request().getTitle(),
+                        task.request().getDescription(), taskStatus.name(), task.request().getDueDate(), now, now,
+                        syncSeq });
+                counterDeltas.computeIfAbsent(projectId, id -> new int[TaskStatus.values().length])[taskStatus
+                        .ordinal()]++;
+            }
+            if (!taskRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_TASK, taskRows);
+            }
+
+            // the inserts bypass the persistence context, so counters and cached
+            // collections are maintained here
+            counterDeltas.forEach((projectId, deltas) -> {
+                projectRepository.adjustTaskCounters(projectId, deltas[TaskStatus.TODO.ordinal()],
+                        deltas[TaskStatus.IN_PROGRESS.ordinal()], deltas[TaskStatus.DONE.ordinal()], syncSeq);
+                entityCacheUtil.evictAfterCommit(Project.class, projectId);
+                entityCacheUtil.evictCollectionAfterCommit(Project.class, "tasks", projectId);
+            });
+
+            return newIds;
+        });
+
+        projectIds.putAll(created);
+        job.chunkWritten(created.size(), chunk.tasks.size());
+    }
+
+    private Map<String, Integer> insertProjects(String userUid, Map<String, ExportRow> projects, long syncSeq) {
+        if (projects.isEmpty()) {
+            return Map.of();
+        }
+
+        List<ExportRow> rows = new ArrayList<>(projects.values());
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_PROJECT, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ExportRow row = rows.get(i);
+                        ps.setString(1, userUid);
+                        ps.setString(2, row.getProjectTitle());
+                        ps.setString(3, row.getProjectDescription());
+                        ps.setBoolean(4, Boolean.TRUE.equals(row.getProjectArchived()));
+                        ps.setObject(5, toDate(row.getProjectDueDate()));
+                        ps.setObject(6, now);
+                        ps.setObject(7, now);
+                        ps.setLong(8, syncSeq);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keys);
+
+        Map<String, Integer> ids = new HashMap<>();
+        Iterator<String> projectKeys = projects.keySet().iterator();
+        for (Map<String, Object> key : keys.getKeyList()) {
+            ids.put(projectKeys.next(), ((Number) key.values().iterator().next()).intValue());
+        }
+        return ids;
+    }
+
+    private RowReader ndjsonReader(InputStream inputStream) {
+        // line by line, so a malformed line only rejects that row
+        BufferedReader lines = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8),
+                READ_BUFFER_SIZE);
+        ObjectReader reader = objectMapper.readerFor(ExportRow.class);
+        long[] number = { 0 };
+
+        return () -> {
+            String line = lines.readLine();
+            while (line != null && line.isBlank()) {
+                line = lines.readLine();
+            }
+            if (line == null) {
+                return null;
+            }
+
+            number[0]++;
+            try {
+                return new ParsedRow(number[0], reader.readValue(line), null);
+            } catch (JsonProcessingException e) {
+                return new ParsedRow(number[0], null, describe(e));
+            }
+        };
+    }
+
+    private RowReader csvReader(InputStream inputStream) throws IOException {
+        MappingIterator<ExportRow> rows = csvMapper.readerFor(ExportRow.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(inputStream);
+        long[] number = { 0 };
+
+        // a broken CSV structure fails the import in hasNextValue, invalid values
+        // only reject their row
+        return () -> {
+            if (!rows.hasNextValue()) {
+                return null;
+            }
+
+            number[0]++;
+            try {
+                return new ParsedRow(number[0], rows.nextValue(), null);
+            } catch (JsonMappingException e) {
+                return new ParsedRow(number[0], null, describe(e));
+            }
+        };
+    }
+
+    private static String describe(JsonProcessingException e) {
+        if (e instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+            String field = mapping.getPath().get(mapping.getPath().size() - 1).getFieldName();
+            if (field != null) {
+                return "Invalid value for " + field;
+            }
+        }
+        return "Malformed row";
+    }
+
+    private static java.sql.Date toDate(LocalDate date) {
+        return date != null ? java.sql.Date.valueOf(date) : null;
+    }
+
+    @FunctionalInterface
+    private interface RowReader {
+        ParsedRow next() throws IOException;
+    }
+
+    private record ParsedRow(long number, ExportRow row, String error) {
+    }
+
+    private record PendingTask(String projectKey, TaskCreateRequest request) {
+    }
+
+    /**
+     * Valid rows waiting to be written, with the projects first seen in them in
+     * input order.
+     */
+    private static final class Chunk {
+        private final Map<String, ExportRow> newProjects = new LinkedHashMap<>();
+        private final List<PendingTask> tasks = new ArrayList<>();
+        private int rows;
+    }
+
+    /**
+     * Progress of a single import, updated by the importing thread and read by
+     * progress requests.
+     */
+    private static final class ImportJob {
+
+        private final String id;
+        private final String userUid;
+        private final ExportFormat format;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final List<RowError> errors = new ArrayList<>();
+
+        private ImportStatus status = ImportStatus.RUNNING;
+        private long rowsRead;
+        private long projectsCreated;
+        private long tasksCreated;
+        private long errorCount;
+        private String failure;
+        private LocalDateTime finishedAt;
+        private long finishedNanos;
+
+        ImportJob(String id, String userUid, ExportFormat format) {
+            this.id = id;
+            this.userUid = userUid;
+            this.format = format;
+        }
+
+        synchronized void rowRead() {
+            rowsRead++;
+        }
+
+        synchronized void rowRejected(long row, String message) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(row, message));
+            }
+        }
+
+        synchronized void chunkWritten(int projects, int tasks) {
+            projectsCreated += projects;
+            tasksCreated += tasks;
+        }
+
+        synchronized void complete() {
+            finish(ImportStatus.COMPLETED);
+        }
+
+        synchronized void fail(String message) {
+            failure = message;
+            finish(ImportStatus.FAILED);
+        }
+
+        synchronized boolean isFinishedBefore(LocalDateTime cutoff) {
+            return finishedAt != null && finishedAt.isBefore(cutoff);
+        }
+
+        private void finish(ImportStatus finalStatus) {
+            status = finalStatus;
+            finishedAt = LocalDateTime.now();
+            finishedNanos = System.nanoTime();
+        }
+
+        synchronized ImportReport toReport() {
+            long elapsedMs = Math.max(((finishedAt != null ? finishedNanos : System.nanoTime()) - startNanos)
+                    / 1_000_000, 1);
+            return ImportReport.builder()
+                    .importId(id)
+                    .status(status)
+                    .format(format)
+                    .rowsRead(rowsRead)
+                    .projectsCreated(projectsCreated)
+                    .tasksCreated(tasksCreated)
+                    .errorCount(errorCount)
+                    .errors(List.copyOf(errors))
+                    .failure(failure)
+                    .rowsPerSecond(rowsRead * 1000 / elapsedMs)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -2,21 +2,27 @@ package com.opr3.opr3.service;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseCookie;
 import org.springframework.stereotype.Service;
 
 import com.opr3.opr3.dto.JwtValidationResult;
+import com.opr3.opr3.dto.JwtValidationResult.ValidationStatus;
 import com.opr3.opr3.entity.User;
+import com.opr3.opr3.jfr.JwtValidationEvent;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * ATTENTION
@@ -34,6 +40,18 @@ public class JwtService {
     @Value("${application.security.jwt.refresh-token.expiration}")
     private long refreshExpiration;
 
+    // one timer per outcome, registered up front so validation only records
+    private final Map<ValidationStatus, Timer> validationTimers = new EnumMap<>(ValidationStatus.class);
+
+    public JwtService(MeterRegistry meterRegistry) {
+        for (ValidationStatus status : ValidationStatus.values()) {
+            validationTimers.put(status, Timer.builder("jwt.validation")
+                    .description("Time spent validating JWTs")
+                    .tag("status", status.name())
+                    .register(meterRegistry));
+        }
+    }
+
     public ResponseCookie createRefreshTokenCookie(String refreshToken) {
         ResponseCookie refreshCookie = ResponseCookie.from("refreshToken", refreshToken)
                 .httpOnly(true)
@@ -72,6 +90,20 @@ public class JwtService {
      *         username=null, and specific error status
      */
     public JwtValidationResult validateToken(String token) {
+        JwtValidationEvent event = new JwtValidationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        JwtValidationResult result = checkToken(token);
+        validationTimers.get(result.getStatus()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        event.end();
+        if (event.shouldCommit()) {
+            event.setStatus(result.getStatus().name());
+            event.commit();
+        }
+        return result;
+    }
+
+    private JwtValidationResult checkToken(String token) {
         try {
             Claims claims = extractAllClaims(token);
             String username = claims.getSubject();
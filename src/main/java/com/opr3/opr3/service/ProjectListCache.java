@@ -0,0 +1,97 @@
+package com.opr3.opr3.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.opr3.opr3.config.ReadYourWritesRoutingDataSource;
+import com.opr3.opr3.dto.ProjectResponse;
+import com.opr3.opr3.event.DataChangeEvent;
+
+/**
+ * Read-through cache of the assembled project list of each user, as returned
+ * by {@link ProjectService#getAllUserProjects()}.
+ *
+ * <p>
+ * The cache is bounded by total weight (one unit per project and per task) and
+ * evicts with Caffeine's frequency and recency aware policy. Concurrent misses
+ * for the same user run the loader only once; the other callers wait for its
+ * result. Entries are dropped after every committed project or task mutation of
+ * the user, and expire after {@code app.project-list-cache.expire-after-write-ms}
+ * as a safety net for writes that bypass the services. Lists read from the
+ * replica are not stored, see {@link ReadYourWritesRoutingDataSource}.
+ * </p>
+ */
+@Component
+public class ProjectListCache {
+
+    private final Cache<String, List<ProjectResponse>> cache;
+    private final ReadYourWritesRoutingDataSource replicaRouting;
+
+    public ProjectListCache(@Value("${app.project-list-cache.max-weight:200000}") long maxWeight,
+            @Value("${app.project-list-cache.expire-after-write-ms:600000}") long expireAfterWriteMs,
+            ObjectProvider<ReadYourWritesRoutingDataSource> replicaRouting) {
+        this.replicaRouting = replicaRouting.getIfAvailable();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String userUid, List<ProjectResponse> projects) -> weigh(projects))
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .build();
+    }
+
+    /**
+     * Returns the cached project list of the user, loading it with the given
+     * function on a miss. The returned list is shared and must not be modified.
+     */
+    public List<ProjectResponse> get(String userUid, Function<String, List<ProjectResponse>> loader) {
+        if (replicaRouting == null) {
+            return cache.get(userUid, uid -> List.copyOf(loader.apply(uid)));
+        }
+
+        // a list read from a lagging replica is served but not stored; the pin
+        // makes the loader's transaction go where this decision expects
+        Object previousPin = replicaRouting.pin();
+        try {
+            if (!replicaRouting.routesToReplica()) {
+                return cache.get(userUid, uid -> List.copyOf(loader.apply(uid)));
+            }
+            List<ProjectResponse> cached = cache.getIfPresent(userUid);
+            return cached != null ? cached : List.copyOf(loader.apply(userUid));
+        } finally {
+            replicaRouting.unpin(previousPin);
+        }
+    }
+
+    /**
+     * Drops the project list of the user. Waits for a load in progress for the
+     * same user, so a list read before the change cannot survive it.
+     */
+    public void invalidate(String userUid) {
+        cache.invalidate(userUid);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDataChange(DataChangeEvent event) {
+        invalidate(event.userUid());
+    }
+
+    private static int weigh(List<ProjectResponse> projects) {
+        int weight = 1;
+        for (ProjectResponse project : projects) {
+            weight += 1 + (project.getTasks() != null ? project.getTasks().size() : 0);
+        }
+        return weight;
+    }
+}
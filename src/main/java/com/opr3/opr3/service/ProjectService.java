@@ -1,40 +1,67 @@
 package com.opr3.opr3.service;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.opr3.opr3.dto.ProjectCreateRequest;
 import com.opr3.opr3.dto.ProjectResponse;
 import com.opr3.opr3.dto.ProjectUpdateRequest;
+import com.opr3.opr3.dto.ProjectVersionView;
 import com.opr3.opr3.dto.TaskResponse;
 import com.opr3.opr3.entity.Project;
+import com.opr3.opr3.entity.Task;
+import com.opr3.opr3.entity.Tombstone;
+import com.opr3.opr3.entity.Tombstone.EntityType;
 import com.opr3.opr3.entity.User;
+import com.opr3.opr3.exception.PreconditionFailedException;
+import com.opr3.opr3.jfr.DtoMappingEvent;
 import com.opr3.opr3.repository.ProjectRepository;
+import com.opr3.opr3.repository.TaskRepository;
+import com.opr3.opr3.repository.TombstoneRepository;
+import com.opr3.opr3.service.ProjectSnapshotService.Snapshot;
+import com.opr3.opr3.util.ETagUtil;
+import com.opr3.opr3.util.EntityCacheUtil;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class ProjectService {
+
+    private static final int MAX_TITLE_LENGTH = 255;
     
     private final ProjectRepository projectRepository;
     private final AuthService authService;
+    private final TitleSuggestionService titleSuggestionService;
+    private final UserService userService;
+    private final ETagUtil etagUtil;
+    private final ProjectListCache projectListCache;
+    private final ProjectSnapshotService projectSnapshotService;
+    private final TaskRepository taskRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final EntityCacheUtil entityCacheUtil;
+    private final PlatformTransactionManager transactionManager;
 
     /**
      * Creates a new project for the authenticated user.
      * 
      * @param request the project creation request containing title, description, and due date
      * @return ProjectResponse containing the created project details
-     * @throws IllegalArgumentException if the title is blank or null
+     * @throws IllegalArgumentException if the title is blank, null or too long
      * @throws AuthenticationException if user is not authenticated
      */
+    @Transactional
     public ProjectResponse createProject(ProjectCreateRequest request) throws IllegalArgumentException, AuthenticationException {
-        if (request.getTitle() == null || request.getTitle().isBlank()) {
-            throw new IllegalArgumentException("Project title cannot be blank");
-        }
+        validateCreateRequest(request);
 
         User user = authService.getAuthenticatedUser();
 
@@ -44,12 +71,31 @@ public class ProjectService {
                 .description(request.getDescription())
                 .dueDate(request.getDueDate())
                 .isArchived(false)
+                .syncSeq(userService.markDataChanged(user.getUid()))
                 .build();
 
         Project savedProject = projectRepository.save(project);
+        titleSuggestionService.onProjectSaved(user.getUid(), savedProject);
         return convertToResponse(savedProject);
     }
 
+    /**
+     * Checks the fields of a project creation request. Shared with the bulk
+     * import so both reject the same rows.
+     * 
+     * @param request the project creation request
+     * @throws IllegalArgumentException if the title is blank, null or too long
+     */
+    public void validateCreateRequest(ProjectCreateRequest request) throws IllegalArgumentException {
+        if (request.getTitle() == null || request.getTitle().isBlank()) {
+            throw new IllegalArgumentException("Project title cannot be blank");
+        }
+
+        if (request.getTitle().length() > MAX_TITLE_LENGTH) {
+            throw new IllegalArgumentException("Project title cannot be longer than " + MAX_TITLE_LENGTH + " characters");
+        }
+    }
+
     /**
      * Retrieves a project by its ID, ensuring it belongs to the authenticated user.
      * 
@@ -58,7 +104,13 @@ public class ProjectService {
      * @throws IllegalArgumentException if project not found or doesn't belong to user
      * @throws AuthenticationException if user is not authenticated
      */
+    @Transactional(readOnly = true)
     public ProjectResponse getProjectById(Integer projectId) throws IllegalArgumentException, AuthenticationException {
+        Optional<Snapshot> snapshot = findArchivedSnapshot(projectId);
+        if (snapshot.isPresent()) {
+            return projectSnapshotService.read(snapshot.get());
+        }
+
         User user = authService.getAuthenticatedUser();
         
         Project project = projectRepository.findById(projectId)
@@ -72,19 +124,52 @@ public class ProjectService {
     }
 
     /**
-     * Retrieves all projects belonging to the authenticated user.
+     * Returns the snapshot an archived project is served from, without touching
+     * the project or task tables once the snapshot is cached. Runs without a
+     * transaction of its own, so a cache hit needs no database connection.
+     * 
+     * @param projectId the ID of the project
+     * @return the snapshot, or empty if the project is not archived or was
+     *         archived before snapshots existed
+     * @throws IllegalArgumentException if the project belongs to another user
+     * @throws AuthenticationException if user is not authenticated
+     */
+    public Optional<Snapshot> findArchivedSnapshot(Integer projectId)
+            throws IllegalArgumentException, AuthenticationException {
+        User user = authService.getAuthenticatedUser();
+
+        Optional<Snapshot> snapshot = projectSnapshotService.find(projectId);
+        if (snapshot.isPresent() && !snapshot.get().ownerUid().equals(user.getUid())) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        return snapshot;
+    }
+
+    /**
+     * Retrieves all projects belonging to the authenticated user, ordered by id.
+     * Archived projects come from their snapshots. The assembled list is served
+     * from {@link ProjectListCache} until the user's projects or tasks change;
+     * only building it takes a read-only transaction.
      * 
-     * @return List of ProjectResponse containing all user's projects
+     * @return unmodifiable List of ProjectResponse containing all user's projects
      * @throws AuthenticationException if user is not authenticated
      */
     public List<ProjectResponse> getAllUserProjects() throws AuthenticationException {
         User user = authService.getAuthenticatedUser();
-        
-        List<Project> projects = projectRepository.findByUserUid(user.getUid());
 
-        return projects.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        return projectListCache.get(user.getUid(), uid -> transaction.execute(status -> {
+            List<ProjectResponse> projects = projectRepository.findWithoutSnapshotByUserUid(uid).stream()
+                    .map(this::convertToResponse)
+                    .collect(Collectors.toList());
+            for (Snapshot snapshot : projectSnapshotService.findByOwner(uid)) {
+                projects.add(projectSnapshotService.read(snapshot));
+            }
+            projects.sort(Comparator.comparing(ProjectResponse::getId));
+            return projects;
+        }));
     }
 
     /**
@@ -92,12 +177,15 @@ public class ProjectService {
      * 
      * @param projectId the ID of the project to update
      * @param request the project update request containing updated fields
-     * @return ProjectResponse containing the updated project details
+     * @param ifMatch the If-Match header of the request, or null for an unconditional update
+     * @return ProjectResponse containing the updated project details and its ETag
      * @throws IllegalArgumentException if project not found, doesn't belong to user, is archived, or title is blank
+     * @throws PreconditionFailedException if the project was modified since the client read it
      * @throws AuthenticationException if user is not authenticated
      */
-    public ProjectResponse updateProject(Integer projectId, ProjectUpdateRequest request) 
-            throws IllegalArgumentException, AuthenticationException {
+    @Transactional
+    public ProjectResponse updateProject(Integer projectId, ProjectUpdateRequest request, String ifMatch) 
+            throws IllegalArgumentException, PreconditionFailedException, AuthenticationException {
         User user = authService.getAuthenticatedUser();
         
         Project project = projectRepository.findById(projectId)
@@ -115,23 +203,38 @@ public class ProjectService {
             throw new IllegalArgumentException("Project title cannot be blank");
         }
 
+        if (ifMatch != null) {
+            etagUtil.checkIfMatch(ifMatch, projectETag(projectId, user.getUid()));
+        }
+
         project.setTitle(request.getTitle());
         project.setDescription(request.getDescription());
         project.setDueDate(request.getDueDate());
+        project.setSyncSeq(userService.markDataChanged(user.getUid()));
 
-        Project updatedProject = projectRepository.save(project);
-        return convertToResponse(updatedProject);
+        // flushed, so the ETag is computed from the version this write produced
+        Project updatedProject = projectRepository.saveAndFlush(project);
+        // the cached state would carry the counters as loaded, see Project
+        entityCacheUtil.evictAfterCommit(Project.class, projectId);
+        titleSuggestionService.onProjectSaved(user.getUid(), updatedProject);
+        ProjectResponse response = convertToResponse(updatedProject);
+        response.setEtag(projectETag(projectId, user.getUid()));
+        return response;
     }
 
     /**
      * Archives a project for the authenticated user, making it read-only.
      * 
      * @param projectId the ID of the project to archive
-     * @return ProjectResponse containing the archived project details
+     * @param ifMatch the If-Match header of the request, or null for an unconditional update
+     * @return ProjectResponse containing the archived project details and its ETag
      * @throws IllegalArgumentException if project not found, doesn't belong to user, or is already archived
+     * @throws PreconditionFailedException if the project was modified since the client read it
      * @throws AuthenticationException if user is not authenticated
      */
-    public ProjectResponse archiveProject(Integer projectId) throws IllegalArgumentException, AuthenticationException {
+    @Transactional
+    public ProjectResponse archiveProject(Integer projectId, String ifMatch)
+            throws IllegalArgumentException, PreconditionFailedException, AuthenticationException {
         User user = authService.getAuthenticatedUser();
         
         Project project = projectRepository.findById(projectId)
@@ -145,12 +248,122 @@ public class ProjectService {
             throw new IllegalArgumentException("Project is already archived");
         }
 
+        if (ifMatch != null) {
+            etagUtil.checkIfMatch(ifMatch, projectETag(projectId, user.getUid()));
+        }
+
         project.setIsArchived(true);
-        Project archivedProject = projectRepository.save(project);
-        return convertToResponse(archivedProject);
+        project.setSyncSeq(userService.markDataChanged(user.getUid()));
+        // flushed first, so the snapshot carries the final version and timestamps
+        Project archivedProject = projectRepository.saveAndFlush(project);
+        entityCacheUtil.evictAfterCommit(Project.class, projectId);
+
+        ProjectResponse response = convertToResponse(archivedProject);
+        // reads of an archived project are served from the snapshot
+        response.setEtag(projectSnapshotService.createSnapshot(user.getUid(), response).etag());
+        return response;
+    }
+
+    /**
+     * Deletes a project and its tasks for the authenticated user. Project and
+     * tasks are marked as deleted with one statement each, without loading the
+     * tasks, and removed later by {@link com.opr3.opr3.job.SoftDeletePurgeJob}.
+     * Archived projects can be deleted as well.
+     * 
+     * @param projectId the ID of the project to delete
+     * @param ifMatch the If-Match header of the request, or null for an unconditional delete
+     * @throws IllegalArgumentException if project not found or doesn't belong to user
+     * @throws PreconditionFailedException if the project was modified since the client read it
+     * @throws AuthenticationException if user is not authenticated
+     */
+    @Transactional
+    public void deleteProject(Integer projectId, String ifMatch)
+            throws IllegalArgumentException, PreconditionFailedException, AuthenticationException {
+        User user = authService.getAuthenticatedUser();
+
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Project not found"));
+
+        if (!project.getUser().getUid().equals(user.getUid())) {
+            throw new IllegalArgumentException("Project not found");
+        }
+
+        // an archived project cannot have changed since the client read it
+        if (ifMatch != null && !project.getIsArchived()) {
+            etagUtil.checkIfMatch(ifMatch, projectETag(projectId, user.getUid()));
+        }
+
+        long syncSeq = userService.markDataChanged(user.getUid());
+        LocalDateTime now = LocalDateTime.now();
+        // a concurrent delete got here first
+        if (projectRepository.markDeleted(projectId, now, syncSeq) == 0) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        taskRepository.markDeletedByProjectId(projectId, now, syncSeq);
+        projectSnapshotService.deleteSnapshot(projectId);
+
+        entityCacheUtil.evictAfterCommit(Project.class, projectId);
+        entityCacheUtil.evictCollectionAfterCommit(Project.class, "tasks", projectId);
+        // the task ids are not loaded, so the whole Task region goes
+        entityCacheUtil.evictAllAfterCommit(Task.class);
+
+        // one tombstone covers the project and its tasks
+        tombstoneRepository.save(Tombstone.builder()
+                .ownerUid(user.getUid())
+                .entityType(EntityType.PROJECT)
+                .entityId(projectId)
+                .syncSeq(syncSeq)
+                .build());
+        titleSuggestionService.evictUser(user.getUid());
+    }
+
+    /**
+     * Computes the ETag of the authenticated user's project list from the user's
+     * change marker, without loading any project.
+     * 
+     * @return quoted strong ETag of the project list
+     * @throws AuthenticationException if user is not authenticated
+     */
+    @Transactional(readOnly = true)
+    public String getAllUserProjectsETag() throws AuthenticationException {
+        User user = authService.getAuthenticatedUser();
+
+        return etagUtil.strongETag("projects", user.getUid(), userService.getChangeMarker(user.getUid()));
+    }
+
+    /**
+     * Computes the ETag of a single project representation, including its tasks,
+     * from one aggregate query over the project and its task index.
+     * 
+     * @param projectId the ID of the project
+     * @return quoted strong ETag of the project
+     * @throws IllegalArgumentException if project not found or doesn't belong to
+     *                                  user
+     * @throws AuthenticationException  if user is not authenticated
+     */
+    @Transactional(readOnly = true)
+    public String getProjectETag(Integer projectId) throws IllegalArgumentException, AuthenticationException {
+        Optional<Snapshot> snapshot = findArchivedSnapshot(projectId);
+        if (snapshot.isPresent()) {
+            return snapshot.get().etag();
+        }
+
+        User user = authService.getAuthenticatedUser();
+
+        return projectETag(projectId, user.getUid());
+    }
+
+    private String projectETag(Integer projectId, String userUid) {
+        ProjectVersionView version = projectRepository.findVersionByIdAndUserUid(projectId, userUid)
+                .orElseThrow(() -> new IllegalArgumentException("Project not found"));
+
+        return etagUtil.strongETag("project", projectId, version.getVersion(), version.getUpdatedAt(),
+                version.getTaskCount(), version.getLastTaskUpdate());
     }
 
     private ProjectResponse convertToResponse(Project project) {
+        DtoMappingEvent event = new DtoMappingEvent();
+        event.begin();
         List<TaskResponse> taskResponses = project.getTasks().stream()
                 .map(task -> TaskResponse.builder()
                         .id(task.getId())
@@ -164,15 +377,26 @@ public class ProjectService {
                         .build())
                 .collect(Collectors.toList());
 
-        return ProjectResponse.builder()
+        ProjectResponse response = ProjectResponse.builder()
                 .id(project.getId())
                 .title(project.getTitle())
                 .description(project.getDescription())
                 .dueDate(project.getDueDate())
                 .isArchived(project.getIsArchived())
+                .todoCount(project.getTodoCount())
+                .inProgressCount(project.getInProgressCount())
+                .doneCount(project.getDoneCount())
                 .createdAt(project.getCreatedAt())
                 .updatedAt(project.getUpdatedAt())
                 .tasks(taskResponses)
                 .build();
+        event.end();
+        if (event.shouldCommit()) {
+            event.setType("Project");
+            event.setId(project.getId());
+            event.setTasks(taskResponses.size());
+            event.commit();
+        }
+        return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,206 @@
+package com.opr3.opr3.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.opr3.opr3.dto.ProjectResponse;
+import com.opr3.opr3.entity.ProjectSnapshot;
+import com.opr3.opr3.repository.ProjectSnapshotRepository;
+import com.opr3.opr3.util.ETagUtil;
+
+/**
+ * Stores and serves the frozen representation of archived projects.
+ *
+ * <p>
+ * When a project is archived, its {@link ProjectResponse} is serialized once to
+ * JSON, gzipped and stored in {@code project_snapshot}. Snapshots never change,
+ * so they are kept in an in-memory cache bounded by
+ * {@code app.project-snapshot-cache.max-weight-kb} (compressed size) and can be
+ * sent to clients as they are. Lookups of projects that have no snapshot are
+ * cached as well, and dropped when the project is archived.
+ * </p>
+ */
+@Service
+public class ProjectSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectSnapshotService.class);
+
+    private final ProjectSnapshotRepository projectSnapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final ETagUtil etagUtil;
+    private final Cache<Integer, Optional<Snapshot>> cache;
+
+    /**
+     * A loaded snapshot. {@code gzippedJson} must not be modified.
+     */
+    public record Snapshot(Integer projectId, String ownerUid, String etag, byte[] gzippedJson, int rawSize) {
+
+        public InputStream openJson() throws IOException {
+            return new GZIPInputStream(new ByteArrayInputStream(gzippedJson));
+        }
+
+        /**
+         * ETag of the gzip-encoded representation, which must differ from the
+         * one of the identity encoding.
+         */
+        public String gzipETag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+    }
+
+    public ProjectSnapshotService(ProjectSnapshotRepository projectSnapshotRepository, ObjectMapper objectMapper,
+            ETagUtil etagUtil, @Value("${app.project-snapshot-cache.max-weight-kb:32768}") long maxWeightKb) {
+        this.projectSnapshotRepository = projectSnapshotRepository;
+        this.objectMapper = objectMapper;
+        this.etagUtil = etagUtil;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightKb)
+                .weigher((Integer projectId, Optional<Snapshot> snapshot) -> snapshot
+                        .map(s -> s.gzippedJson().length / 1024 + 1)
+                        .orElse(1))
+                .build();
+    }
+
+    /**
+     * Freezes the given project representation. Must run in the transaction
+     * that archives the project; the snapshot becomes visible when it commits.
+     *
+     * @throws UncheckedIOException if serialization fails
+     */
+    public Snapshot createSnapshot(String ownerUid, ProjectResponse project) throws UncheckedIOException {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(project);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ProjectSnapshot saved = projectSnapshotRepository.save(ProjectSnapshot.builder()
+                .projectId(project.getId())
+                .ownerUid(ownerUid)
+                .rawSize(json.length)
+                .data(gzip(json))
+                .build());
+        log.debug("snapshot of project {}: {} bytes of JSON stored as {} bytes", project.getId(), json.length,
+                saved.getData().length);
+
+        Snapshot snapshot = toSnapshot(saved);
+        replaceAfterCommit(project.getId(), Optional.of(snapshot));
+        return snapshot;
+    }
+
+    /**
+     * Removes the snapshot of a deleted project. Must run in the transaction
+     * that deletes the project.
+     */
+    public void deleteSnapshot(Integer projectId) {
+        projectSnapshotRepository.deleteByProjectId(projectId);
+        replaceAfterCommit(projectId, Optional.empty());
+    }
+
+    /**
+     * Returns the snapshot of the project, if it is archived and has one. Does
+     * not check ownership.
+     */
+    public Optional<Snapshot> find(Integer projectId) {
+        return cache.get(projectId, id -> projectSnapshotRepository.findById(id).map(this::toSnapshot));
+    }
+
+    /**
+     * Returns the snapshots of all archived projects of the user, adding them to
+     * the cache.
+     */
+    public List<Snapshot> findByOwner(String ownerUid) {
+        List<Snapshot> snapshots = projectSnapshotRepository.findByOwnerUid(ownerUid).stream()
+                .map(this::toSnapshot)
+                .toList();
+        for (Snapshot snapshot : snapshots) {
+            cache.put(snapshot.projectId(), Optional.of(snapshot));
+        }
+        return snapshots;
+    }
+
+    /**
+     * Returns the uncompressed JSON of a snapshot.
+     *
+     * @throws UncheckedIOException if the snapshot cannot be read
+     */
+    public byte[] readJson(Snapshot snapshot) throws UncheckedIOException {
+        try (InputStream json = snapshot.openJson()) {
+            return json.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decodes a snapshot back into the representation it was taken from.
+     *
+     * @throws UncheckedIOException if the snapshot cannot be read
+     */
+    public ProjectResponse read(Snapshot snapshot) throws UncheckedIOException {
+        try (InputStream json = snapshot.openJson()) {
+            return objectMapper.readValue(json, ProjectResponse.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Snapshot toSnapshot(ProjectSnapshot snapshot) {
+        return new Snapshot(snapshot.getProjectId(), snapshot.getOwnerUid(),
+                etagUtil.strongETag("snapshot", snapshot.getProjectId(), snapshot.getCreatedAt()),
+                snapshot.getData(), snapshot.getRawSize());
+    }
+
+    // a lookup that ran before the commit may have cached the old state;
+    // invalidate and put wait for such a load to finish. The committed state
+    // is cached right away, so the first read after archiving needs no query
+    private void replaceAfterCommit(Integer projectId, Optional<Snapshot> committed) {
+        cache.invalidate(projectId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        cache.put(projectId, committed);
+                    } else {
+                        cache.invalidate(projectId);
+                    }
+                }
+            });
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4 + 64);
+        // written once, read many times: spend the extra CPU on a smaller snapshot
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,262 @@
+package com.opr3.opr3.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.opr3.opr3.dto.RecordingResponse;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.exception.ForbiddenException;
+import com.opr3.opr3.exception.ResourceNotFoundException;
+import com.opr3.opr3.jfr.DtoMappingEvent;
+import com.opr3.opr3.jfr.RepositoryCallEvent;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Starts and stops Java Flight Recorder recordings on demand and writes them
+ * to {@code app.jfr.directory} on the server's disk.
+ *
+ * <p>
+ * Recordings use the JDK's {@code default} (about 1% overhead) or
+ * {@code profile} settings and include the events of the
+ * {@code com.opr3.opr3.jfr} package. Repository calls and DTO mappings are
+ * recorded from 1 ms on, with {@code profile} settings all of them. Each
+ * recording is bounded: it stops by itself after its duration, at most
+ * {@code app.jfr.max-duration-seconds}, and keeps at most
+ * {@code app.jfr.max-size-mb} of data. Only one recording runs at a
+ * time. Only users listed in {@code app.admin.emails} may use this service;
+ * the list is empty by default.
+ * </p>
+ */
+@Service
+public class RecordingService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordingService.class);
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+    private static final Set<RecordingState> FINISHED = EnumSet.of(RecordingState.STOPPED, RecordingState.CLOSED);
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final AuthService authService;
+    private final Path directory;
+    private final long maxDurationSeconds;
+    private final long maxSizeMb;
+    private final Set<String> adminEmails;
+
+    // started recordings by id until stopped through this service or, once
+    // they stopped after their duration, listed or followed by another one
+    private final Map<Long, Recording> recordings = new TreeMap<>();
+    private long dumps;
+
+    public RecordingService(AuthService authService,
+            @Value("${app.jfr.directory:recordings}") Path directory,
+            @Value("${app.jfr.max-duration-seconds:600}") long maxDurationSeconds,
+            @Value("${app.jfr.max-size-mb:100}") long maxSizeMb,
+            @Value("${app.admin.emails:}") Set<String> adminEmails) {
+        this.authService = authService;
+        this.directory = directory;
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.maxSizeMb = maxSizeMb;
+        this.adminEmails = adminEmails;
+    }
+
+    /**
+     * Starts a recording.
+     * 
+     * @param durationSeconds how long to record, at most
+     *                        {@code app.jfr.max-duration-seconds}
+     * @param maxSizeMb       how much data to keep, at most and by default
+     *                        {@code app.jfr.max-size-mb}; older data is
+     *                        dropped first
+     * @param settings        {@code default} or {@code profile}
+     * @return the started recording
+     * @throws ForbiddenException       if the user is not an administrator
+     * @throws IllegalArgumentException if a parameter is out of range
+     * @throws IllegalStateException    if a recording is already running
+     */
+    public synchronized RecordingResponse start(long durationSeconds, Long maxSizeMb, String settings) {
+        User admin = requireAdmin();
+        if (maxSizeMb == null) {
+            maxSizeMb = this.maxSizeMb;
+        }
+        if (durationSeconds < 1 || durationSeconds > maxDurationSeconds) {
+            throw new IllegalArgumentException(
+                    "durationSeconds must be between 1 and " + maxDurationSeconds);
+        }
+        if (maxSizeMb < 1 || maxSizeMb > this.maxSizeMb) {
+            throw new IllegalArgumentException("maxSizeMb must be between 1 and " + this.maxSizeMb);
+        }
+        if (!SETTINGS.contains(settings)) {
+            throw new IllegalArgumentException("settings must be one of " + SETTINGS);
+        }
+        releaseFinished();
+        for (Recording recording : recordings.values()) {
+            if (recording.getState() == RecordingState.RUNNING) {
+                throw new IllegalStateException("Recording " + recording.getId() + " is already running");
+            }
+        }
+
+        String name;
+        Recording recording;
+        try {
+            Files.createDirectories(directory);
+            recording = new Recording(Configuration.getConfiguration(settings));
+            // the id keeps names of recordings started in the same second apart
+            name = "opr3-" + LocalDateTime.now().format(FILE_TIME) + "-" + recording.getId();
+            recording.setName(name);
+            if (settings.equals("profile")) {
+                recording.enable(RepositoryCallEvent.class).withThreshold(Duration.ZERO);
+                recording.enable(DtoMappingEvent.class).withThreshold(Duration.ZERO);
+            }
+            recording.setToDisk(true);
+            recording.setDuration(Duration.ofSeconds(durationSeconds));
+            recording.setMaxSize(maxSizeMb * 1024 * 1024);
+            recording.setDestination(directory.resolve(name + ".jfr"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid JFR settings " + settings, e);
+        }
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        log.info("JFR recording {} started by {} for {} s with {} settings", name, admin.getEmail(),
+                durationSeconds, settings);
+        return toResponse(recording, settings, recording.getDestination());
+    }
+
+    /**
+     * Lists the recordings started through this service that have not been
+     * stopped through it. Recordings that stopped after their duration are
+     * listed once more, with the file they were written to, and then released.
+     */
+    public synchronized List<RecordingResponse> list() {
+        requireAdmin();
+        List<RecordingResponse> responses = recordings.values().stream()
+                .map(recording -> toResponse(recording, null, recording.getDestination()))
+                .toList();
+        // only the ones reported as finished, others may have stopped meanwhile
+        responses.stream()
+                .filter(response -> FINISHED.contains(RecordingState.valueOf(response.getState())))
+                .forEach(response -> release(recordings.remove(response.getId())));
+        return responses;
+    }
+
+    /**
+     * Stops a recording, writes it to its file and releases its resources. A
+     * recording that already stopped after its duration has been written
+     * already and is only released.
+     * 
+     * @return the recording with the file it was written to
+     * @throws ResourceNotFoundException if there is no such recording
+     */
+    public synchronized RecordingResponse stop(long id) {
+        User admin = requireAdmin();
+        Recording recording = find(id);
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        RecordingResponse response = toResponse(recording, null, recording.getDestination());
+        recording.close();
+        recordings.remove(id);
+        log.info("JFR recording {} stopped by {} and written to {}", recording.getName(), admin.getEmail(),
+                response.getFile());
+        return response;
+    }
+
+    /**
+     * Writes what a recording has collected so far to a new file, leaving it
+     * running.
+     * 
+     * @return the recording with the file written
+     * @throws ResourceNotFoundException if there is no such recording
+     * @throws IllegalStateException     if the recording is not running
+     */
+    public synchronized RecordingResponse dump(long id) {
+        User admin = requireAdmin();
+        Recording recording = find(id);
+        if (recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("Recording " + id + " is not running");
+        }
+
+        Path file = directory.resolve(recording.getName() + "-dump-" + ++dumps + ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("JFR recording {} dumped by {} to {}", recording.getName(), admin.getEmail(), file);
+        return toResponse(recording, null, file);
+    }
+
+    private void releaseFinished() {
+        recordings.values().removeIf(recording -> {
+            if (!FINISHED.contains(recording.getState())) {
+                return false;
+            }
+            release(recording);
+            return true;
+        });
+    }
+
+    // JFR closes a recording with a destination once it has been written;
+    // closing keeps the file and frees the buffers and repository chunks
+    private static void release(Recording recording) {
+        recording.close();
+        log.info("JFR recording {} finished and was written to {}", recording.getName(),
+                recording.getDestination());
+    }
+
+    private Recording find(long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            throw new ResourceNotFoundException("Recording not found with id: " + id);
+        }
+        return recording;
+    }
+
+    private User requireAdmin() {
+        User user = authService.getAuthenticatedUser();
+        if (!adminEmails.contains(user.getEmail())) {
+            throw new ForbiddenException("Flight recordings are restricted to administrators");
+        }
+        return user;
+    }
+
+    private static RecordingResponse toResponse(Recording recording, String settings, Path file) {
+        return RecordingResponse.builder()
+                .id(recording.getId())
+                .name(recording.getName())
+                .state(recording.getState().name())
+                .settings(settings)
+                .startTime(recording.getStartTime())
+                .durationSeconds(recording.getDuration() != null ? recording.getDuration().toSeconds() : null)
+                .maxSizeBytes(recording.getMaxSize())
+                .file(file != null ? file.toAbsolutePath().toString() : null)
+                .build();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+}
@@ -0,0 +1,128 @@
+package com.opr3.opr3.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.opr3.opr3.dto.ProjectResponse;
+import com.opr3.opr3.dto.SyncResponse;
+import com.opr3.opr3.dto.TaskResponse;
+import com.opr3.opr3.entity.Project;
+import com.opr3.opr3.entity.Tombstone.EntityType;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.ProjectRepository;
+import com.opr3.opr3.repository.TaskRepository;
+import com.opr3.opr3.repository.TombstoneRepository;
+import com.opr3.opr3.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Serves the changes to a user's projects and tasks since a client cursor.
+ *
+ * <p>
+ * Every write stamps the rows it touches with the owner's new change marker
+ * ({@code sync_seq}), and deletions leave a {@link com.opr3.opr3.entity.Tombstone}
+ * stamped the same way. The marker is taken and stamped just before commit
+ * under a lock on the user row (see {@link UserService#markDataChanged}), so a
+ * user's changes commit in marker order; the current marker is therefore a
+ * cursor below which nothing can appear later. A sync is one
+ * indexed range scan per table over {@code (owner, sync_seq)}, so its cost
+ * depends on the number of changes, not on the account size.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final UserRepository userRepository;
+    private final AuthService authService;
+
+    @Value("${app.sync.max-changes:2000}")
+    private int maxChanges;
+
+    /**
+     * Returns the projects and tasks of the authenticated user created, updated
+     * or deleted after the given cursor, and the cursor for the next call.
+     * Without a cursor everything is returned. When the cursor is older than
+     * the retained tombstones, unknown, or there are more than
+     * {@code app.sync.max-changes} changes, only a reset with a fresh cursor is
+     * returned.
+     * 
+     * @param since cursor of the previous sync, or null for a full sync
+     * @return SyncResponse with the changes and the next cursor
+     * @throws AuthenticationException if user is not authenticated
+     */
+    @Transactional(readOnly = true)
+    public SyncResponse getChanges(Long since) throws AuthenticationException {
+        User user = authService.getAuthenticatedUser();
+
+        // read first: everything up to this marker has been committed
+        User current = userRepository.findById(user.getUid())
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        long upToSeq = current.getChangeMarker();
+
+        if (since != null && (since < current.getSyncHorizon() || since > upToSeq)) {
+            return reset(upToSeq);
+        }
+
+        // rows never changed since the sync columns were added have sequence 0
+        long afterSeq = since != null ? since : -1;
+        Limit limit = Limit.of(maxChanges + 1);
+
+        List<Project> projects = projectRepository.findChanged(user.getUid(), afterSeq, upToSeq, limit);
+        List<TaskResponse> tasks = taskRepository.findChangedResponses(user.getUid(), afterSeq, upToSeq, limit);
+        List<Integer> deletedTaskIds = tombstoneRepository.findDeletedIds(user.getUid(), EntityType.TASK, afterSeq,
+                upToSeq, limit);
+        List<Integer> deletedProjectIds = tombstoneRepository.findDeletedIds(user.getUid(), EntityType.PROJECT,
+                afterSeq, upToSeq, limit);
+
+        if (projects.size() + tasks.size() + deletedTaskIds.size() + deletedProjectIds.size() > maxChanges) {
+            return reset(upToSeq);
+        }
+
+        return SyncResponse.builder()
+                .cursor(upToSeq)
+                .reset(false)
+                .projects(projects.stream()
+                        .map(this::convertToResponse)
+                        .toList())
+                .tasks(tasks)
+                .deletedTaskIds(deletedTaskIds)
+                .deletedProjectIds(deletedProjectIds)
+                .build();
+    }
+
+    private SyncResponse reset(long cursor) {
+        return SyncResponse.builder()
+                .cursor(cursor)
+                .reset(true)
+                .projects(List.of())
+                .tasks(List.of())
+                .deletedTaskIds(List.of())
+                .deletedProjectIds(List.of())
+                .build();
+    }
+
+    private ProjectResponse convertToResponse(Project project) {
+        return ProjectResponse.builder()
+                .id(project.getId())
+                .title(project.getTitle())
+                .description(project.getDescription())
+                .dueDate(project.getDueDate())
+                .isArchived(project.getIsArchived())
+                .todoCount(project.getTodoCount())
+                .inProgressCount(project.getInProgressCount())
+                .doneCount(project.getDoneCount())
+                .createdAt(project.getCreatedAt())
+                .updatedAt(project.getUpdatedAt())
+                .build();
+    }
+}
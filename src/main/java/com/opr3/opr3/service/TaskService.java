@@ -1,21 +1,52 @@
 package com.opr3.opr3.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.opr3.opr3.dto.CalendarDayCount;
 import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.dto.TaskFeedResponse;
 import com.opr3.opr3.dto.TaskResponse;
 import com.opr3.opr3.dto.TaskStatusUpdateRequest;
 import com.opr3.opr3.dto.TaskUpdateRequest;
 import com.opr3.opr3.entity.Project;
 import com.opr3.opr3.entity.Task;
 import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.entity.Tombstone;
+import com.opr3.opr3.entity.Tombstone.EntityType;
 import com.opr3.opr3.entity.User;
+import com.opr3.opr3.exception.PreconditionFailedException;
+import com.opr3.opr3.jfr.DtoMappingEvent;
+import com.opr3.opr3.repository.ArchivedTaskRepository;
 import com.opr3.opr3.repository.ProjectRepository;
 import com.opr3.opr3.repository.TaskRepository;
+import com.opr3.opr3.repository.TombstoneRepository;
+import com.opr3.opr3.util.ETagUtil;
+import com.opr3.opr3.util.EntityCacheUtil;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,9 +54,24 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class TaskService {
 
+    private static final Set<TaskStatus> OPEN_STATUSES = EnumSet.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS);
+    // earliest date MySQL can store, used as the lower bound of the overdue feed
+    private static final LocalDate EARLIEST_DUE_DATE = LocalDate.of(1000, 1, 1);
+    private static final int MAX_FEED_RANGE_DAYS = 366;
+    private static final int MAX_FEED_PAGE_SIZE = 200;
+    private static final int MAX_TITLE_LENGTH = 255;
+
     private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TombstoneRepository tombstoneRepository;
     private final ProjectRepository projectRepository;
     private final AuthService authService;
+    private final TitleSuggestionService titleSuggestionService;
+    private final UserService userService;
+    private final ETagUtil etagUtil;
+    private final EntityCacheUtil entityCacheUtil;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new task within a project for the authenticated user.
@@ -35,9 +81,11 @@ public class TaskService {
      *                  date, and status
      * @return TaskResponse containing the created task details
      * @throws IllegalArgumentException if project not found, doesn't belong to
-     *                                  user, is archived, or title is blank
+     *                                  user, is archived, or title is blank or
+     *                                  too long
      * @throws AuthenticationException  if user is not authenticated
      */
+    @Transactional
     public TaskResponse createTask(Integer projectId, TaskCreateRequest request)
             throws IllegalArgumentException, AuthenticationException {
         User user = authService.getAuthenticatedUser();
@@ -53,11 +101,10 @@ public class TaskService {
             throw new IllegalArgumentException("Cannot add task to archived project");
         }
 
-        if (request.getTitle() == null || request.getTitle().isBlank()) {
-            throw new IllegalArgumentException("Task title cannot be blank");
-        }
+        validateCreateRequest(request);
 
         TaskStatus status = request.getStatus() != null ? request.getStatus() : TaskStatus.TODO;
+        long syncSeq = userService.markDataChanged(user.getUid());
 
         Task task = Task.builder()
                 .project(project)
@@ -65,12 +112,33 @@ public class TaskService {
                 .description(request.getDescription())
                 .status(status)
                 .dueDate(request.getDueDate())
+                .syncSeq(syncSeq)
                 .build();
 
         Task savedTask = taskRepository.save(task);
+        adjustTaskCounters(project.getId(), null, savedTask.getStatus(), syncSeq);
+        titleSuggestionService.onTaskSaved(user.getUid(), savedTask);
         return convertToResponse(savedTask);
     }
 
+    /**
+     * Checks the fields of a task creation request, independent of the project
+     * the task is added to. Shared with the bulk import so both reject the same
+     * rows.
+     * 
+     * @param request the task creation request
+     * @throws IllegalArgumentException if title is blank or too long
+     */
+    public void validateCreateRequest(TaskCreateRequest request) throws IllegalArgumentException {
+        if (request.getTitle() == null || request.getTitle().isBlank()) {
+            throw new IllegalArgumentException("Task title cannot be blank");
+        }
+
+        if (request.getTitle().length() > MAX_TITLE_LENGTH) {
+            throw new IllegalArgumentException("Task title cannot be longer than " + MAX_TITLE_LENGTH + " characters");
+        }
+    }
+
     /**
      * Retrieves a task by its ID, ensuring the associated project belongs to the
      * authenticated user.
@@ -81,13 +149,35 @@ public class TaskService {
      *                                  user's project
      * @throws AuthenticationException  if user is not authenticated
      */
+    @Transactional(readOnly = true)
     public TaskResponse getTaskById(Integer taskId) throws IllegalArgumentException, AuthenticationException {
+        return getTaskById(taskId, false);
+    }
+
+    /**
+     * Retrieves a task by its ID, optionally falling back to the task archive.
+     * 
+     * @param taskId          the ID of the task to retrieve
+     * @param includeArchived whether to look the task up in the archive when it
+     *                        is not active
+     * @return TaskResponse containing the task details
+     * @throws IllegalArgumentException if task not found or doesn't belong to
+     *                                  user's project
+     * @throws AuthenticationException  if user is not authenticated
+     */
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskById(Integer taskId, boolean includeArchived)
+            throws IllegalArgumentException, AuthenticationException {
         User user = authService.getAuthenticatedUser();
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+        Task task = taskRepository.findById(taskId).orElse(null);
 
-        if (!task.getProject().getUser().getUid().equals(user.getUid())) {
+        if (task == null && includeArchived) {
+            return archivedTaskRepository.findResponseByIdAndUserUid(taskId, user.getUid())
+                    .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+        }
+
+        if (task == null || !task.getProject().getUser().getUid().equals(user.getUid())) {
             throw new IllegalArgumentException("Task not found");
         }
 
@@ -104,8 +194,26 @@ public class TaskService {
      *                                  user
      * @throws AuthenticationException  if user is not authenticated
      */
+    @Transactional(readOnly = true)
     public List<TaskResponse> getProjectTasks(Integer projectId)
             throws IllegalArgumentException, AuthenticationException {
+        return getProjectTasks(projectId, false);
+    }
+
+    /**
+     * Retrieves the tasks of a project, optionally followed by the project's
+     * archived tasks in id order. The archive is only read when asked for.
+     * 
+     * @param projectId       the ID of the project
+     * @param includeArchived whether to append archived tasks
+     * @return List of TaskResponse containing the project tasks
+     * @throws IllegalArgumentException if project not found or doesn't belong to
+     *                                  user
+     * @throws AuthenticationException  if user is not authenticated
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getProjectTasks(Integer projectId, boolean includeArchived)
+            throws IllegalArgumentException, AuthenticationException {
         User user = authService.getAuthenticatedUser();
 
         Project project = projectRepository.findById(projectId)
@@ -115,9 +223,58 @@ public class TaskService {
             throw new IllegalArgumentException("Project not found");
         }
 
-        return project.getTasks().stream()
+        List<TaskResponse> tasks = project.getTasks().stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
+
+        if (includeArchived) {
+            tasks.addAll(archivedTaskRepository.findResponsesByProjectId(projectId));
+        }
+        return tasks;
+    }
+
+    /**
+     * Writes all tasks of a project to the given stream as a JSON array, in the
+     * same format as {@link #getProjectTasks(Integer)}, without materializing
+     * them. Tasks are read through a database cursor and serialized one by one,
+     * so memory use does not depend on the project size. The read-only
+     * transaction, and with it a database connection, stays open until the
+     * last task is written.
+     * 
+     * @param projectId    the ID of the project
+     * @param outputStream the stream to write to, left open
+     * @throws IllegalArgumentException if project not found or doesn't belong to
+     *                                  user
+     * @throws AuthenticationException  if user is not authenticated
+     * @throws UncheckedIOException     if writing to the stream fails
+     */
+    public void writeProjectTasks(Integer projectId, OutputStream outputStream)
+            throws IllegalArgumentException, AuthenticationException, UncheckedIOException {
+        User user = authService.getAuthenticatedUser();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        // one flush per buffer instead of one per task
+        ObjectWriter writer = objectMapper.writerFor(TaskResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        transaction.executeWithoutResult(status -> {
+            projectRepository.findOwnerChangeMarker(projectId, user.getUid())
+                    .orElseThrow(() -> new IllegalArgumentException("Project not found"));
+
+            try (Stream<TaskResponse> tasks = taskRepository.streamResponsesByProjectId(projectId);
+                    JsonGenerator generator = objectMapper.createGenerator(outputStream)
+                            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                generator.writeStartArray();
+                for (TaskResponse task : (Iterable<TaskResponse>) tasks::iterator) {
+                    writer.writeValue(generator, task);
+                }
+                generator.writeEndArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 
     /**
@@ -125,18 +282,23 @@ public class TaskService {
      * 
      * @param taskId  the ID of the task to update
      * @param request the task update request containing updated fields
-     * @return TaskResponse containing the updated task details
-     * @throws IllegalArgumentException if task not found, doesn't belong to user's
-     *                                  project, project is archived, or title is
-     *                                  blank
-     * @throws AuthenticationException  if user is not authenticated
+     * @param ifMatch the If-Match header of the request, or null for an
+     *                unconditional update
+     * @return TaskResponse containing the updated task details and its ETag
+     * @throws IllegalArgumentException    if task not found, doesn't belong to
+     *                                     user's project, project is archived, or
+     *                                     title is blank
+     * @throws IllegalStateException       if the task was moved to the archive
+     * @throws PreconditionFailedException if the task was modified since the
+     *                                     client read it
+     * @throws AuthenticationException     if user is not authenticated
      */
-    public TaskResponse updateTask(Integer taskId, TaskUpdateRequest request)
-            throws IllegalArgumentException, AuthenticationException {
+    @Transactional
+    public TaskResponse updateTask(Integer taskId, TaskUpdateRequest request, String ifMatch)
+            throws IllegalArgumentException, PreconditionFailedException, AuthenticationException {
         User user = authService.getAuthenticatedUser();
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+        Task task = findWritableTask(taskId, user);
 
         if (!task.getProject().getUser().getUid().equals(user.getUid())) {
             throw new IllegalArgumentException("Task not found");
@@ -150,6 +312,10 @@ public class TaskService {
             throw new IllegalArgumentException("Task title cannot be blank");
         }
 
+        etagUtil.checkIfMatch(ifMatch, taskETag(taskId, task.getVersion()));
+
+        TaskStatus previousStatus = task.getStatus();
+
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
         task.setDueDate(request.getDueDate());
@@ -158,8 +324,16 @@ public class TaskService {
             task.setStatus(request.getStatus());
         }
 
-        Task updatedTask = taskRepository.save(task);
-        return convertToResponse(updatedTask);
+        long syncSeq = userService.markDataChanged(user.getUid());
+        task.setSyncSeq(syncSeq);
+
+        // flushed, so the ETag carries the version this write produced
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        adjustTaskCounters(task.getProject().getId(), previousStatus, updatedTask.getStatus(), syncSeq);
+        titleSuggestionService.onTaskSaved(user.getUid(), updatedTask);
+        TaskResponse response = convertToResponse(updatedTask);
+        response.setEtag(taskETag(taskId, updatedTask.getVersion()));
+        return response;
     }
 
     /**
@@ -167,18 +341,23 @@ public class TaskService {
      * 
      * @param taskId  the ID of the task to update
      * @param request the status update request containing the new status
-     * @return TaskResponse containing the updated task details
-     * @throws IllegalArgumentException if task not found, doesn't belong to user's
-     *                                  project, project is archived, or status is
-     *                                  null
-     * @throws AuthenticationException  if user is not authenticated
+     * @param ifMatch the If-Match header of the request, or null for an
+     *                unconditional update
+     * @return TaskResponse containing the updated task details and its ETag
+     * @throws IllegalArgumentException    if task not found, doesn't belong to
+     *                                     user's project, project is archived, or
+     *                                     status is null
+     * @throws IllegalStateException       if the task was moved to the archive
+     * @throws PreconditionFailedException if the task was modified since the
+     *                                     client read it
+     * @throws AuthenticationException     if user is not authenticated
      */
-    public TaskResponse updateTaskStatus(Integer taskId, TaskStatusUpdateRequest request)
-            throws IllegalArgumentException, AuthenticationException {
+    @Transactional
+    public TaskResponse updateTaskStatus(Integer taskId, TaskStatusUpdateRequest request, String ifMatch)
+            throws IllegalArgumentException, PreconditionFailedException, AuthenticationException {
         User user = authService.getAuthenticatedUser();
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+        Task task = findWritableTask(taskId, user);
 
         if (!task.getProject().getUser().getUid().equals(user.getUid())) {
             throw new IllegalArgumentException("Task not found");
@@ -192,24 +371,35 @@ public class TaskService {
             throw new IllegalArgumentException("Task status cannot be null");
         }
 
+        etagUtil.checkIfMatch(ifMatch, taskETag(taskId, task.getVersion()));
+
+        TaskStatus previousStatus = task.getStatus();
+
+        long syncSeq = userService.markDataChanged(user.getUid());
         task.setStatus(request.getStatus());
-        Task updatedTask = taskRepository.save(task);
-        return convertToResponse(updatedTask);
+        task.setSyncSeq(syncSeq);
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        adjustTaskCounters(task.getProject().getId(), previousStatus, updatedTask.getStatus(), syncSeq);
+        TaskResponse response = convertToResponse(updatedTask);
+        response.setEtag(taskETag(taskId, updatedTask.getVersion()));
+        return response;
     }
 
     /**
-     * Deletes a task from a project.
+     * Deletes a task from a project. The row is only marked as deleted and
+     * removed later by {@link com.opr3.opr3.job.SoftDeletePurgeJob}.
      * 
      * @param taskId the ID of the task to delete
      * @throws IllegalArgumentException if task not found, doesn't belong to user's
      *                                  project, or project is archived
+     * @throws IllegalStateException    if the task was moved to the archive
      * @throws AuthenticationException  if user is not authenticated
      */
+    @Transactional
     public void deleteTask(Integer taskId) throws IllegalArgumentException, AuthenticationException {
         User user = authService.getAuthenticatedUser();
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+        Task task = findWritableTask(taskId, user);
 
         if (!task.getProject().getUser().getUid().equals(user.getUid())) {
             throw new IllegalArgumentException("Task not found");
@@ -219,11 +409,267 @@ public class TaskService {
             throw new IllegalArgumentException("Cannot delete task from archived project");
         }
 
-        taskRepository.delete(task);
+        long syncSeq = userService.markDataChanged(user.getUid());
+        // a concurrent delete got here first
+        if (taskRepository.markDeleted(taskId, LocalDateTime.now(), syncSeq) == 0) {
+            throw new IllegalArgumentException("Task not found");
+        }
+        entityCacheUtil.evictAfterCommit(Task.class, taskId);
+        entityCacheUtil.evictCollectionAfterCommit(Project.class, "tasks", task.getProject().getId());
+
+        tombstoneRepository.save(Tombstone.builder()
+                .ownerUid(user.getUid())
+                .entityType(EntityType.TASK)
+                .entityId(taskId)
+                .syncSeq(syncSeq)
+                .build());
+        adjustTaskCounters(task.getProject().getId(), task.getStatus(), null, syncSeq);
+        titleSuggestionService.onTaskDeleted(user.getUid(), taskId);
+    }
+
+    /**
+     * Computes the ETag of a project's task list from the owner's change marker.
+     * Ownership is verified by the same single indexed lookup.
+     * 
+     * @param projectId the ID of the project
+     * @return quoted strong ETag of the project's task list
+     * @throws IllegalArgumentException if project not found or doesn't belong to
+     *                                  user
+     * @throws AuthenticationException  if user is not authenticated
+     */
+    @Transactional(readOnly = true)
+    public String getProjectTasksETag(Integer projectId) throws IllegalArgumentException, AuthenticationException {
+        return getProjectTasksETag(projectId, false);
+    }
+
+    /**
+     * Computes the ETag of a project's task list with or without archived tasks.
+     * Archiving changes the owner's marker, so both variants change with it.
+     * 
+     * @param projectId       the ID of the project
+     * @param includeArchived whether the list includes archived tasks
+     * @return quoted strong ETag of the project's task list
+     * @throws IllegalArgumentException if project not found or doesn't belong to
+     *                                  user
+     * @throws AuthenticationException  if user is not authenticated
+     */
+    @Transactional(readOnly = true)
+    public String getProjectTasksETag(Integer projectId, boolean includeArchived)
+            throws IllegalArgumentException, AuthenticationException {
+        User user = authService.getAuthenticatedUser();
+
+        Long changeMarker = projectRepository.findOwnerChangeMarker(projectId, user.getUid())
+                .orElseThrow(() -> new IllegalArgumentException("Project not found"));
+
+        return etagUtil.strongETag(includeArchived ? "tasks+archived" : "tasks", projectId, changeMarker);
+    }
+
+    /**
+     * Computes the ETag of a single task from its version without loading the
+     * task.
+     * 
+     * @param taskId the ID of the task
+     * @return quoted strong ETag of the task
+     * @throws IllegalArgumentException if task not found or doesn't belong to
+     *                                  user's project
+     * @throws AuthenticationException  if user is not authenticated
+     */
+    @Transactional(readOnly = true)
+    public String getTaskETag(Integer taskId) throws IllegalArgumentException, AuthenticationException {
+        return getTaskETag(taskId, false);
+    }
+
+    /**
+     * Computes the ETag of a single task, optionally falling back to the task
+     * archive. An archived task keeps the ETag it had when it was moved.
+     * 
+     * @param taskId          the ID of the task
+     * @param includeArchived whether to look the task up in the archive when it
+     *                        is not active
+     * @return quoted strong ETag of the task
+     * @throws IllegalArgumentException if task not found or doesn't belong to
+     *                                  user's project
+     * @throws AuthenticationException  if user is not authenticated
+     */
+    @Transactional(readOnly = true)
+    public String getTaskETag(Integer taskId, boolean includeArchived)
+            throws IllegalArgumentException, AuthenticationException {
+        User user = authService.getAuthenticatedUser();
+
+        Optional<Long> version = taskRepository.findVersionByIdAndUserUid(taskId, user.getUid());
+        if (version.isEmpty() && includeArchived) {
+            version = archivedTaskRepository.findVersionByIdAndUserUid(taskId, user.getUid());
+        }
+
+        return version
+                .map(v -> taskETag(taskId, v))
+                .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+    }
+
+    /**
+     * Retrieves the authenticated user's open (not DONE) tasks across all projects
+     * that are due within the given date range, ordered by due date.
+     * 
+     * @param from   first due date to include
+     * @param to     last due date to include
+     * @param cursor keyset cursor returned by the previous page, or null for the
+     *               first page
+     * @param limit  maximum number of tasks in the page
+     * @return TaskFeedResponse containing the page and the cursor of the next one
+     * @throws IllegalArgumentException if the range or cursor is invalid
+     * @throws AuthenticationException  if user is not authenticated
+     */
+    @Transactional(readOnly = true)
+    public TaskFeedResponse getDueTasks(LocalDate from, LocalDate to, String cursor, int limit)
+            throws IllegalArgumentException, AuthenticationException {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Range end cannot be before range start");
+        }
+
+        if (from.plusDays(MAX_FEED_RANGE_DAYS).isBefore(to)) {
+            throw new IllegalArgumentException("Range cannot be longer than " + MAX_FEED_RANGE_DAYS + " days");
+        }
+
+        return getFeedPage(from, to, cursor, limit);
+    }
+
+    /**
+     * Retrieves the authenticated user's open (not DONE) tasks across all projects
+     * whose due date has already passed, oldest first.
+     * 
+     * @param cursor keyset cursor returned by the previous page, or null for the
+     *               first page
+     * @param limit  maximum number of tasks in the page
+     * @return TaskFeedResponse containing the page and the cursor of the next one
+     * @throws IllegalArgumentException if the cursor is invalid
+     * @throws AuthenticationException  if user is not authenticated
+     */
+    @Transactional(readOnly = true)
+    public TaskFeedResponse getOverdueTasks(String cursor, int limit)
+            throws IllegalArgumentException, AuthenticationException {
+        return getFeedPage(EARLIEST_DUE_DATE, LocalDate.now().minusDays(1), cursor, limit);
+    }
+
+    /**
+     * Counts the authenticated user's open (not DONE) tasks per due date within a
+     * calendar month using a single grouped query.
+     * 
+     * @param month the calendar month
+     * @return List of CalendarDayCount for every day that has at least one task
+     *         due
+     * @throws AuthenticationException if user is not authenticated
+     */
+    @Transactional(readOnly = true)
+    public List<CalendarDayCount> getCalendarCounts(YearMonth month) throws AuthenticationException {
+        User user = authService.getAuthenticatedUser();
+
+        return taskRepository.countByDueDate(user.getUid(), OPEN_STATUSES,
+                java.sql.Date.valueOf(month.atDay(1)), java.sql.Date.valueOf(month.atEndOfMonth()));
+    }
+
+    // archived tasks are read-only; tell them apart from missing ones with 409
+    private Task findWritableTask(Integer taskId, User user) {
+        return taskRepository.findById(taskId).orElseThrow(() -> archivedTaskRepository
+                .findVersionByIdAndUserUid(taskId, user.getUid()).isPresent()
+                        ? new IllegalStateException("Task is archived and read-only")
+                        : new IllegalArgumentException("Task not found"));
+    }
+
+    private String taskETag(Integer taskId, Long version) {
+        return etagUtil.strongETag("task", taskId, version);
+    }
+
+    private TaskFeedResponse getFeedPage(LocalDate from, LocalDate to, String cursor, int limit) {
+        User user = authService.getAuthenticatedUser();
+
+        if (limit < 1 || limit > MAX_FEED_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_FEED_PAGE_SIZE);
+        }
+
+        // without a cursor start just before the first task due on the range start
+        LocalDate afterDueDate = from;
+        int afterId = 0;
+
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = cursor.split("_", 2);
+            try {
+                afterDueDate = LocalDate.parse(parts[0]);
+                afterId = Integer.parseInt(parts[1]);
+            } catch (DateTimeParseException | NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+
+            if (afterDueDate.isBefore(from)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        // a keyset page per status, merged; an IN list could not be read in
+        // (due_date, id) order from the index and would sort all open tasks
+        List<Task> tasks = new ArrayList<>();
+        for (TaskStatus status : OPEN_STATUSES) {
+            tasks.addAll(taskRepository.findDuePage(user.getUid(), status, java.sql.Date.valueOf(afterDueDate),
+                    afterId, java.sql.Date.valueOf(to), Limit.of(limit)));
+        }
+        tasks.sort(Comparator.comparing(this::toLocalDate).thenComparing(Task::getId));
+        if (tasks.size() > limit) {
+            tasks = tasks.subList(0, limit);
+        }
+
+        String nextCursor = null;
+        if (tasks.size() == limit) {
+            Task last = tasks.get(tasks.size() - 1);
+            nextCursor = toLocalDate(last) + "_" + last.getId();
+        }
+
+        return TaskFeedResponse.builder()
+                .tasks(tasks.stream()
+                        .map(this::convertToResponse)
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private LocalDate toLocalDate(Task task) {
+        if (task.getDueDate() instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return new java.sql.Date(task.getDueDate().getTime()).toLocalDate();
+    }
+
+    /**
+     * Moves one task between the denormalized status counters of its project with
+     * a single UPDATE statement. Either status may be null when a task is created
+     * or deleted; nothing is written when the status did not change. The project
+     * is evicted from the second-level cache since the statement bypasses it.
+     *
+     * @throws IllegalArgumentException if the project was archived or deleted
+     *                                  since the caller read it
+     */
+    private void adjustTaskCounters(Integer projectId, TaskStatus removed, TaskStatus added, long syncSeq) {
+        if (removed == added) {
+            return;
+        }
+
+        int updated = projectRepository.adjustOpenTaskCounters(projectId,
+                counterDelta(TaskStatus.TODO, removed, added),
+                counterDelta(TaskStatus.IN_PROGRESS, removed, added),
+                counterDelta(TaskStatus.DONE, removed, added),
+                syncSeq);
+        if (updated == 0) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        entityCacheUtil.evictAfterCommit(Project.class, projectId);
+    }
+
+    private int counterDelta(TaskStatus counter, TaskStatus removed, TaskStatus added) {
+        return (counter == added ? 1 : 0) - (counter == removed ? 1 : 0);
     }
 
     private TaskResponse convertToResponse(Task task) {
-        return TaskResponse.builder()
+        DtoMappingEvent event = new DtoMappingEvent();
+        event.begin();
+        TaskResponse response = TaskResponse.builder()
                 .id(task.getId())
                 .projectId(task.getProject().getId())
                 .title(task.getTitle())
@@ -233,5 +679,12 @@ public class TaskService {
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
                 .build();
+        event.end();
+        if (event.shouldCommit()) {
+            event.setType("Task");
+            event.setId(task.getId());
+            event.commit();
+        }
+        return response;
     }
 }
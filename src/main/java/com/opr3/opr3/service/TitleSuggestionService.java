@@ -0,0 +1,292 @@
+package com.opr3.opr3.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.dto.TitleSuggestionResponse;
+import com.opr3.opr3.dto.TitleSuggestionResponse.SuggestionType;
+import com.opr3.opr3.dto.TitleView;
+import com.opr3.opr3.entity.Project;
+import com.opr3.opr3.entity.Task;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.ProjectRepository;
+import com.opr3.opr3.repository.TaskRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Serves prefix suggestions for project and task titles from a per-user
+ * in-memory index.
+ *
+ * <p>
+ * Each user's index is a sorted map of normalized titles, built lazily from two
+ * projection queries the first time the user asks for suggestions. Afterwards
+ * it is kept current by {@link ProjectService} and {@link TaskService} on every
+ * create, update and delete, so lookups never hit the database. Their changes
+ * reach the index once the transaction commits; an index still being built
+ * then is dropped instead, since its queries may have missed the change. Indexes of
+ * users that have been idle longer than {@code app.suggest.idle-timeout-ms}
+ * are dropped, and the number of cached users and entries per user are capped.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class TitleSuggestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TitleSuggestionService.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_LIMIT = 50;
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final AuthService authService;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<String, TitleIndex> indexes = new ConcurrentHashMap<>();
+
+    @Value("${app.suggest.max-users:1000}")
+    private int maxUsers;
+    @Value("${app.suggest.max-entries-per-user:20000}")
+    private int maxEntriesPerUser;
+    @Value("${app.suggest.idle-timeout-ms:1800000}")
+    private long idleTimeoutMs;
+
+    /**
+     * Returns up to {@code limit} project and task titles of the authenticated
+     * user that start with the given prefix, ordered by normalized title.
+     *
+     * @param query the prefix typed by the user
+     * @param limit maximum number of suggestions to return (capped at 50)
+     * @return List of TitleSuggestionResponse matching the prefix
+     * @throws AuthenticationException if user is not authenticated
+     */
+    public List<TitleSuggestionResponse> suggest(String query, int limit) throws AuthenticationException {
+        User user = authService.getAuthenticatedUser();
+
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        TitleIndex index = indexes.get(user.getUid());
+        if (index == null || !index.loaded) {
+            index = buildIndex(user.getUid());
+        }
+
+        return index.suggest(prefix, Math.min(limit, MAX_LIMIT));
+    }
+
+    public void onProjectSaved(String userUid, Project project) {
+        TitleSuggestionResponse suggestion = suggestion(SuggestionType.PROJECT, project.getId(), project.getId(),
+                project.getTitle());
+        afterCommit(userUid, index -> index.put(ref(SuggestionType.PROJECT, project.getId()), suggestion));
+    }
+
+    public void onTaskSaved(String userUid, Task task) {
+        TitleSuggestionResponse suggestion = suggestion(SuggestionType.TASK, task.getId(),
+                task.getProject().getId(), task.getTitle());
+        afterCommit(userUid, index -> index.put(ref(SuggestionType.TASK, task.getId()), suggestion));
+    }
+
+    public void onTaskDeleted(String userUid, Integer taskId) {
+        afterCommit(userUid, index -> index.remove(ref(SuggestionType.TASK, taskId)));
+    }
+
+    /**
+     * Drops the index of a single user once the current transaction commits, so
+     * it is rebuilt on the next lookup.
+     */
+    public void evictUser(String userUid) {
+        afterCommit(userUid, null);
+    }
+
+    // Applies a change to the user's index after commit, or drops the index
+    // when change is null or the index is still loading: its queries may have
+    // run before the commit
+    private void afterCommit(String userUid, Consumer<TitleIndex> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(userUid, change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    apply(userUid, change);
+                }
+            }
+        });
+    }
+
+    private void apply(String userUid, Consumer<TitleIndex> change) {
+        indexes.computeIfPresent(userUid, (uid, index) -> {
+            if (change == null || !index.loaded) {
+                return null;
+            }
+            change.accept(index);
+            return index;
+        });
+    }
+
+    /**
+     * Drops indexes of users that have not requested suggestions recently.
+     */
+    @Scheduled(fixedDelayString = "${app.suggest.eviction-interval-ms:60000}")
+    public void evictInactive() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMs;
+        int before = indexes.size();
+        indexes.values().removeIf(index -> index.lastAccess < cutoff);
+        int evicted = before - indexes.size();
+        if (evicted > 0) {
+            log.debug("evicted {} idle title suggestion indexes", evicted);
+        }
+    }
+
+    private void evictOverflow() {
+        while (indexes.size() > maxUsers) {
+            indexes.entrySet().stream()
+                    .min((a, b) -> Long.compare(a.getValue().lastAccess, b.getValue().lastAccess))
+                    .ifPresent(eldest -> indexes.remove(eldest.getKey(), eldest.getValue()));
+        }
+    }
+
+    // The empty index is registered before the queries run, outside of any map
+    // lock, so that a change committing meanwhile can drop it. Concurrent
+    // lookups of the same user build their own until it is loaded. Both queries
+    // run in one read-only transaction, lookups served from the index need none.
+    private TitleIndex buildIndex(String userUid) {
+        TitleIndex index = new TitleIndex(maxEntriesPerUser);
+        boolean registered = indexes.putIfAbsent(userUid, index) == null;
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> loadIndex(userUid, index));
+            index.loaded = true;
+        } finally {
+            if (!index.loaded) {
+                indexes.remove(userUid, index);
+            }
+        }
+        if (registered) {
+            evictOverflow();
+        }
+        return index;
+    }
+
+    private void loadIndex(String userUid, TitleIndex index) {
+        for (TitleView view : projectRepository.findTitlesByUserUid(userUid)) {
+            index.put(ref(SuggestionType.PROJECT, view.getId()),
+                    suggestion(SuggestionType.PROJECT, view.getId(), view.getProjectId(), view.getTitle()));
+        }
+
+        for (TitleView view : taskRepository.findTitlesByUserUid(userUid)) {
+            index.put(ref(SuggestionType.TASK, view.getId()),
+                    suggestion(SuggestionType.TASK, view.getId(), view.getProjectId(), view.getTitle()));
+        }
+
+        log.debug("built title suggestion index with {} entries", index.size());
+    }
+
+    private static String ref(SuggestionType type, Integer id) {
+        return type.name() + ":" + id;
+    }
+
+    private static TitleSuggestionResponse suggestion(SuggestionType type, Integer id, Integer projectId,
+            String title) {
+        return TitleSuggestionResponse.builder()
+                .type(type)
+                .id(id)
+                .projectId(projectId)
+                .title(title)
+                .build();
+    }
+
+    static String normalize(String title) {
+        if (title == null) {
+            return "";
+        }
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(title, Normalizer.Form.NFKD)).replaceAll("");
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    /**
+     * Sorted title index of a single user. Keys are the normalized title followed
+     * by a separator and the entry reference, so equal titles do not collide and
+     * a prefix scan is a simple walk of the tail map.
+     */
+    private static final class TitleIndex {
+
+        private static final char SEPARATOR = '\u0000';
+
+        private final NavigableMap<String, TitleSuggestionResponse> byKey = new TreeMap<>();
+        private final Map<String, String> keyByRef = new HashMap<>();
+        private final int maxEntries;
+        private volatile long lastAccess = System.currentTimeMillis();
+        private volatile boolean loaded;
+
+        TitleIndex(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        synchronized void put(String ref, TitleSuggestionResponse suggestion) {
+            String previousKey = keyByRef.remove(ref);
+            if (previousKey != null) {
+                byKey.remove(previousKey);
+            }
+
+            if (byKey.size() >= maxEntries) {
+                return;
+            }
+
+            String key = normalize(suggestion.getTitle()) + SEPARATOR + ref;
+            byKey.put(key, suggestion);
+            keyByRef.put(ref, key);
+        }
+
+        synchronized void remove(String ref) {
+            String key = keyByRef.remove(ref);
+            if (key != null) {
+                byKey.remove(key);
+            }
+        }
+
+        synchronized List<TitleSuggestionResponse> suggest(String prefix, int limit) {
+            lastAccess = System.currentTimeMillis();
+
+            List<TitleSuggestionResponse> result = new ArrayList<>(limit);
+            for (Map.Entry<String, TitleSuggestionResponse> entry : byKey.tailMap(prefix, true).entrySet()) {
+                if (!entry.getKey().startsWith(prefix) || result.size() >= limit) {
+                    break;
+                }
+                result.add(entry.getValue());
+            }
+            return result;
+        }
+
+        synchronized int size() {
+            return byKey.size();
+        }
+    }
+}
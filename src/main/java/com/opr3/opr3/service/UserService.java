@@ -1,11 +1,24 @@
 package com.opr3.opr3.service;
 
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.opr3.opr3.entity.User;
+import com.opr3.opr3.event.DataChangeEvent;
+import com.opr3.opr3.event.UserCreatedEvent;
+import com.opr3.opr3.repository.ProjectRepository;
+import com.opr3.opr3.repository.TaskRepository;
+import com.opr3.opr3.repository.TombstoneRepository;
 import com.opr3.opr3.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -17,11 +30,16 @@ public class UserService {
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final TombstoneRepository tombstoneRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
 
 
     // new user
+    @Transactional
     public void postNewUser(User user) {
         if (user.getUid() != null) {
             throw new IllegalArgumentException("New user should not have an ID set");
@@ -32,5 +50,76 @@ public class UserService {
 
         log.info("Saving new user: {}", user.getName());
         userRepository.save(user);
-    } 
+        eventPublisher.publishEvent(new UserCreatedEvent(user.getUid()));
+    }
+
+    /**
+     * Records that some of the user's projects or tasks changed. Must run inside
+     * the transaction of the change itself, before the changed rows are
+     * written, and returns a ticket to store as their {@code sync_seq}: a
+     * negative number unique to this transaction and user.
+     *
+     * <p>
+     * Just before commit, the user's change marker is bumped, every row of the
+     * user carrying the ticket is stamped with the new marker, and a
+     * {@link DataChangeEvent} is published. The increment locks the user row
+     * only for the stamping and the commit, so changes of one user still get
+     * their markers in commit order while a long write does not hold up the
+     * user's other writes. A marker taken without the lock, from a sequence
+     * for example, could commit after a sync already returned a higher cursor,
+     * and that change would never be delivered.
+     * </p>
+     *
+     * <p>
+     * Cached entities keep the ticket as {@code syncSeq}; nothing reads it
+     * from them, and every write sets a new one.
+     * </p>
+     *
+     * @return the ticket of this change, stored as {@code sync_seq} on every
+     *         row the change writes
+     */
+    @Transactional
+    public long markDataChanged(String userUid) {
+        PendingChanges pending = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(PendingChanges.class::isInstance)
+                .map(PendingChanges.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    PendingChanges created = new PendingChanges();
+                    TransactionSynchronizationManager.registerSynchronization(created);
+                    return created;
+                });
+        return pending.tickets.computeIfAbsent(userUid,
+                uid -> -1 - ThreadLocalRandom.current().nextLong(Long.MAX_VALUE));
+    }
+
+    /**
+     * The users changed by one transaction and their tickets, stamped before it
+     * commits.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        // sorted, so two transactions changing several users lock them in one order
+        private final Map<String, Long> tickets = new TreeMap<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // rows saved through JPA are written on flush, which would otherwise
+            // only happen after this
+            userRepository.flush();
+            tickets.forEach((userUid, ticket) -> {
+                userRepository.incrementChangeMarker(userUid);
+                long changeMarker = getChangeMarker(userUid);
+                projectRepository.stampChange(userUid, ticket, changeMarker);
+                taskRepository.stampChange(userUid, ticket, changeMarker);
+                tombstoneRepository.stampChange(userUid, ticket, changeMarker);
+                eventPublisher.publishEvent(new DataChangeEvent(userUid, changeMarker));
+            });
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long getChangeMarker(String userUid) {
+        return userRepository.findChangeMarkerByUid(userUid).orElse(0L);
+    }
 }
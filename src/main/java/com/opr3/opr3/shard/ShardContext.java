@@ -0,0 +1,45 @@
+package com.opr3.opr3.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the current thread to a shard, overriding the shard of the
+ * authenticated user. Used by jobs, which work on every shard in turn, and by
+ * {@link ShardMigrationService}. A pin must be in place before the transaction
+ * starts; a transaction keeps the connection it started with.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> PINNED = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return the shard the current thread is pinned to, or null
+     */
+    public static Integer pinnedShard() {
+        return PINNED.get();
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> work) {
+        Integer previous = PINNED.get();
+        PINNED.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                PINNED.remove();
+            } else {
+                PINNED.set(previous);
+            }
+        }
+    }
+
+    public static void runOn(int shard, Runnable work) {
+        callOn(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+}
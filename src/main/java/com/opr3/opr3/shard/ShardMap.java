@@ -0,0 +1,113 @@
+package com.opr3.opr3.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Decides which shard holds a user's projects and tasks.
+ *
+ * <p>
+ * A user lives on the shard picked by the CRC32 of their uid, unless they
+ * were moved: moves are recorded in the {@code shard_assignment} table of the
+ * directory shard and kept in memory, reloaded every
+ * {@code app.sharding.map-refresh-ms} so other instances pick them up.
+ * </p>
+ *
+ * <p>
+ * Every connection taken for a user holds a read lock of the user's lock
+ * stripe until it is closed. {@link ShardMigrationService} takes the write
+ * lock for the final step of a move, which waits for the user's open
+ * transactions and holds back new ones until the map points at the new shard.
+ * The locks are local to this instance.
+ * </p>
+ */
+public class ShardMap {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final int shardCount;
+    private final JdbcTemplate directory;
+    private final Map<String, Integer> assignments = new ConcurrentHashMap<>();
+    private final ReadWriteLock[] locks = new ReadWriteLock[LOCK_STRIPES];
+    // not synchronized: a virtual thread blocked in JDBC inside a monitor pins its carrier
+    private final Lock updates = new ReentrantLock();
+
+    public ShardMap(int shardCount, JdbcTemplate directory) {
+        this.shardCount = shardCount;
+        this.directory = directory;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * @return the shard the user is placed on when not moved
+     */
+    public int homeShard(String userUid) {
+        CRC32 crc = new CRC32();
+        crc.update(userUid.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shardCount);
+    }
+
+    public int shardOf(String userUid) {
+        Integer assigned = assignments.get(userUid);
+        return assigned != null ? assigned : homeShard(userUid);
+    }
+
+    ReadWriteLock lockOf(String userUid) {
+        return locks[Math.floorMod(userUid.hashCode(), LOCK_STRIPES)];
+    }
+
+    /**
+     * Places the user on the given shard, in the directory and in this
+     * instance's map.
+     */
+    public void assign(String userUid, int shard) {
+        if (shard < 0 || shard >= shardCount) {
+            throw new IllegalArgumentException("No such shard: " + shard);
+        }
+
+        updates.lock();
+        try {
+            directory.update("delete from shard_assignment where user_uid = ?", userUid);
+            if (shard == homeShard(userUid)) {
+                assignments.remove(userUid);
+            } else {
+                directory.update("insert into shard_assignment (user_uid, shard) values (?, ?)", userUid, shard);
+                assignments.put(userUid, shard);
+            }
+        } finally {
+            updates.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.sharding.map-refresh-ms:30000}",
+            initialDelayString = "${app.sharding.map-refresh-ms:30000}")
+    public void reload() {
+        updates.lock();
+        try {
+            Map<String, Integer> loaded = new HashMap<>();
+            directory.query("select user_uid, shard from shard_assignment",
+                    (RowCallbackHandler) row -> loaded.put(row.getString("user_uid"), row.getInt("shard")));
+            assignments.keySet().retainAll(loaded.keySet());
+            assignments.putAll(loaded);
+        } finally {
+            updates.unlock();
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.opr3.opr3.shard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.event.UserCreatedEvent;
+
+/**
+ * Copies users to their shard and moves them between shards.
+ *
+ * <p>
+ * A move is a copy followed by a flip. {@link #copy} copies all of the user's
+ * rows to the target shard while the user keeps working on the source.
+ * {@link #flip} then blocks the user's connections (see {@link ShardMap}),
+ * copies what changed since the copy, points the map at the target and lets
+ * them continue there. Changed rows are found by {@code sync_seq} above the
+ * user's change marker at copy time, soft-deleted rows by {@code deleted_at},
+ * and rows added or removed by comparing keys. The flip therefore costs what
+ * changed during the copy, not the size of the account. The source rows are
+ * deleted afterwards. Ids are kept, they are unique across shards.
+ * </p>
+ *
+ * <p>
+ * Everything here works on the shard pools directly, outside of JPA.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty("app.sharding.additional-shards[0].jdbc-url")
+public class ShardMigrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardMigrationService.class);
+
+    private static final int KEYS_PER_QUERY = 500;
+
+    private static final String OWNED_PROJECT = "project_id in (select id from project where user_uid = ?)";
+
+    // parents before children. The delta selects rows changed after the copy
+    // from the change marker; immutable tables only gain or lose rows
+    private static final List<ShardTable> TABLES = List.of(
+            new ShardTable("user", "uid", "uid = ?", "change_marker >= ?"),
+            new ShardTable("project", "id", "user_uid = ?", "sync_seq > ? or deleted_at is not null"),
+            new ShardTable("task", "id", OWNED_PROJECT, "sync_seq > ? or deleted_at is not null"),
+            new ShardTable("task_archive", "id", OWNED_PROJECT, null),
+            new ShardTable("project_snapshot", "project_id", "owner_uid = ?", null),
+            new ShardTable("tombstone", "id", "owner_uid = ?", "sync_seq > ?"));
+
+    private record ShardTable(String name, String key, String ownerCondition, String deltaCondition) {
+    }
+
+    /**
+     * A copy waiting for its flip.
+     *
+     * @param changeMarker the user's change marker when the copy started
+     */
+    public record Migration(String userUid, int source, int target, long changeMarker) {
+    }
+
+    private final ShardMap shardMap;
+    private final List<JdbcTemplate> shards = new ArrayList<>();
+    private final List<TransactionTemplate> transactions = new ArrayList<>();
+
+    public ShardMigrationService(ShardMap shardMap, ShardRoutingDataSource dataSource) {
+        this.shardMap = shardMap;
+        for (int shard = 0; shard < shardMap.shardCount(); shard++) {
+            shards.add(new JdbcTemplate(dataSource.shard(shard)));
+            transactions.add(new TransactionTemplate(new DataSourceTransactionManager(dataSource.shard(shard))));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserCreated(UserCreatedEvent event) {
+        provisionUser(event.userUid());
+    }
+
+    /**
+     * Copies the user's row from the directory to the user's shard, where
+     * their projects reference it.
+     */
+    public void provisionUser(String userUid) {
+        int shard = shardMap.shardOf(userUid);
+        if (shard == 0) {
+            return;
+        }
+
+        ShardTable users = TABLES.get(0);
+        List<Map<String, Object>> rows = readRows(shards.get(0), users, userUid, null, 0);
+        transactions.get(shard).executeWithoutResult(status -> upsert(shards.get(shard), users, rows,
+                keys(shards.get(shard), users, userUid)));
+    }
+
+    /**
+     * Moves the user to the target shard, see {@link #copy} and {@link #flip}.
+     */
+    public void moveUser(String userUid, int target) {
+        flip(copy(userUid, target));
+    }
+
+    /**
+     * Copies all rows of the user to the target shard, replacing what an
+     * earlier, unfinished move may have left there. The user keeps reading and
+     * writing on the current shard.
+     *
+     * @throws IllegalArgumentException if the user is already on that shard or
+     *                                  the shard does not exist
+     */
+    public Migration copy(String userUid, int target) throws IllegalArgumentException {
+        if (target < 0 || target >= shardMap.shardCount()) {
+            throw new IllegalArgumentException("No such shard: " + target);
+        }
+        int source = shardMap.shardOf(userUid);
+        if (source == target) {
+            throw new IllegalArgumentException("User is already on shard " + target);
+        }
+
+        // read first: every row stamped up to this marker has been committed
+        long changeMarker = shards.get(source).queryForObject(
+                "select change_marker from user where uid = ?", Long.class, userUid);
+
+        JdbcTemplate to = shards.get(target);
+        int copied = transactions.get(target).execute(status -> {
+            deleteRows(to, userUid, target == 0);
+            int rows = 0;
+            for (ShardTable table : TABLES) {
+                List<Map<String, Object>> sourceRows = readRows(shards.get(source), table, userUid, null, 0);
+                upsert(to, table, sourceRows, keys(to, table, userUid));
+                rows += sourceRows.size();
+            }
+            return rows;
+        });
+
+        log.info("copied {} rows of user {} from shard {} to shard {}", copied, userUid, source, target);
+        return new Migration(userUid, source, target, changeMarker);
+    }
+
+    /**
+     * Completes a move: applies the changes made since the copy to the target
+     * shard and switches the user over, while the user's connections are held
+     * back. Then deletes the user's rows from the source shard.
+     *
+     * @throws IllegalStateException if the user was moved in the meantime
+     */
+    public void flip(Migration migration) throws IllegalStateException {
+        String userUid = migration.userUid();
+        JdbcTemplate from = shards.get(migration.source());
+        JdbcTemplate to = shards.get(migration.target());
+
+        Lock lock = shardMap.lockOf(userUid).writeLock();
+        lock.lock();
+        try {
+            if (shardMap.shardOf(userUid) != migration.source()) {
+                throw new IllegalStateException("User " + userUid + " was moved since the copy");
+            }
+
+            int changed = transactions.get(migration.target()).execute(status -> {
+                int rows = 0;
+                Map<ShardTable, Set<Object>> removed = new LinkedHashMap<>();
+                for (ShardTable table : TABLES) {
+                    Set<Object> sourceKeys = keys(from, table, userUid);
+                    Set<Object> targetKeys = keys(to, table, userUid);
+
+                    Map<Object, Map<String, Object>> changedRows = new LinkedHashMap<>();
+                    if (table.deltaCondition() != null) {
+                        for (Map<String, Object> row : readRows(from, table, userUid, table.deltaCondition(),
+                                migration.changeMarker())) {
+                            changedRows.put(row.get(table.key()), row);
+                        }
+                    }
+                    Set<Object> added = new HashSet<>(sourceKeys);
+                    added.removeAll(targetKeys);
+                    added.removeAll(changedRows.keySet());
+                    for (Map<String, Object> row : readRowsByKeys(from, table, added)) {
+                        changedRows.put(row.get(table.key()), row);
+                    }
+
+                    upsert(to, table, changedRows.values(), targetKeys);
+                    rows += changedRows.size();
+
+                    targetKeys.removeAll(sourceKeys);
+                    removed.put(table, targetKeys);
+                }
+
+                List<ShardTable> childrenFirst = new ArrayList<>(removed.keySet());
+                Collections.reverse(childrenFirst);
+                for (ShardTable table : childrenFirst) {
+                    deleteByKeys(to, table, removed.get(table));
+                    rows += removed.get(table).size();
+                }
+                return rows;
+            });
+
+            shardMap.assign(userUid, migration.target());
+            log.info("user {} moved from shard {} to shard {}, {} rows changed during the copy", userUid,
+                    migration.source(), migration.target(), changed);
+        } finally {
+            lock.unlock();
+        }
+
+        transactions.get(migration.source()).executeWithoutResult(
+                status -> deleteRows(from, userUid, migration.source() == 0));
+    }
+
+    private static Set<Object> keys(JdbcTemplate shard, ShardTable table, String userUid) {
+        return new HashSet<>(shard.queryForList(
+                "select " + table.key() + " from " + table.name() + " where " + table.ownerCondition(),
+                Object.class, userUid));
+    }
+
+    private static List<Map<String, Object>> readRows(JdbcTemplate shard, ShardTable table, String userUid,
+            String condition, long changeMarker) {
+        String sql = "select * from " + table.name() + " where " + table.ownerCondition();
+        if (condition == null) {
+            return shard.queryForList(sql, userUid);
+        }
+        return shard.queryForList(sql + " and (" + condition + ")", userUid, changeMarker);
+    }
+
+    private static List<Map<String, Object>> readRowsByKeys(JdbcTemplate shard, ShardTable table,
+            Collection<Object> keys) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (List<Object> chunk : chunks(keys)) {
+            rows.addAll(shard.queryForList("select * from " + table.name() + " where " + table.key() + " in ("
+                    + placeholders(chunk.size()) + ")", chunk.toArray()));
+        }
+        return rows;
+    }
+
+    // rows come from queryForList, whose maps look up columns case-insensitively
+    private static void upsert(JdbcTemplate shard, ShardTable table, Collection<Map<String, Object>> rows,
+            Set<Object> existingKeys) {
+        for (Map<String, Object> row : rows) {
+            List<String> columns = new ArrayList<>(row.keySet());
+            Object key = row.get(table.key());
+            if (existingKeys.contains(key)) {
+                List<String> updated = columns.stream()
+                        .filter(column -> !column.equalsIgnoreCase(table.key()))
+                        .toList();
+                List<Object> values = new ArrayList<>();
+                updated.forEach(column -> values.add(row.get(column)));
+                values.add(key);
+                shard.update("update " + table.name() + " set "
+                        + updated.stream().map(column -> column + " = ?").collect(Collectors.joining(", "))
+                        + " where " + table.key() + " = ?", values.toArray());
+            } else {
+                shard.update("insert into " + table.name() + " (" + String.join(", ", columns) + ") values ("
+                        + placeholders(columns.size()) + ")", row.values().toArray());
+            }
+        }
+    }
+
+    private static void deleteByKeys(JdbcTemplate shard, ShardTable table, Collection<Object> keys) {
+        for (List<Object> chunk : chunks(keys)) {
+            shard.update("delete from " + table.name() + " where " + table.key() + " in ("
+                    + placeholders(chunk.size()) + ")", chunk.toArray());
+        }
+    }
+
+    private static void deleteRows(JdbcTemplate shard, String userUid, boolean keepUser) {
+        List<ShardTable> childrenFirst = new ArrayList<>(TABLES);
+        Collections.reverse(childrenFirst);
+        for (ShardTable table : childrenFirst) {
+            if (keepUser && table == TABLES.get(0)) {
+                continue;
+            }
+            shard.update("delete from " + table.name() + " where " + table.ownerCondition(), userUid);
+        }
+    }
+
+    private static List<List<Object>> chunks(Collection<Object> keys) {
+        List<Object> all = new ArrayList<>(keys);
+        List<List<Object>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += KEYS_PER_QUERY) {
+            chunks.add(all.subList(from, Math.min(from + KEYS_PER_QUERY, all.size())));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,122 @@
+package com.opr3.opr3.shard;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.opr3.opr3.entity.User;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Hands out connections of the shard pinned with {@link ShardContext}, else of
+ * the authenticated user's shard, else of the directory shard (shard 0), which
+ * also holds users, tokens and the shard map.
+ *
+ * <p>
+ * A connection taken for a user holds the read lock of the user's stripe in
+ * {@link ShardMap} until it is closed, on the thread that opened it.
+ * </p>
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final List<DataSource> shards;
+    private final ShardMap shardMap;
+
+    public ShardRoutingDataSource(List<DataSource> shards, ShardMap shardMap) {
+        this.shards = List.copyOf(shards);
+        this.shardMap = shardMap;
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+    }
+
+    public DataSource shard(int shard) {
+        return shards.get(shard);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String userUid = ShardContext.pinnedShard() == null ? authenticatedUserUid() : null;
+        if (userUid == null) {
+            return super.getConnection();
+        }
+
+        Lock lock = shardMap.lockOf(userUid).readLock();
+        lock.lock();
+        try {
+            return unlockingOnClose(super.getConnection(), lock);
+        } catch (SQLException | RuntimeException e) {
+            lock.unlock();
+            throw e;
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer pinned = ShardContext.pinnedShard();
+        if (pinned != null) {
+            return pinned;
+        }
+        String userUid = authenticatedUserUid();
+        return userUid != null ? shardMap.shardOf(userUid) : 0;
+    }
+
+    // the directory pool is a bean of its own and closed by the context
+    @Override
+    public void close() {
+        for (DataSource shard : shards.subList(1, shards.size())) {
+            if (shard instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        }
+    }
+
+    private static String authenticatedUserUid() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof User user ? user.getUid() : null;
+    }
+
+    private static Connection unlockingOnClose(Connection connection, Lock lock) {
+        AtomicBoolean open = new AtomicBoolean(true);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "close":
+                            if (open.compareAndSet(true, false)) {
+                                try {
+                                    connection.close();
+                                } finally {
+                                    lock.unlock();
+                                }
+                            }
+                            return null;
+                        default:
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getTargetException();
+                            }
+                    }
+                });
+    }
+}
@@ -0,0 +1,29 @@
+package com.opr3.opr3.shard;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Runs work that is not tied to one user, such as the scheduled jobs, on every
+ * shard in turn. Without sharding the work runs once, on the only database.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShardRunner {
+
+    private final ObjectProvider<ShardMap> shardMap;
+
+    public void forEachShard(Runnable work) {
+        ShardMap map = shardMap.getIfAvailable();
+        if (map == null) {
+            work.run();
+            return;
+        }
+
+        for (int shard = 0; shard < map.shardCount(); shard++) {
+            ShardContext.runOn(shard, work);
+        }
+    }
+}
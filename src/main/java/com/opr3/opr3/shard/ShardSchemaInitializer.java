@@ -0,0 +1,129 @@
+package com.opr3.opr3.shard;
+
+import java.sql.DatabaseMetaData;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.TargetType;
+import org.hibernate.tool.schema.internal.ExceptionHandlerHaltImpl;
+import org.hibernate.tool.schema.spi.ContributableMatcher;
+import org.hibernate.tool.schema.spi.SchemaManagementTool;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.hibernate.tool.schema.spi.ScriptTargetOutput;
+import org.hibernate.tool.schema.spi.TargetDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+
+/**
+ * Prepares the shards other than the directory before the application takes
+ * requests.
+ *
+ * <p>
+ * Hibernate's {@code ddl-auto} only reaches the connection it is handed at
+ * startup, which is the directory's. This class is registered as a Hibernate
+ * integrator to get hold of the mapping and, when {@code ddl-auto} creates or
+ * updates the schema, applies the same update to every other shard. It then
+ * moves the identity counters of shard {@code n} to {@code n * ID_BLOCK}, so
+ * project, task and tombstone ids stay unique across shards. The second-level
+ * cache and the snapshot cache are keyed by these ids, and a moved user keeps
+ * theirs.
+ * </p>
+ */
+public class ShardSchemaInitializer implements Integrator, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    static final int ID_BLOCK = 100_000_000;
+
+    private static final List<String> IDENTITY_TABLES = List.of("project", "task", "tombstone");
+    private static final Set<String> SCHEMA_UPDATING_MODES = Set.of("update", "create", "create-drop");
+
+    private final ShardRoutingDataSource dataSource;
+    private final ShardMap shardMap;
+    private final String ddlAuto;
+    private volatile Metadata metadata;
+    private volatile SessionFactoryImplementor sessionFactory;
+
+    public ShardSchemaInitializer(ShardRoutingDataSource dataSource, ShardMap shardMap, String ddlAuto) {
+        this.dataSource = dataSource;
+        this.shardMap = shardMap;
+        this.ddlAuto = ddlAuto;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+            SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (int shard = 1; shard < shardMap.shardCount(); shard++) {
+            if (metadata != null && SCHEMA_UPDATING_MODES.contains(ddlAuto)) {
+                // the schema tool takes its connections from the routing data source
+                ShardContext.runOn(shard, this::updateSchema);
+            }
+            reserveIdBlock(shard);
+        }
+        shardMap.reload();
+    }
+
+    private void updateSchema() {
+        Map<String, Object> settings = sessionFactory.getProperties();
+        sessionFactory.getServiceRegistry().requireService(SchemaManagementTool.class)
+                .getSchemaMigrator(settings)
+                .doMigration(metadata,
+                        SchemaManagementToolCoordinator.buildExecutionOptions(settings,
+                                ExceptionHandlerHaltImpl.INSTANCE),
+                        ContributableMatcher.ALL, new TargetDescriptor() {
+                            @Override
+                            public EnumSet<TargetType> getTargetTypes() {
+                                return EnumSet.of(TargetType.DATABASE);
+                            }
+
+                            @Override
+                            public ScriptTargetOutput getScriptTargetOutput() {
+                                return null;
+                            }
+                        });
+    }
+
+    private void reserveIdBlock(int shard) {
+        DataSource shardDataSource = dataSource.shard(shard);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shardDataSource);
+        String product;
+        try {
+            product = JdbcUtils.extractDatabaseMetaData(shardDataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot read the database type of shard " + shard, e);
+        }
+
+        long firstId = (long) shard * ID_BLOCK;
+        for (String table : IDENTITY_TABLES) {
+            Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+            if (maxId < firstId) {
+                jdbcTemplate.execute("H2".equals(product)
+                        ? "alter table " + table + " alter column id restart with " + firstId
+                        : "alter table " + table + " auto_increment = " + firstId);
+                log.info("shard {}: {} ids start at {}", shard, table, firstId);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.opr3.opr3.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Spreads users' projects and tasks over several databases when
+ * {@code app.sharding.additional-shards[0].jdbc-url} is set.
+ *
+ * <p>
+ * Shard 0 is the database configured under {@code spring.datasource}. It is
+ * also the directory: users, tokens and the shard map live there, and so does
+ * everything done without an authenticated user, such as logging in. Shard
+ * {@code n} for {@code n >= 1} is configured with Hikari settings under
+ * {@code app.sharding.additional-shards[n-1]} ({@code jdbc-url},
+ * {@code username}, {@code password}, {@code maximum-pool-size}, ...). A
+ * user's row is copied to their shard on registration, so the foreign keys of
+ * their projects hold there. Cannot be combined with the read replica of
+ * {@link com.opr3.opr3.config.ReplicaDataSourceConfig}.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty("app.sharding.additional-shards[0].jdbc-url")
+public class ShardingConfig {
+
+    // identity blocks of ShardSchemaInitializer.ID_BLOCK must fit an int
+    private static final int MAX_SHARDS = Integer.MAX_VALUE / ShardSchemaInitializer.ID_BLOCK;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource directoryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ShardMap shardMap(@Qualifier("directoryDataSource") DataSource directoryDataSource,
+            Environment environment) {
+        int shardCount = 1 + additionalShards(environment).size();
+        if (shardCount > MAX_SHARDS) {
+            throw new IllegalStateException("At most " + MAX_SHARDS + " shards are supported");
+        }
+        return new ShardMap(shardCount, new JdbcTemplate(directoryDataSource));
+    }
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(@Qualifier("directoryDataSource") DataSource directoryDataSource,
+            ShardMap shardMap, Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(directoryDataSource);
+        for (HikariConfig config : additionalShards(environment)) {
+            if (config.getPoolName() == null) {
+                config.setPoolName("shard-" + shards.size());
+            }
+            // Boot only binds pool metrics for DataSource beans, i.e. shard 0
+            meterRegistry.ifAvailable(
+                    registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            shards.add(new HikariDataSource(config));
+        }
+        return new ShardRoutingDataSource(shards, shardMap);
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(ShardRoutingDataSource dataSource, ShardMap shardMap,
+            @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        return new ShardSchemaInitializer(dataSource, shardMap, ddlAuto);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardSchemaInitializerCustomizer(
+            ShardSchemaInitializer shardSchemaInitializer) {
+        return properties -> properties.put("hibernate.integrator_provider",
+                (IntegratorProvider) () -> List.of(shardSchemaInitializer));
+    }
+
+    private static List<HikariConfig> additionalShards(Environment environment) {
+        return Binder.get(environment)
+                .bind("app.sharding.additional-shards", Bindable.listOf(HikariConfig.class))
+                .orElse(List.of());
+    }
+}
@@ -0,0 +1,59 @@
+package com.opr3.opr3.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.stereotype.Component;
+
+import com.opr3.opr3.exception.PreconditionFailedException;
+
+/**
+ * Utility class for building strong entity tags from the values a resource
+ * representation depends on.
+ */
+@Component
+public class ETagUtil {
+
+    /**
+     * Builds a quoted strong ETag from the given parts. Parts are hashed so no
+     * internal values (timestamps, counters) leak to clients.
+     */
+    public String strongETag(Object... parts) {
+        StringBuilder source = new StringBuilder();
+        for (Object part : parts) {
+            source.append(part).append('|');
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(source.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Checks an If-Match header against the current ETag of a resource using
+     * strong comparison. A missing header always matches, {@code *} matches any
+     * existing resource and weak tags never match.
+     *
+     * @throws PreconditionFailedException if the header does not match
+     */
+    public void checkIfMatch(String ifMatch, String currentETag) throws PreconditionFailedException {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(currentETag)) {
+                return;
+            }
+        }
+
+        throw new PreconditionFailedException("Resource has been modified");
+    }
+}
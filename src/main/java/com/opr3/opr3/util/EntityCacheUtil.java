@@ -0,0 +1,76 @@
+package com.opr3.opr3.util;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Utility class for targeted eviction from the Hibernate second-level cache
+ * after writes that bypass the persistence context, such as native updates.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheUtil {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Evicts a single cached entity now and again once the current transaction
+     * completes, so a concurrent reader cannot put the pre-commit row back into
+     * the cache in between.
+     */
+    public void evictAfterCommit(Class<?> entityClass, Object id) {
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(entityClass, id);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(entityClass, id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Same as {@link #evictAfterCommit(Class, Object)} for all cached entities of
+     * a class, when a bulk statement changed rows whose ids are not at hand.
+     */
+    public void evictAllAfterCommit(Class<?> entityClass) {
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(entityClass);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(entityClass);
+                }
+            });
+        }
+    }
+
+    /**
+     * Same as {@link #evictAfterCommit(Class, Object)} for a cached collection,
+     * e.g. after inserting its elements with plain JDBC.
+     */
+    public void evictCollectionAfterCommit(Class<?> ownerClass, String property, Object ownerId) {
+        org.hibernate.Cache cache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+        String role = ownerClass.getName() + "." + property;
+        cache.evictCollectionData(role, ownerId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evictCollectionData(role, ownerId);
+                }
+            });
+        }
+    }
+}
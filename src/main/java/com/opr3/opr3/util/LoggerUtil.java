@@ -11,6 +11,10 @@ import jakarta.servlet.http.HttpServletRequest;
  */
 @Component
 public class LoggerUtil {
+
+    static final String SAMPLED = "sampled";
+    static final String NOT_SAMPLED = "false";
+
     /**
      * Sets up MDC context from an HTTP request.
      * Call this at the beginning of request processing.
@@ -28,6 +32,22 @@ public class LoggerUtil {
         MDC.put("username", username);
     }
 
+    /**
+     * Adds the SQL statement count and database time of the request.
+     */
+    public void setupSqlContext(SqlStatementStats stats) {
+        MDC.put("sqlStatements", String.valueOf(stats.getStatements()));
+        MDC.put("sqlTimeMs", stats.formatMillis());
+    }
+
+    /**
+     * Marks whether the INFO and DEBUG events of the request are kept, see
+     * {@link RequestSamplingFilter}.
+     */
+    public void setupSampling(boolean sampled) {
+        MDC.put(SAMPLED, String.valueOf(sampled));
+    }
+
     /**
      * Clears all MDC context.
      */
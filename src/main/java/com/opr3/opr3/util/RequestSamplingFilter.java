@@ -0,0 +1,28 @@
+package com.opr3.opr3.util;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Logback filter that drops events below WARN logged while handling a request
+ * that was not sampled, see {@link LoggerUtil#setupSampling(boolean)}.
+ * Warnings and errors are always kept, as is everything logged outside a
+ * request. Registered in {@code logback-spring.xml}.
+ */
+public class RequestSamplingFilter extends TurboFilter {
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+            Throwable t) {
+        if (level != null && !level.isGreaterOrEqual(Level.WARN)
+                && LoggerUtil.NOT_SAMPLED.equals(MDC.get(LoggerUtil.SAMPLED))) {
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
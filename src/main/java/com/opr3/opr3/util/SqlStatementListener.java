@@ -0,0 +1,37 @@
+package com.opr3.opr3.util;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate session listener that adds every executed statement and its
+ * execution time to the {@link SqlStatementStats} of the current thread.
+ *
+ * <p>
+ * Registered through {@code hibernate.session.events.auto}, which creates one
+ * instance per session. Does nothing on threads that are not collecting.
+ * </p>
+ */
+public class SqlStatementListener implements SessionEventListener {
+
+    private long executeStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementStats.record(System.nanoTime() - executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementStats.record(System.nanoTime() - executeStart);
+    }
+}
@@ -0,0 +1,66 @@
+package com.opr3.opr3.util;
+
+import java.util.Locale;
+
+/**
+ * Number of SQL statements and time spent executing them, collected for the
+ * current thread between {@link #start()} and {@link #stop()}.
+ *
+ * <p>
+ * {@code LoggingFilter} collects them for every request. They are recorded by
+ * {@link SqlStatementListener}, so only statements run through Hibernate are
+ * counted; a JDBC batch counts as one statement.
+ * </p>
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+
+    private SqlStatementStats() {
+    }
+
+    /**
+     * Starts collecting for the current thread, discarding anything collected
+     * before.
+     *
+     * @return the stats, updated as statements run until {@link #stop()}
+     */
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stops collecting for the current thread.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static void record(long nanos) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.nanos += nanos;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return the execution time in milliseconds, with microsecond precision
+     */
+    public String formatMillis() {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,152 @@
+package com.opr3.opr3.websocket;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.standard.StandardWebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import com.opr3.opr3.event.DataChangeEvent;
+
+/**
+ * Pushes change notifications to the connected clients of a user over
+ * {@code /ws/changes}.
+ *
+ * <p>
+ * Every committed project or task mutation of a user produces one
+ * {@code {"type":"CHANGED","cursor":N}} message, where {@code N} is the
+ * user's change marker after the mutation. It is sent only to that user's
+ * connections; clients fetch the actual changes with
+ * {@code GET /api/sync?since=<their cursor>}. Sends go through a bounded
+ * per-connection queue, see {@link PushConnection}, so a slow client cannot
+ * hold up the committing request or other clients.
+ * </p>
+ *
+ * <p>
+ * With {@code spring.threads.virtual.enabled} on Java 21 every drain runs on a virtual
+ * thread of its own instead of the {@code app.ws.sender-threads} pool, so
+ * connections blocked in a send no longer occupy a sender.
+ * </p>
+ */
+@Component
+public class ChangePushHandler extends TextWebSocketHandler implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangePushHandler.class);
+
+    // Tomcat specific session property, in milliseconds
+    private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final Map<String, Set<PushConnection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final Map<String, PushConnection> connectionsBySession = new ConcurrentHashMap<>();
+    private final Executor sender;
+    private final int queueCapacity;
+    private final int maxConnectionsPerUser;
+    private final long sendTimeoutMs;
+
+    public ChangePushHandler(@Value("${app.ws.sender-threads:4}") int senderThreads,
+            @Value("${app.ws.queue-capacity:64}") int queueCapacity,
+            @Value("${app.ws.max-connections-per-user:10}") int maxConnectionsPerUser,
+            @Value("${app.ws.send-timeout-ms:5000}") long sendTimeoutMs,
+            Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            this.sender = new VirtualThreadTaskExecutor("ws-push-");
+        } else {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ws-push-");
+            threadFactory.setDaemon(true);
+            this.sender = Executors.newFixedThreadPool(senderThreads, threadFactory);
+        }
+        this.queueCapacity = queueCapacity;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        String userUid = (String) session.getAttributes().get(JwtHandshakeInterceptor.USER_UID_ATTRIBUTE);
+        PushConnection connection = new PushConnection(session, userUid, queueCapacity, sender);
+
+        if (session instanceof StandardWebSocketSession standardSession) {
+            standardSession.getNativeSession().getUserProperties().put(BLOCKING_SEND_TIMEOUT, sendTimeoutMs);
+        }
+
+        // limit check and add in one step, so that concurrent connects cannot
+        // both pass the check and a closing connection cannot remove the set
+        // this one is added to
+        Set<PushConnection> connections = connectionsByUser.compute(userUid, (uid, current) -> {
+            Set<PushConnection> updated = current != null ? current : ConcurrentHashMap.newKeySet();
+            if (updated.size() < maxConnectionsPerUser) {
+                updated.add(connection);
+            }
+            return updated.isEmpty() ? null : updated;
+        });
+        if (connections == null || !connections.contains(connection)) {
+            log.warn("rejecting WebSocket connection, user already has {} connections", maxConnectionsPerUser);
+            connection.close(CloseStatus.POLICY_VIOLATION.withReason("Too many connections"));
+            return;
+        }
+
+        connectionsBySession.put(session.getId(), connection);
+        log.debug("WebSocket session {} opened", session.getId());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        PushConnection connection = connectionsBySession.remove(session.getId());
+        if (connection == null) {
+            return;
+        }
+
+        connectionsByUser.computeIfPresent(connection.getUserUid(), (uid, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+        log.debug("WebSocket session {} closed: {}", session.getId(), status);
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("WebSocket transport error on session {}: {}", session.getId(), exception.getMessage());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDataChange(DataChangeEvent event) {
+        Set<PushConnection> connections = connectionsByUser.get(event.userUid());
+        if (connections == null) {
+            return;
+        }
+
+        TextMessage message = new TextMessage("{\"type\":\"CHANGED\",\"cursor\":" + event.changeMarker() + "}");
+        for (PushConnection connection : connections) {
+            connection.offer(message);
+        }
+    }
+
+    public int getConnectionCount() {
+        return connectionsBySession.size();
+    }
+
+    @Override
+    public void destroy() {
+        if (sender instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.opr3.opr3.websocket;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.opr3.opr3.dto.JwtValidationResult;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.JwtService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Authenticates WebSocket handshakes with the regular JWT access token.
+ *
+ * <p>
+ * {@code /ws/**} is whitelisted in the security filter chain, so the token is
+ * checked here instead. It is read from the {@code Authorization} header or,
+ * since browsers cannot set headers on WebSocket requests, from the
+ * {@code access_token} query parameter. The uid of the authenticated user is
+ * stored in the session attributes under {@link #USER_UID_ATTRIBUTE}.
+ * </p>
+ *
+ * @see ChangePushHandler
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String USER_UID_ATTRIBUTE = "userUid";
+
+    private static final Logger log = LoggerFactory.getLogger(JwtHandshakeInterceptor.class);
+
+    private final JwtService jwtService;
+    private final UserRepository userRepository;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+            WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String token = extractToken(request);
+        if (token == null) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            log.warn("[{}] WebSocket handshake without access token", 401);
+            return false;
+        }
+
+        JwtValidationResult validationResult = jwtService.validateToken(token);
+        Optional<User> user = validationResult.isValid()
+                ? userRepository.findUserByEmail(validationResult.getUsername())
+                : Optional.empty();
+
+        if (user.isEmpty()) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            log.warn("[{}] WebSocket handshake with invalid access token: {}", 401, validationResult.getStatus());
+            return false;
+        }
+
+        attributes.put(USER_UID_ATTRIBUTE, user.get().getUid());
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response, WebSocketHandler wsHandler,
+            Exception exception) {
+    }
+
+    private static String extractToken(ServerHttpRequest request) {
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        return UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst("access_token");
+    }
+}
@@ -0,0 +1,119 @@
+package com.opr3.opr3.websocket;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * Outgoing side of a single WebSocket connection.
+ *
+ * <p>
+ * Messages are offered into a bounded queue and written by a shared sender
+ * executor, at most one drain per connection at a time, so publishers never
+ * block on the network. When a client reads too slowly and the queue fills up,
+ * the pending messages are discarded and replaced by a single {@code RESYNC}
+ * message: the client has missed changes and should catch up through
+ * {@code GET /api/sync} instead. A send that fails or times out closes the
+ * connection.
+ * </p>
+ */
+public class PushConnection {
+
+    private static final Logger log = LoggerFactory.getLogger(PushConnection.class);
+
+    static final TextMessage RESYNC = new TextMessage("{\"type\":\"RESYNC\"}");
+
+    private final WebSocketSession session;
+    private final String userUid;
+    private final BlockingQueue<TextMessage> queue;
+    private final Executor sender;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicLong overflows = new AtomicLong();
+
+    public PushConnection(WebSocketSession session, String userUid, int queueCapacity, Executor sender) {
+        this.session = session;
+        this.userUid = userUid;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.sender = sender;
+    }
+
+    public WebSocketSession getSession() {
+        return session;
+    }
+
+    public String getUserUid() {
+        return userUid;
+    }
+
+    /**
+     * Number of times the queue overflowed and was replaced by a resync
+     * message.
+     */
+    public long getOverflows() {
+        return overflows.get();
+    }
+
+    /**
+     * Queues a message for sending without blocking the caller.
+     */
+    public void offer(TextMessage message) {
+        if (!session.isOpen()) {
+            return;
+        }
+
+        synchronized (queue) {
+            if (!queue.offer(message)) {
+                queue.clear();
+                queue.offer(RESYNC);
+                overflows.incrementAndGet();
+                log.debug("push queue of session {} overflowed, client must resync", session.getId());
+            }
+        }
+
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            TextMessage message;
+            while ((message = queue.poll()) != null && session.isOpen()) {
+                session.sendMessage(message);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("closing session {} after failed send: {}", session.getId(), e.getMessage());
+            queue.clear();
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+        } finally {
+            draining.set(false);
+        }
+
+        // a message offered after the last poll but before the flag was reset
+        // would otherwise wait for the next offer
+        if (!queue.isEmpty() && session.isOpen()) {
+            scheduleDrain();
+        }
+    }
+
+    void close(CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (IOException e) {
+            log.debug("failed to close session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.opr3.opr3.event.DataChangeEvent;
+import com.opr3.opr3.websocket.ChangePushHandler;
+import com.opr3.opr3.websocket.JwtHandshakeInterceptor;
+
+class ChangePushHandlerTest {
+
+    private static final int MAX_CONNECTIONS = 3;
+    private static final int CONNECTING = 16;
+
+    private ChangePushHandler handler;
+    private int sessions;
+
+    @BeforeEach
+    void setUp() {
+        handler = new ChangePushHandler(1, 64, MAX_CONNECTIONS, 5000, new MockEnvironment());
+    }
+
+    @AfterEach
+    void tearDown() {
+        handler.destroy();
+    }
+
+    @Test
+    void shouldNotAcceptMoreConnectionsThanTheLimitWhenConnectingConcurrently() throws Exception {
+        // setup
+        List<WebSocketSession> connecting = new ArrayList<>();
+        for (int i = 0; i < CONNECTING; i++) {
+            connecting.add(session("1"));
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CONNECTING);
+
+        // execute
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (WebSocketSession session : connecting) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    handler.afterConnectionEstablished(session);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // verify
+        assertEquals(MAX_CONNECTIONS, handler.getConnectionCount());
+    }
+
+    @Test
+    void shouldPushToAConnectionOpenedAfterTheLastOneClosed() throws Exception {
+        // setup
+        WebSocketSession first = session("1");
+        WebSocketSession second = session("1");
+        handler.afterConnectionEstablished(first);
+        handler.afterConnectionClosed(first, CloseStatus.NORMAL);
+
+        // execute
+        handler.afterConnectionEstablished(second);
+        handler.onDataChange(new DataChangeEvent("1", 7));
+
+        // verify
+        verify(second, timeout(5000)).sendMessage(new TextMessage("{\"type\":\"CHANGED\",\"cursor\":7}"));
+        assertEquals(1, handler.getConnectionCount());
+    }
+
+    private WebSocketSession session(String userUid) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(JwtHandshakeInterceptor.USER_UID_ATTRIBUTE, userUid);
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(String.valueOf(++sessions));
+        when(session.getAttributes()).thenReturn(attributes);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
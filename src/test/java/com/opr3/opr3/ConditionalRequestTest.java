@@ -0,0 +1,178 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.opr3.opr3.dto.ProjectResponse;
+import com.opr3.opr3.dto.TaskResponse;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.test_util.MockJwtService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ConditionalRequestTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private TestRestTemplate restTemplate;
+    private String accessToken;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        // the default client cannot read bodies of 4xx responses, see AuthControllerTest
+        restTemplate = new TestRestTemplate();
+        restTemplate.getRestTemplate().setRequestFactory(new HttpComponentsClientHttpRequestFactory());
+
+        User user = userRepository.findUserByEmail("test1@email.com").orElseThrow();
+        accessToken = new MockJwtService().generateValidToken(user);
+        baseUrl = "http://localhost:" + port + "/api/projects";
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForUnchangedProjectList() {
+        // setup
+        ResponseEntity<String> first = exchange(baseUrl, HttpMethod.GET, null, null, String.class);
+        String etag = first.getHeaders().getETag();
+
+        // execute
+        ResponseEntity<String> second = exchange(baseUrl, HttpMethod.GET, null, etag, String.class);
+
+        // verify
+        assertNotNull(etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertNull(second.getBody());
+    }
+
+    @Test
+    void shouldChangeETagsWhenTasksChange() {
+        // setup
+        ProjectResponse project = exchange(baseUrl, HttpMethod.POST, "{\"title\": \"ETag project\"}", null,
+                ProjectResponse.class).getBody();
+        String projectUrl = baseUrl + "/" + project.getId();
+        String tasksUrl = projectUrl + "/tasks";
+
+        String listETag = exchange(baseUrl, HttpMethod.GET, null, null, String.class).getHeaders().getETag();
+        String projectETag = exchange(projectUrl, HttpMethod.GET, null, null, String.class).getHeaders().getETag();
+        String tasksETag = exchange(tasksUrl, HttpMethod.GET, null, null, String.class).getHeaders().getETag();
+
+        // execute
+        TaskResponse task = exchange(tasksUrl, HttpMethod.POST, "{\"title\": \"ETag task\"}", null,
+                TaskResponse.class).getBody();
+
+        // verify
+        ResponseEntity<String> list = exchange(baseUrl, HttpMethod.GET, null, listETag, String.class);
+        ResponseEntity<String> single = exchange(projectUrl, HttpMethod.GET, null, projectETag, String.class);
+        ResponseEntity<String> tasks = exchange(tasksUrl, HttpMethod.GET, null, tasksETag, String.class);
+
+        assertEquals(HttpStatus.OK, list.getStatusCode());
+        assertEquals(HttpStatus.OK, single.getStatusCode());
+        assertEquals(HttpStatus.OK, tasks.getStatusCode());
+        assertNotEquals(listETag, list.getHeaders().getETag());
+        assertNotEquals(projectETag, single.getHeaders().getETag());
+
+        String taskUrl = tasksUrl + "/" + task.getId();
+        String taskETag = exchange(taskUrl, HttpMethod.GET, null, null, String.class).getHeaders().getETag();
+        assertEquals(HttpStatus.NOT_MODIFIED,
+                exchange(taskUrl, HttpMethod.GET, null, taskETag, String.class).getStatusCode());
+    }
+
+    @Test
+    void shouldRejectUpdateWithStaleIfMatch() {
+        // setup
+        ProjectResponse project = exchange(baseUrl, HttpMethod.POST, "{\"title\": \"If-Match project\"}", null,
+                ProjectResponse.class).getBody();
+        String tasksUrl = baseUrl + "/" + project.getId() + "/tasks";
+        TaskResponse task = exchange(tasksUrl, HttpMethod.POST, "{\"title\": \"v0\"}", null,
+                TaskResponse.class).getBody();
+        String taskUrl = tasksUrl + "/" + task.getId();
+        String staleETag = exchange(taskUrl, HttpMethod.GET, null, null, String.class).getHeaders().getETag();
+
+        // execute
+        ResponseEntity<TaskResponse> first = update(taskUrl, "{\"title\": \"v1\"}", staleETag, TaskResponse.class);
+        ResponseEntity<String> second = update(taskUrl, "{\"title\": \"v2\"}", staleETag, String.class);
+        ResponseEntity<TaskResponse> third = update(taskUrl, "{\"title\": \"v3\"}",
+                first.getHeaders().getETag(), TaskResponse.class);
+
+        // verify
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertNotEquals(staleETag, first.getHeaders().getETag());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, second.getStatusCode());
+        assertEquals(HttpStatus.OK, third.getStatusCode());
+        assertEquals("v3", exchange(taskUrl, HttpMethod.GET, null, null, TaskResponse.class).getBody().getTitle());
+    }
+
+    @Test
+    void shouldSendTheETagOfTheWrittenStateWithUpdates() {
+        // setup
+        ProjectResponse project = exchange(baseUrl, HttpMethod.POST, "{\"title\": \"Written project\"}", null,
+                ProjectResponse.class).getBody();
+        String projectUrl = baseUrl + "/" + project.getId();
+        String taskUrl = projectUrl + "/tasks/" + exchange(projectUrl + "/tasks", HttpMethod.POST,
+                "{\"title\": \"Written task\"}", null, TaskResponse.class).getBody().getId();
+
+        // execute
+        ResponseEntity<TaskResponse> task = update(taskUrl, "{\"title\": \"v1\"}", null, TaskResponse.class);
+        String taskETag = exchange(taskUrl, HttpMethod.GET, null, null, String.class).getHeaders().getETag();
+        ResponseEntity<ProjectResponse> updated = update(projectUrl, "{\"title\": \"v1\"}", null,
+                ProjectResponse.class);
+        String projectETag = exchange(projectUrl, HttpMethod.GET, null, null, String.class).getHeaders().getETag();
+        ResponseEntity<ProjectResponse> archived = exchange(projectUrl + "/archive", HttpMethod.PATCH, null, null,
+                ProjectResponse.class);
+        String archivedETag = exchange(projectUrl, HttpMethod.GET, null, null, String.class).getHeaders().getETag();
+
+        // verify
+        assertNotNull(taskETag);
+        assertEquals(taskETag, task.getHeaders().getETag());
+        assertEquals(projectETag, updated.getHeaders().getETag());
+        // the client accepts gzip, the snapshot is sent with its gzip ETag
+        String identityETag = archived.getHeaders().getETag();
+        assertEquals(identityETag.substring(0, identityETag.length() - 1) + "-gzip\"", archivedETag);
+    }
+
+    private <T> ResponseEntity<T> exchange(String url, HttpMethod method, String body, String ifNoneMatch,
+            Class<T> responseType) {
+        HttpHeaders headers = headers();
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return restTemplate.exchange(url, method, new HttpEntity<>(body, headers), responseType);
+    }
+
+    private <T> ResponseEntity<T> update(String url, String body, String ifMatch, Class<T> responseType) {
+        HttpHeaders headers = headers();
+        if (ifMatch != null) {
+            headers.setIfMatch(ifMatch);
+        }
+        return restTemplate.exchange(url, HttpMethod.PUT, new HttpEntity<>(body, headers), responseType);
+    }
+
+    private HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(accessToken);
+        return headers;
+    }
+}
@@ -0,0 +1,148 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.opr3.opr3.dto.ExportFormat;
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ExportService;
+import com.opr3.opr3.service.ProjectService;
+
+/**
+ * Measures export throughput and live heap for an account with 200 projects of
+ * 1000 tasks each. Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+class ExportBenchmarkTest {
+
+    private static final int PROJECTS = 200;
+    private static final int TASKS_PER_PROJECT = 1000;
+    private static final int ROWS = PROJECTS * TASKS_PER_PROJECT;
+
+    // reached about halfway through even the smallest, gzipped export
+    private static final long SAMPLE_AT_BYTES = 1024 * 1024;
+
+    // rows per second the export has to sustain on a developer machine
+    private static final long TARGET_ROWS_PER_SECOND = 20_000;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        String name = "export-bench-" + System.nanoTime();
+        User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int p = 0; p < PROJECTS; p++) {
+            Integer projectId = projectService.createProject(new ProjectCreateRequest("Project " + p, null, null))
+                    .getId();
+            List<Object[]> rows = new ArrayList<>(TASKS_PER_PROJECT);
+            for (int i = 0; i < TASKS_PER_PROJECT; i++) {
+                rows.add(new Object[] { projectId, user.getUid(), "Task number " + i,
+                        "Description of task number " + i, now, now });
+            }
+            jdbcTemplate.batchUpdate("""
+                    insert into task (project_id, owner_uid, title, description, status, created_at, updated_at, version)
+                    values (?, ?, ?, ?, 'TODO', ?, ?, 0)
+                    """, rows);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void measureExportThroughput() {
+        for (ExportFormat format : ExportFormat.values()) {
+            for (boolean gzip : new boolean[] { false, true }) {
+                // execute
+                long baseline = liveHeap();
+                long start = System.nanoTime();
+                CountingOutputStream out = new CountingOutputStream(SAMPLE_AT_BYTES);
+                long rows = exportService.writeExport(format, ExportService.Cursor.START, gzip, out);
+                long elapsedMs = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+                long rowsPerSecond = rows * 1000 / elapsedMs;
+
+                // verify
+                System.out.printf("%s%s: %d rows, %d KiB in %d ms, %d rows/s, live heap +%d KiB%n", format,
+                        gzip ? " gzip" : "", rows, out.count / 1024, elapsedMs, rowsPerSecond,
+                        (out.sampledHeap - baseline) / 1024);
+                assertEquals(ROWS, rows);
+                assertTrue(rowsPerSecond >= TARGET_ROWS_PER_SECOND,
+                        () -> rowsPerSecond + " rows/s is below the target of " + TARGET_ROWS_PER_SECOND);
+            }
+        }
+    }
+
+    private static long liveHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private final long sampleAt;
+        private long count;
+        private long sampledHeap;
+
+        CountingOutputStream(long sampleAt) {
+            this.sampleAt = sampleAt;
+        }
+
+        @Override
+        public void write(int b) {
+            advance(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            advance(len);
+        }
+
+        // samples the live heap once, while the export is in progress
+        private void advance(int len) {
+            if (count < sampleAt && count + len >= sampleAt) {
+                sampledHeap = liveHeap();
+            }
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opr3.opr3.dto.ExportFormat;
+import com.opr3.opr3.dto.ExportRow;
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ExportService;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.TaskService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ExportTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Integer firstProjectId;
+    private Integer emptyProjectId;
+
+    @BeforeEach
+    void setUp() {
+        // a fresh account, so the export contains exactly what is created here
+        String name = "export-" + System.nanoTime();
+        User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        firstProjectId = projectService.createProject(new ProjectCreateRequest("Export A", "first", null)).getId();
+        taskService.createTask(firstProjectId, new TaskCreateRequest("a1", null, null, TaskStatus.TODO));
+        taskService.createTask(firstProjectId, new TaskCreateRequest("a2, with comma", null, null, TaskStatus.DONE));
+        emptyProjectId = projectService.createProject(new ProjectCreateRequest("Export B", null, null)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldExportOneNdjsonLinePerTaskOrEmptyProject() throws IOException {
+        // execute
+        List<ExportRow> rows = readNdjson(export(ExportFormat.NDJSON, ExportService.Cursor.START, false));
+
+        // verify
+        assertEquals(3, rows.size());
+        assertEquals("a1", rows.get(0).getTaskTitle());
+        assertEquals(TaskStatus.DONE, rows.get(1).getTaskStatus());
+        assertEquals(emptyProjectId, rows.get(2).getProjectId());
+        assertNull(rows.get(2).getTaskId());
+    }
+
+    @Test
+    void shouldResumeAfterCursor() throws IOException {
+        // setup
+        ExportRow first = readNdjson(export(ExportFormat.NDJSON, ExportService.Cursor.START, false)).get(0);
+        ExportService.Cursor cursor = exportService.parseCursor(first.getProjectId() + ":" + first.getTaskId());
+
+        // execute
+        List<ExportRow> rest = readNdjson(export(ExportFormat.NDJSON, cursor, false));
+        List<ExportRow> none = readNdjson(export(ExportFormat.NDJSON, exportService.parseCursor(emptyProjectId + ":"),
+                false));
+
+        // verify
+        assertEquals(2, rest.size());
+        assertEquals("a2, with comma", rest.get(0).getTaskTitle());
+        assertEquals(0, none.size());
+        assertThrows(IllegalArgumentException.class, () -> exportService.parseCursor("abc"));
+    }
+
+    @Test
+    void shouldWriteCsvWithHeaderAndGzip() throws IOException {
+        // execute
+        byte[] gzipped = export(ExportFormat.CSV, ExportService.Cursor.START, true);
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String resumed = new String(export(ExportFormat.CSV, new ExportService.Cursor(firstProjectId, 0), false),
+                StandardCharsets.UTF_8);
+
+        // verify
+        List<String> lines = csv.lines().toList();
+        assertEquals(4, lines.size());
+        assertEquals("projectId", lines.get(0).split(",")[0]);
+        assertTrue(lines.get(2).contains("\"a2, with comma\""));
+        assertEquals(3, resumed.lines().count());
+    }
+
+    private byte[] export(ExportFormat format, ExportService.Cursor cursor, boolean gzip) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeExport(format, cursor, gzip, out);
+        return out.toByteArray();
+    }
+
+    private List<ExportRow> readNdjson(byte[] body) throws IOException {
+        return objectMapper.readerFor(ExportRow.class).<ExportRow>readValues(body).readAll();
+    }
+}
@@ -0,0 +1,92 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.opr3.opr3.dto.ExportFormat;
+import com.opr3.opr3.dto.ImportReport;
+import com.opr3.opr3.dto.ImportReport.ImportStatus;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ImportService;
+
+/**
+ * Measures import throughput for 100 projects of 1000 tasks each. Run with
+ * {@code ./mvnw test -Pbenchmark}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+class ImportBenchmarkTest {
+
+    private static final int PROJECTS = 100;
+    private static final int TASKS_PER_PROJECT = 1000;
+    private static final int ROWS = PROJECTS * TASKS_PER_PROJECT;
+
+    // rows per second the import has to sustain on a developer machine
+    private static final long TARGET_ROWS_PER_SECOND = 5_000;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        String name = "import-bench-" + System.nanoTime();
+        User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void measureImportThroughput() {
+        // setup
+        StringBuilder ndjson = new StringBuilder();
+        StringBuilder csv = new StringBuilder("projectId,projectTitle,taskTitle,taskDescription,taskStatus\n");
+        for (int p = 0; p < PROJECTS; p++) {
+            for (int i = 0; i < TASKS_PER_PROJECT; i++) {
+                ndjson.append(String.format(
+                        "{\"projectId\":%d,\"projectTitle\":\"Project %d\",\"taskTitle\":\"Task number %d\","
+                                + "\"taskDescription\":\"Description of task number %d\",\"taskStatus\":\"TODO\"}%n",
+                        p, p, i, i));
+                csv.append(String.format("%d,Project %d,Task number %d,Description of task number %d,TODO%n", p, p,
+                        i, i));
+            }
+        }
+
+        for (ExportFormat format : ExportFormat.values()) {
+            byte[] body = (format == ExportFormat.CSV ? csv : ndjson).toString().getBytes(StandardCharsets.UTF_8);
+
+            // execute
+            ImportReport report = importService.importRows(format, new ByteArrayInputStream(body));
+
+            // verify
+            System.out.printf("%s: %d rows, %d KiB, %d rows/s%n", format, report.getRowsRead(), body.length / 1024,
+                    report.getRowsPerSecond());
+            assertEquals(ImportStatus.COMPLETED, report.getStatus());
+            assertEquals(ROWS, report.getTasksCreated());
+            assertTrue(report.getRowsPerSecond() >= TARGET_ROWS_PER_SECOND,
+                    () -> report.getRowsPerSecond() + " rows/s is below the target of " + TARGET_ROWS_PER_SECOND);
+        }
+    }
+}
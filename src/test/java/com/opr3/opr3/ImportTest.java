@@ -0,0 +1,137 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.dto.ExportFormat;
+import com.opr3.opr3.dto.ImportReport;
+import com.opr3.opr3.dto.ImportReport.ImportStatus;
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.ProjectResponse;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ExportService;
+import com.opr3.opr3.service.ImportService;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.TaskService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+// small chunks, so projects and their tasks end up in different transactions
+@TestPropertySource(properties = "app.import.chunk-size=2")
+class ImportTest {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        authenticateAsNewUser();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldImportOwnExportIntoAnotherAccount() {
+        // setup
+        Integer projectId = projectService.createProject(new ProjectCreateRequest("Source", "desc", null)).getId();
+        taskService.createTask(projectId, new TaskCreateRequest("t1", null, null, TaskStatus.TODO));
+        taskService.createTask(projectId, new TaskCreateRequest("t2", null, null, TaskStatus.DONE));
+        taskService.createTask(projectId, new TaskCreateRequest("t3", null, null, TaskStatus.DONE));
+        projectService.createProject(new ProjectCreateRequest("Empty", null, null));
+
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        exportService.writeExport(ExportFormat.CSV, ExportService.Cursor.START, false, export);
+        authenticateAsNewUser();
+
+        // execute
+        ImportReport report = importService.importRows(ExportFormat.CSV,
+                new ByteArrayInputStream(export.toByteArray()));
+
+        // verify
+        assertEquals(ImportStatus.COMPLETED, report.getStatus());
+        assertEquals(4, report.getRowsRead());
+        assertEquals(2, report.getProjectsCreated());
+        assertEquals(3, report.getTasksCreated());
+
+        List<ProjectResponse> projects = new TransactionTemplate(transactionManager)
+                .execute(status -> projectService.getAllUserProjects());
+        assertEquals(2, projects.size());
+        ProjectResponse source = projects.stream().filter(p -> p.getTitle().equals("Source")).findFirst().orElseThrow();
+        assertEquals(3, source.getTasks().size());
+        assertEquals(1, source.getTodoCount());
+        assertEquals(2, source.getDoneCount());
+    }
+
+    @Test
+    void shouldReportRejectedRowsAndImportTheRest() {
+        // setup
+        String ndjson = """
+                {"projectId": 7, "projectTitle": "Migrated", "taskTitle": "ok"}
+                {"projectId": 7, "taskTitle": " "}
+                not json
+                {"projectId": 7, "taskTitle": "bad status", "taskStatus": "LATER"}
+                {"projectId": 8, "projectTitle": ""}
+
+                {"projectId": 7, "taskTitle": "also ok", "taskStatus": "IN_PROGRESS"}
+                """;
+
+        // execute
+        ImportReport report = importService.importRows(ExportFormat.NDJSON,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        // verify
+        assertEquals(ImportStatus.COMPLETED, report.getStatus());
+        assertEquals(6, report.getRowsRead());
+        assertEquals(1, report.getProjectsCreated());
+        assertEquals(2, report.getTasksCreated());
+        assertEquals(4, report.getErrorCount());
+        assertEquals(List.of(2L, 3L, 4L, 5L), report.getErrors().stream().map(e -> e.getRow()).toList());
+        assertEquals("Task title cannot be blank", report.getErrors().get(0).getMessage());
+        assertEquals("Invalid value for taskStatus", report.getErrors().get(2).getMessage());
+        assertEquals(List.of(report), importService.getImports());
+    }
+
+    private void authenticateAsNewUser() {
+        String name = "importer-" + System.nanoTime();
+        User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
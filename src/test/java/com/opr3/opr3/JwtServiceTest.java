@@ -4,13 +4,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.spy;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseCookie;
 import org.springframework.test.context.ActiveProfiles;
@@ -22,6 +21,7 @@ import com.opr3.opr3.service.JwtService;
 import com.opr3.opr3.test_util.MockJwtService;
 
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ActiveProfiles("test")
 @ExtendWith(MockitoExtension.class)
@@ -35,12 +35,11 @@ public class JwtServiceTest {
     private MockJwtService mockJwtService;
     private User mockUser;
 
-    @Spy
-    @InjectMocks
     private JwtService jwtService;
 
     @BeforeEach
     void setUp() {
+        jwtService = spy(new JwtService(new SimpleMeterRegistry()));
         mockJwtService = new MockJwtService();
 
         mockJwtToken = "mock.jwt.token";
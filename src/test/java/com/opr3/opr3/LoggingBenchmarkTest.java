@@ -0,0 +1,188 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.filter.LoggingFilter;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.TaskService;
+import com.opr3.opr3.test_util.MockJwtService;
+
+/**
+ * Reads a project of 20 tasks from 16 client threads with application logging
+ * off, on at the shipped DEBUG level for every request, and at DEBUG for a 10%
+ * sample of requests, and reports throughput and p50/p99 latency. The three
+ * modes take turns in one application over several rounds, so drift of the
+ * machine hits them alike; the spread over the rounds is printed next to the
+ * median. Logging goes through the asynchronous appenders of
+ * {@code logback-spring.xml}. Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+class LoggingBenchmarkTest {
+
+    private static final int TASKS = 20;
+    private static final int CLIENTS = 16;
+    private static final int REQUESTS_PER_CLIENT = 100;
+    private static final int ROUNDS = 5;
+    private static final String APP_LOGGER = "com.opr3.opr3";
+
+    private enum Mode {
+        OFF(LogLevel.OFF, 1.0), ON(LogLevel.DEBUG, 1.0), SAMPLED(LogLevel.DEBUG, 0.1);
+
+        private final LogLevel level;
+        private final double sampleRate;
+
+        Mode(LogLevel level, double sampleRate) {
+            this.level = level;
+            this.sampleRate = sampleRate;
+        }
+    }
+
+    private record Result(long requestsPerSecond, double p50Ms, double p99Ms) {
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoggingFilter loggingFilter;
+
+    @Autowired
+    private LoggingSystem loggingSystem;
+
+    @Test
+    void readProjects() throws Exception {
+        String name = "logging-bench-" + System.nanoTime();
+        User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        Integer projectId = projectService.createProject(new ProjectCreateRequest("Logged", null, null)).getId();
+        for (int i = 0; i < TASKS; i++) {
+            taskService.createTask(projectId, new TaskCreateRequest("Task " + i, null, null, TaskStatus.TODO));
+        }
+        SecurityContextHolder.clearContext();
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                "http://localhost:" + port + "/api/projects/" + projectId))
+                .header("Authorization", "Bearer " + new MockJwtService().generateValidToken(user))
+                .build();
+
+        Map<Mode, List<Result>> results = new LinkedHashMap<>();
+        try {
+            // warm up in every mode
+            for (Mode mode : Mode.values()) {
+                apply(mode);
+                load(client, request, REQUESTS_PER_CLIENT);
+                results.put(mode, new ArrayList<>());
+            }
+
+            // each round starts with another mode
+            Mode[] modes = Mode.values();
+            for (int round = 0; round < ROUNDS; round++) {
+                for (int i = 0; i < modes.length; i++) {
+                    Mode mode = modes[(round + i) % modes.length];
+                    apply(mode);
+                    results.get(mode).add(measure(client, request));
+                }
+            }
+        } finally {
+            apply(Mode.ON);
+        }
+
+        results.forEach((mode, rounds) -> System.out.printf(
+                "logging %-7s: %s req/s, p50 %s ms, p99 %s ms (median [min-max] of %d rounds of %d requests)%n",
+                mode.name().toLowerCase(), spread(rounds.stream().mapToDouble(Result::requestsPerSecond).toArray()),
+                spread(rounds.stream().mapToDouble(Result::p50Ms).toArray()),
+                spread(rounds.stream().mapToDouble(Result::p99Ms).toArray()), ROUNDS, CLIENTS * REQUESTS_PER_CLIENT));
+    }
+
+    private void apply(Mode mode) {
+        loggingSystem.setLogLevel(APP_LOGGER, mode.level);
+        ReflectionTestUtils.setField(loggingFilter, "sampleRate", mode.sampleRate);
+    }
+
+    private Result measure(HttpClient client, HttpRequest request) throws Exception {
+        long start = System.nanoTime();
+        long[] latencies = load(client, request, REQUESTS_PER_CLIENT);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        Arrays.sort(latencies);
+        assertEquals(CLIENTS * REQUESTS_PER_CLIENT, latencies.length);
+        return new Result(latencies.length * 1000L / elapsedMs, latencies[latencies.length / 2] / 1e6,
+                latencies[latencies.length * 99 / 100] / 1e6);
+    }
+
+    private static String spread(double[] values) {
+        Arrays.sort(values);
+        return String.format("%.1f [%.1f-%.1f]", values[values.length / 2], values[0], values[values.length - 1]);
+    }
+
+    private long[] load(HttpClient client, HttpRequest request, int requestsPerClient) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                results.add(executor.submit(() -> {
+                    long[] latencies = new long[requestsPerClient];
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        long start = System.nanoTime();
+                        assertEquals(200,
+                                client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                    return latencies;
+                }));
+            }
+            long[] latencies = new long[CLIENTS * requestsPerClient];
+            for (int c = 0; c < CLIENTS; c++) {
+                System.arraycopy(results.get(c).get(), 0, latencies, c * requestsPerClient, requestsPerClient);
+            }
+            return latencies;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
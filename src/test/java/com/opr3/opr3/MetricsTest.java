@@ -0,0 +1,75 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.test_util.MockJwtService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@AutoConfigureObservability
+class MetricsTest {
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void shouldExposeRequestPoolHibernateAndJwtMetrics() throws Exception {
+        // setup
+        String name = "metrics-" + System.nanoTime();
+        User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+
+        // execute: one authenticated and one rejected request
+        assertEquals(200, get(port, "/api/projects", new MockJwtService().generateValidToken(user)).statusCode());
+        assertEquals(401, get(port, "/api/projects", new MockJwtService().generateExpiredToken(user)).statusCode());
+        HttpResponse<String> scrape = get(managementPort, "/actuator/prometheus", null);
+
+        // verify
+        assertEquals(200, scrape.statusCode());
+        String metrics = scrape.body();
+        assertTrue(metrics.contains("http_server_requests_seconds_bucket{"), "request histogram");
+        assertTrue(metrics.contains("handler=\"ProjectController#getAllUserProjects\""), "handler tag");
+        assertTrue(metrics.contains("hikaricp_connections_active{"), "pool utilization");
+        assertTrue(metrics.contains("hikaricp_connections_acquire_seconds_bucket{"), "pool wait time");
+        assertTrue(metrics.contains("hibernate_statements_total{"), "statement count");
+        assertTrue(metrics.contains("jwt_filter_seconds_count{outcome=\"authenticated\"} 1"), "filter timer");
+        assertTrue(metrics.contains("jwt_filter_seconds_count{outcome=\"rejected\"} 1"), "filter timer");
+        assertTrue(metrics.contains("jwt_validation_seconds_count{status=\"VALID\"} 1"), "validation timer");
+        assertTrue(metrics.contains("jwt_validation_seconds_count{status=\"EXPIRED\"} 1"), "validation timer");
+
+        // verify: not served on the API port
+        assertNotEquals(200, get(port, "/actuator/prometheus", null).statusCode());
+    }
+
+    private HttpResponse<String> get(int port, String path, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
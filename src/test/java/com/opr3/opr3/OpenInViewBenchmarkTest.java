@@ -0,0 +1,188 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.test_util.MockJwtService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Reads a project of 2000 tasks from 16 client threads through a pool of 4
+ * connections, once with Open-Session-in-View enabled and once without, and
+ * reports throughput and how busy the pool was. With OSIV the connection stays
+ * checked out while the response is serialized and sent. The run without it
+ * goes second, after the JVM has warmed up on the first. Run with
+ * {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+class OpenInViewBenchmarkTest {
+
+    private static final int TASKS = 2000;
+    private static final int CLIENTS = 16;
+    private static final int REQUESTS_PER_CLIENT = 100;
+
+    @Nested
+    @Order(1)
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @ActiveProfiles("test")
+    @TestPropertySource(properties = { "spring.jpa.open-in-view=true", "spring.jpa.show-sql=false",
+            "spring.datasource.hikari.maximum-pool-size=4" })
+    class WithOpenInView extends Workload {
+
+        @Test
+        void readProjects() throws Exception {
+            run("open-in-view on ");
+        }
+    }
+
+    @Nested
+    @Order(2)
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @ActiveProfiles("test")
+    @TestPropertySource(properties = { "spring.jpa.open-in-view=false", "spring.jpa.show-sql=false",
+            "spring.datasource.hikari.maximum-pool-size=4" })
+    class WithoutOpenInView extends Workload {
+
+        @Test
+        void readProjects() throws Exception {
+            run("open-in-view off");
+        }
+    }
+
+    abstract static class Workload {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private ProjectService projectService;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private DataSource dataSource;
+
+        void run(String label) throws Exception {
+            String name = "osiv-bench-" + System.nanoTime();
+            User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+            Integer projectId = projectService.createProject(new ProjectCreateRequest("Large", null, null)).getId();
+            SecurityContextHolder.clearContext();
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> rows = new ArrayList<>(TASKS);
+            for (int i = 0; i < TASKS; i++) {
+                rows.add(new Object[] { projectId, user.getUid(), "Task number " + i,
+                        "Description of task " + i, now, now });
+            }
+            jdbcTemplate.batchUpdate("""
+                    insert into task (project_id, owner_uid, title, description, status, created_at, updated_at,
+                        version, sync_seq)
+                    values (?, ?, ?, ?, 'TODO', ?, ?, 0, 0)
+                    """, rows);
+
+            HttpClient client = HttpClient.newHttpClient();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(
+                    "http://localhost:" + port + "/api/projects/" + projectId))
+                    .header("Authorization", "Bearer " + new MockJwtService().generateValidToken(user))
+                    .build();
+
+            // warm up
+            load(client, request, 20);
+
+            HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            AtomicBoolean sampling = new AtomicBoolean(true);
+            long[] samples = new long[3];
+            Thread sampler = new Thread(() -> {
+                while (sampling.get()) {
+                    samples[0]++;
+                    samples[1] += pool.getActiveConnections();
+                    samples[2] += pool.getThreadsAwaitingConnection();
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+
+            sampler.start();
+            long start = System.nanoTime();
+            int ok = load(client, request, REQUESTS_PER_CLIENT);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            sampling.set(false);
+            sampler.join();
+
+            double busy = samples[1] / (double) samples[0];
+            System.out.printf("%s: %d requests in %d ms (%d req/s); %.2f of 4 connections busy, %.1f ms of "
+                    + "connection time per request, %.2f threads waiting for one on average%n", label, ok,
+                    elapsedMs, ok * 1000L / elapsedMs, busy, busy * elapsedMs / ok, samples[2] / (double) samples[0]);
+            assertEquals(CLIENTS * REQUESTS_PER_CLIENT, ok);
+        }
+
+        private int load(HttpClient client, HttpRequest request, int requestsPerClient) throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+            try {
+                List<Future<Integer>> results = new ArrayList<>();
+                for (int c = 0; c < CLIENTS; c++) {
+                    results.add(executor.submit(() -> {
+                        int ok = 0;
+                        for (int i = 0; i < requestsPerClient; i++) {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                                ok++;
+                            }
+                        }
+                        return ok;
+                    }));
+                }
+                int ok = 0;
+                for (Future<Integer> result : results) {
+                    ok += result.get();
+                }
+                return ok;
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+}
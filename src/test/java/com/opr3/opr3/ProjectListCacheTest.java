@@ -0,0 +1,130 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.ProjectResponse;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectListCache;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.TaskService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProjectListCacheTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectListCache projectListCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.findUserByEmail("test2@email.com").orElseThrow();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldServeListFromCacheUntilUserDataChanges() {
+        // setup
+        Integer projectId = projectService.createProject(new ProjectCreateRequest("Cached list", null, null)).getId();
+        List<ProjectResponse> first = getAllUserProjects();
+
+        // execute
+        List<ProjectResponse> second = getAllUserProjects();
+        taskService.createTask(projectId, new TaskCreateRequest("new task", null, null, null));
+        List<ProjectResponse> third = getAllUserProjects();
+
+        // verify
+        assertSame(first, second);
+        assertNotSame(second, third);
+        assertEquals(1, third.stream()
+                .filter(project -> project.getId().equals(projectId))
+                .findFirst().orElseThrow()
+                .getTasks().size());
+    }
+
+    @Test
+    void shouldCollapseConcurrentMissesIntoOneLoad() throws Exception {
+        // setup
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // execute
+        List<Future<List<ProjectResponse>>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return projectListCache.get("collapsed-user", uid -> {
+                    loads.incrementAndGet();
+                    sleep(200);
+                    return List.of();
+                });
+            }));
+        }
+        start.countDown();
+
+        // verify
+        List<ProjectResponse> shared = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<List<ProjectResponse>> result : results) {
+            assertSame(shared, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        executor.shutdownNow();
+    }
+
+    private List<ProjectResponse> getAllUserProjects() {
+        // outside a web request there is no open session for the lazy task lists
+        return new TransactionTemplate(transactionManager).execute(status -> projectService.getAllUserProjects());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
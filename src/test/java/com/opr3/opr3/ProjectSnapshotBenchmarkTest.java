@@ -0,0 +1,130 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.ProjectSnapshotService;
+import com.opr3.opr3.service.ProjectSnapshotService.Snapshot;
+
+/**
+ * Reads a project of 1000 tasks repeatedly, once built from the live tables and
+ * once from its snapshot after archiving, and reports the size of the stored
+ * snapshot next to the JSON it replaces. Run with
+ * {@code ./mvnw test -Pbenchmark}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+class ProjectSnapshotBenchmarkTest {
+
+    private static final int TASKS = 1000;
+    private static final int READS = 500;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectSnapshotService projectSnapshotService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Integer projectId;
+
+    @BeforeEach
+    void setUp() {
+        String name = "snapshot-bench-" + System.nanoTime();
+        User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        projectId = projectService.createProject(new ProjectCreateRequest("Snapshot", null, null)).getId();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            rows.add(new Object[] { projectId, user.getUid(), "Task number " + i,
+                    "Description of task " + i + ", written by the benchmark", i % 2 == 0 ? "TODO" : "DONE",
+                    now, now });
+        }
+        jdbcTemplate.batchUpdate("""
+                insert into task (project_id, owner_uid, title, description, status, created_at, updated_at,
+                    version, sync_seq)
+                values (?, ?, ?, ?, ?, ?, ?, 0, 0)
+                """, rows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void compareLiveAndSnapshotReads() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // execute: live reads, serialized as the endpoint does
+        timeReads(() -> objectMapper.writeValueAsBytes(
+                transaction.execute(status -> projectService.getProjectById(projectId))));
+        double liveMs = timeReads(() -> objectMapper.writeValueAsBytes(
+                transaction.execute(status -> projectService.getProjectById(projectId))));
+
+        projectService.archiveProject(projectId, null);
+        Snapshot snapshot = projectService.findArchivedSnapshot(projectId).orElseThrow();
+
+        // execute: snapshot reads, passed through as gzip or inflated
+        timeReads(() -> projectService.findArchivedSnapshot(projectId).orElseThrow().gzippedJson());
+        double gzipMs = timeReads(() -> projectService.findArchivedSnapshot(projectId).orElseThrow().gzippedJson());
+        double identityMs = timeReads(() -> projectSnapshotService.readJson(
+                projectService.findArchivedSnapshot(projectId).orElseThrow()));
+
+        // verify
+        System.out.printf("%d tasks: %d bytes of JSON stored as %d bytes; read %.3f ms live, "
+                + "%.3f ms from snapshot (gzip), %.3f ms from snapshot (identity)%n",
+                TASKS, snapshot.rawSize(), snapshot.gzippedJson().length, liveMs, gzipMs, identityMs);
+        assertTrue(snapshot.gzippedJson().length * 4 < snapshot.rawSize());
+        assertTrue(identityMs < liveMs);
+    }
+
+    private interface Read {
+        Object run() throws Exception;
+    }
+
+    private static double timeReads(Read read) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            read.run();
+        }
+        return (System.nanoTime() - start) / (double) READS / 1_000_000;
+    }
+}
@@ -0,0 +1,153 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opr3.opr3.dto.ProjectResponse;
+import com.opr3.opr3.dto.TaskResponse;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.ProjectSnapshotRepository;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.test_util.MockJwtService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ProjectSnapshotTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectSnapshotRepository projectSnapshotRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TestRestTemplate restTemplate;
+    private String accessToken;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        // HttpComponents decompresses gzip bodies unless told not to
+        restTemplate = new TestRestTemplate();
+        restTemplate.getRestTemplate().setRequestFactory(new HttpComponentsClientHttpRequestFactory(
+                HttpClients.custom().disableContentCompression().build()));
+
+        String name = "snapshot-" + System.nanoTime();
+        User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+        accessToken = new MockJwtService().generateValidToken(user);
+        baseUrl = "http://localhost:" + port + "/api/projects";
+    }
+
+    @Test
+    void shouldServeArchivedProjectFromSnapshot() throws IOException {
+        // setup
+        ProjectResponse project = exchange(baseUrl, HttpMethod.POST, "{\"title\": \"Frozen\"}", null,
+                ProjectResponse.class).getBody();
+        String projectUrl = baseUrl + "/" + project.getId();
+        exchange(projectUrl + "/tasks", HttpMethod.POST, "{\"title\": \"first\"}", null, TaskResponse.class);
+        exchange(projectUrl + "/tasks", HttpMethod.POST, "{\"title\": \"second\", \"status\": \"DONE\"}", null,
+                TaskResponse.class);
+
+        // execute
+        ResponseEntity<ProjectResponse> archived = exchange(projectUrl + "/archive", HttpMethod.PATCH, null, null,
+                ProjectResponse.class);
+        ResponseEntity<byte[]> identity = exchange(projectUrl, HttpMethod.GET, null, null, byte[].class);
+        ResponseEntity<byte[]> gzipped = exchange(projectUrl, HttpMethod.GET, null, "gzip", byte[].class);
+
+        // verify
+        assertTrue(projectSnapshotRepository.existsById(project.getId()));
+        assertEquals(archived.getHeaders().getETag(), identity.getHeaders().getETag());
+        assertNotEquals(identity.getHeaders().getETag(), gzipped.getHeaders().getETag());
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(gzipped.getHeaders().getCacheControl().contains("immutable"));
+        assertTrue(gzipped.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        assertArrayEquals(identity.getBody(), gunzip(gzipped.getBody()));
+
+        ProjectResponse fromSnapshot = objectMapper.readValue(identity.getBody(), ProjectResponse.class);
+        assertEquals(archived.getBody(), fromSnapshot);
+        assertTrue(fromSnapshot.getIsArchived());
+        assertEquals(List.of("first", "second"),
+                fromSnapshot.getTasks().stream().map(TaskResponse::getTitle).toList());
+
+        ProjectResponse[] list = exchange(baseUrl, HttpMethod.GET, null, null, ProjectResponse[].class).getBody();
+        assertEquals(List.of(fromSnapshot), List.of(list));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForEachEncoding() {
+        // setup
+        ProjectResponse project = exchange(baseUrl, HttpMethod.POST, "{\"title\": \"Cached\"}", null,
+                ProjectResponse.class).getBody();
+        String projectUrl = baseUrl + "/" + project.getId();
+        exchange(projectUrl + "/archive", HttpMethod.PATCH, null, null, ProjectResponse.class);
+        String identityETag = exchange(projectUrl, HttpMethod.GET, null, null, byte[].class).getHeaders().getETag();
+        String gzipETag = exchange(projectUrl, HttpMethod.GET, null, "gzip", byte[].class).getHeaders().getETag();
+
+        // execute
+        HttpHeaders identityHeaders = headers(null);
+        identityHeaders.setIfNoneMatch(identityETag);
+        HttpHeaders gzipHeaders = headers("gzip");
+        gzipHeaders.setIfNoneMatch(gzipETag);
+        HttpHeaders mismatchedHeaders = headers("gzip");
+        mismatchedHeaders.setIfNoneMatch(identityETag);
+
+        // verify
+        assertEquals(HttpStatus.NOT_MODIFIED, restTemplate.exchange(projectUrl, HttpMethod.GET,
+                new HttpEntity<>(identityHeaders), byte[].class).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, restTemplate.exchange(projectUrl, HttpMethod.GET,
+                new HttpEntity<>(gzipHeaders), byte[].class).getStatusCode());
+        assertEquals(HttpStatus.OK, restTemplate.exchange(projectUrl, HttpMethod.GET,
+                new HttpEntity<>(mismatchedHeaders), byte[].class).getStatusCode());
+    }
+
+    private <T> ResponseEntity<T> exchange(String url, HttpMethod method, String body, String acceptEncoding,
+            Class<T> responseType) {
+        return restTemplate.exchange(url, method, new HttpEntity<>(body, headers(acceptEncoding)), responseType);
+    }
+
+    private HttpHeaders headers(String acceptEncoding) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(accessToken);
+        if (acceptEncoding != null) {
+            headers.set(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return headers;
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.ProjectUpdateRequest;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.dto.TaskResponse;
+import com.opr3.opr3.dto.TaskStatusUpdateRequest;
+import com.opr3.opr3.dto.TaskUpdateRequest;
+import com.opr3.opr3.entity.Project;
+import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.job.TaskCounterRepairJob;
+import com.opr3.opr3.repository.ProjectRepository;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.TaskService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProjectTaskCountersTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskCounterRepairJob taskCounterRepairJob;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.findUserByEmail("test1@email.com").orElseThrow();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldMaintainCountersOnEveryTaskMutation() {
+        // setup
+        Integer projectId = projectService.createProject(new ProjectCreateRequest("Counters", null, null)).getId();
+
+        TaskResponse first = taskService.createTask(projectId, new TaskCreateRequest("first", null, null, null));
+        TaskResponse second = taskService.createTask(projectId,
+                new TaskCreateRequest("second", null, null, TaskStatus.TODO));
+        TaskResponse third = taskService.createTask(projectId,
+                new TaskCreateRequest("third", null, null, TaskStatus.DONE));
+
+        // execute
+        taskService.updateTaskStatus(first.getId(), new TaskStatusUpdateRequest(TaskStatus.IN_PROGRESS), null);
+        taskService.updateTask(second.getId(), new TaskUpdateRequest("second", null, null, TaskStatus.DONE), null);
+        taskService.deleteTask(third.getId());
+
+        // verify
+        Project project = projectRepository.findById(projectId).orElseThrow();
+        assertEquals(0, project.getTodoCount());
+        assertEquals(1, project.getInProgressCount());
+        assertEquals(1, project.getDoneCount());
+    }
+
+    @Test
+    void shouldRepairDriftedCounters() {
+        // setup
+        Integer projectId = projectService.createProject(new ProjectCreateRequest("Repair", null, null)).getId();
+        taskService.createTask(projectId, new TaskCreateRequest("todo", null, null, TaskStatus.TODO));
+        taskService.createTask(projectId, new TaskCreateRequest("done", null, null, TaskStatus.DONE));
+
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> projectRepository.adjustTaskCounters(projectId, 5, 3, -1, 0));
+
+        // execute
+        taskCounterRepairJob.repairTaskCounters();
+
+        // verify
+        Project project = projectRepository.findById(projectId).orElseThrow();
+        assertEquals(1, project.getTodoCount());
+        assertEquals(0, project.getInProgressCount());
+        assertEquals(1, project.getDoneCount());
+    }
+
+    @Test
+    void shouldNotWriteBackCountersOnProjectSave() {
+        // setup
+        Integer projectId = projectService.createProject(new ProjectCreateRequest("Stale", null, null)).getId();
+        taskService.createTask(projectId, new TaskCreateRequest("todo", null, null, TaskStatus.TODO));
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // execute: a concurrent increment lands between loading and saving the project
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Project project = projectRepository.findById(projectId).orElseThrow();
+            concurrent.executeWithoutResult(
+                    inner -> projectRepository.adjustTaskCounters(projectId, 1, 0, 0, 0));
+            assertEquals(1, project.getTodoCount());
+            projectService.updateProject(projectId, new ProjectUpdateRequest("Saved", null, null), null);
+        });
+
+        // verify
+        Project project = projectRepository.findById(projectId).orElseThrow();
+        assertEquals("Saved", project.getTitle());
+        assertEquals(2, project.getTodoCount());
+    }
+}
@@ -0,0 +1,81 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.opr3.opr3.websocket.PushConnection;
+
+@ExtendWith(MockitoExtension.class)
+class PushConnectionTest {
+
+    @Mock
+    private WebSocketSession session;
+
+    // runs queued drains only when the test asks for it, simulating a busy sender
+    private final Queue<Runnable> pending = new ArrayDeque<>();
+
+    private PushConnection connection;
+
+    @BeforeEach
+    void setUp() {
+        when(session.isOpen()).thenReturn(true);
+        connection = new PushConnection(session, "1", 2, pending::add);
+    }
+
+    @Test
+    void shouldSendQueuedMessagesInOrder() throws Exception {
+        // setup
+        TextMessage first = new TextMessage("1");
+        TextMessage second = new TextMessage("2");
+
+        // execute
+        connection.offer(first);
+        connection.offer(second);
+        runPending();
+
+        // verify
+        InOrder order = inOrder(session);
+        order.verify(session).sendMessage(first);
+        order.verify(session).sendMessage(second);
+        assertEquals(0, connection.getOverflows());
+    }
+
+    @Test
+    void shouldReplaceBacklogWithResyncWhenQueueOverflows() throws Exception {
+        // setup
+        TextMessage first = new TextMessage("1");
+
+        // execute
+        connection.offer(first);
+        connection.offer(new TextMessage("2"));
+        connection.offer(new TextMessage("3"));
+        runPending();
+
+        // verify
+        verify(session, never()).sendMessage(first);
+        verify(session).sendMessage(new TextMessage("{\"type\":\"RESYNC\"}"));
+        assertEquals(1, connection.getOverflows());
+    }
+
+    private void runPending() {
+        Runnable drain;
+        while ((drain = pending.poll()) != null) {
+            drain.run();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opr3.opr3.config.ReactiveApiConfig.ReactiveApiServer;
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.TaskService;
+import com.opr3.opr3.test_util.MockJwtService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "app.reactive.port=0")
+class ReactiveReadApiTest {
+
+    @LocalServerPort
+    private int servletPort;
+
+    @Autowired
+    private ReactiveApiServer reactiveApiServer;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final MockJwtService jwtService = new MockJwtService();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldAnswerLikeTheServletEndpoints() throws Exception {
+        // setup
+        User user = createUser("reactive");
+        Integer projectId = projectService.createProject(new ProjectCreateRequest("Reactive", null, null)).getId();
+        Integer taskId = taskService.createTask(projectId,
+                new TaskCreateRequest("First", null, null, TaskStatus.TODO)).getId();
+        taskService.createTask(projectId, new TaskCreateRequest("Second", null, null, TaskStatus.DONE));
+        String token = jwtService.generateValidToken(user);
+
+        for (String path : new String[] { "/api/projects", "/api/projects/" + projectId,
+                "/api/projects/" + projectId + "/tasks", "/api/projects/" + projectId + "/tasks/" + taskId }) {
+            // execute
+            HttpResponse<String> servlet = get(servletPort, path, token, null);
+            HttpResponse<String> reactive = get(reactiveApiServer.getPort(), path, token, null);
+
+            // verify: same body and ETag
+            assertEquals(200, reactive.statusCode(), path);
+            assertEquals(objectMapper.readTree(servlet.body()), objectMapper.readTree(reactive.body()), path);
+            String etag = reactive.headers().firstValue("ETag").orElse(null);
+            assertNotNull(etag, path);
+            assertEquals(servlet.headers().firstValue("ETag").orElse(null), etag, path);
+
+            // execute + verify: conditional request
+            assertEquals(304, get(reactiveApiServer.getPort(), path, token, etag).statusCode(), path);
+        }
+    }
+
+    @Test
+    void shouldRejectBadTokensAndForeignProjects() throws Exception {
+        // setup
+        User owner = createUser("owner");
+        Integer projectId = projectService.createProject(new ProjectCreateRequest("Owned", null, null)).getId();
+        User other = createUser("other");
+        int port = reactiveApiServer.getPort();
+
+        // execute + verify
+        assertEquals(401, get(port, "/api/projects", null, null).statusCode());
+        assertEquals(401, get(port, "/api/projects", jwtService.generateExpiredToken(owner), null).statusCode());
+
+        HttpResponse<String> foreign = get(port, "/api/projects/" + projectId, jwtService.generateValidToken(other),
+                null);
+        assertEquals(400, foreign.statusCode());
+        assertEquals("Project not found", objectMapper.readTree(foreign.body()).get("message").asText());
+    }
+
+    private User createUser(String prefix) {
+        String name = prefix + "-" + System.nanoTime();
+        User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        return user;
+    }
+
+    private HttpResponse<String> get(int port, String path, String token, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
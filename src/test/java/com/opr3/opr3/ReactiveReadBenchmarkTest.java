@@ -0,0 +1,224 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.opr3.opr3.config.ReactiveApiConfig.ReactiveApiServer;
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.test_util.MockJwtService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Keeps 4,000 clients connected that each poll their project list every 20
+ * seconds with {@code If-None-Match}, first against the servlet endpoints and
+ * then against the reactive ones, and reports how many server threads and
+ * database connections each stack used, plus throughput and p99 latency. The
+ * clients run on a non-blocking HTTP client with two threads of its own, so
+ * they do not add to the threads counted. Needs about two file descriptors per
+ * client; {@code -Dbenchmark.clients=N} runs another number. Run with
+ * {@code ./mvnw test -Pbenchmark}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Tag("benchmark")
+@TestPropertySource(properties = { "spring.jpa.show-sql=false", "app.reactive.port=0",
+        "logging.level.com.opr3.opr3=WARN" })
+class ReactiveReadBenchmarkTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 4_000);
+    private static final int USERS = 100;
+    private static final long POLL_MS = 20_000;
+    private static final long RUN_MS = 40_000;
+
+    @LocalServerPort
+    private int servletPort;
+
+    @Autowired
+    private ReactiveApiServer reactiveApiServer;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private record Usage(int polls, int failures, long p50Ms, long p99Ms, int serverThreads, int busyConnections,
+            int threadsWaitingForConnection) {
+    }
+
+    @Test
+    void pollProjectLists() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        MockJwtService jwtService = new MockJwtService();
+        for (int i = 0; i < USERS; i++) {
+            String name = "reactive-bench-" + System.nanoTime();
+            User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+            projectService.createProject(new ProjectCreateRequest("Polled", null, null));
+            tokens.add(jwtService.generateValidToken(user));
+        }
+        SecurityContextHolder.clearContext();
+
+        LoopResources loops = LoopResources.create("bench-client", 2, true);
+        ConnectionProvider connections = ConnectionProvider.builder("bench")
+                .maxConnections(CLIENTS)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        try {
+            // warm up
+            poll(loops, connections, servletPort, tokens, 50, 1000, 5000, "http-nio-");
+            poll(loops, connections, reactiveApiServer.getPort(), tokens, 50, 1000, 5000, "reactor-http-",
+                    "reactive-db-");
+
+            Usage servlet = poll(loops, connections, servletPort, tokens, CLIENTS, POLL_MS, RUN_MS, "http-nio-");
+            print("servlet ", servlet);
+            Usage reactive = poll(loops, connections, reactiveApiServer.getPort(), tokens, CLIENTS, POLL_MS, RUN_MS,
+                    "reactor-http-", "reactive-db-");
+            print("reactive", reactive);
+
+            assertEquals(0, reactive.failures());
+            assertTrue(reactive.serverThreads() < servlet.serverThreads());
+        } finally {
+            connections.dispose();
+            loops.dispose();
+        }
+    }
+
+    private Usage poll(LoopResources loops, ConnectionProvider connections, int port, List<String> tokens,
+            int clients, long pollMs, long runMs, String... serverThreadPrefixes) throws Exception {
+        HttpClient client = HttpClient.create(connections)
+                .runOn(loops)
+                .baseUrl("http://localhost:" + port)
+                .responseTimeout(Duration.ofSeconds(30));
+
+        long[] latencies = new long[(int) (clients * (runMs / pollMs + 1))];
+        AtomicInteger polls = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        AtomicBoolean sampling = new AtomicBoolean(true);
+        int[] peaks = new int[3];
+        Thread sampler = new Thread(() -> {
+            while (sampling.get()) {
+                int serverThreads = 0;
+                for (ThreadInfo thread : threads.getThreadInfo(threads.getAllThreadIds(), 0)) {
+                    if (thread != null
+                            && Arrays.stream(serverThreadPrefixes).anyMatch(thread.getThreadName()::startsWith)) {
+                        serverThreads++;
+                    }
+                }
+                peaks[0] = Math.max(peaks[0], serverThreads);
+                peaks[1] = Math.max(peaks[1], pool.getActiveConnections());
+                peaks[2] = Math.max(peaks[2], pool.getThreadsAwaitingConnection());
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        sampler.start();
+        Flux.range(0, clients)
+                .flatMap(c -> {
+                    String token = tokens.get(c % tokens.size());
+                    AtomicReference<String> etag = new AtomicReference<>();
+                    return Flux.interval(Duration.ofMillis(c * pollMs / clients), Duration.ofMillis(pollMs))
+                            .onBackpressureDrop()
+                            .take(Duration.ofMillis(runMs))
+                            .concatMap(tick -> pollOnce(client, token, etag, latencies, polls, failures), 1);
+                }, clients)
+                .blockLast();
+        sampling.set(false);
+        sampler.join();
+
+        int completed = Math.min(polls.get(), latencies.length);
+        long[] measured = Arrays.copyOf(latencies, completed);
+        Arrays.sort(measured);
+        return new Usage(completed, failures.get(),
+                completed == 0 ? 0 : measured[completed / 2] / 1_000_000,
+                completed == 0 ? 0 : measured[(int) Math.ceil(completed * 0.99) - 1] / 1_000_000,
+                peaks[0], peaks[1], peaks[2]);
+    }
+
+    private static Mono<Integer> pollOnce(HttpClient client, String token, AtomicReference<String> etag,
+            long[] latencies, AtomicInteger polls, AtomicInteger failures) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return client
+                    .headers(headers -> {
+                        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+                        if (etag.get() != null) {
+                            headers.set(HttpHeaders.IF_NONE_MATCH, etag.get());
+                        }
+                    })
+                    .get()
+                    .uri("/api/projects")
+                    .responseSingle((response, body) -> body.asByteArray()
+                            .defaultIfEmpty(new byte[0])
+                            .map(bytes -> {
+                                int status = response.status().code();
+                                if (status != 200 && status != 304) {
+                                    throw new IllegalStateException("status " + status);
+                                }
+                                if (status == 200) {
+                                    etag.set(response.responseHeaders().get(HttpHeaders.ETAG));
+                                }
+                                int index = polls.getAndIncrement();
+                                if (index < latencies.length) {
+                                    latencies[index] = System.nanoTime() - start;
+                                }
+                                return status;
+                            }));
+        }).onErrorResume(e -> {
+            failures.incrementAndGet();
+            return Mono.empty();
+        });
+    }
+
+    private static void print(String label, Usage usage) {
+        System.out.printf("%s: %d clients, %d polls (%.0f/s), %d failed, p50 %d ms, p99 %d ms; peak %d server "
+                + "threads, %d busy database connections, %d threads waiting for one%n", label, CLIENTS,
+                usage.polls(), usage.polls() * 1000.0 / RUN_MS, usage.failures(), usage.p50Ms(), usage.p99Ms(),
+                usage.serverThreads(), usage.busyConnections(), usage.threadsWaitingForConnection());
+    }
+}
@@ -0,0 +1,174 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.test_util.MockJwtService;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class RecordingControllerTest {
+
+    private static final String ADMIN = "jfr-admin-" + System.nanoTime();
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws Exception {
+        Path directory = Files.createTempDirectory("recordings");
+        registry.add("app.admin.emails", () -> ADMIN + "@email.com");
+        registry.add("app.jfr.directory", directory::toString);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void shouldRecordApplicationEventsToDisk() throws Exception {
+        // setup
+        String token = adminToken();
+
+        // execute
+        HttpResponse<String> started = post("/api/admin/recordings?durationSeconds=60&settings=profile", token, "");
+        assertEquals(201, started.statusCode(), started.body());
+        long id = objectMapper.readTree(started.body()).get("id").asLong();
+        assertEquals(409, post("/api/admin/recordings", token, "").statusCode());
+        assertEquals(201, post("/api/projects", token, "{\"title\":\"Recorded\"}").statusCode());
+        HttpResponse<String> dumped = post("/api/admin/recordings/" + id + "/dump", token, "");
+        HttpResponse<String> stopped = post("/api/admin/recordings/" + id + "/stop", token, "");
+
+        // verify
+        assertEquals(200, dumped.statusCode(), dumped.body());
+        assertEquals(200, stopped.statusCode(), stopped.body());
+        JsonNode recording = objectMapper.readTree(stopped.body());
+        assertEquals("CLOSED", recording.get("state").asText());
+        Path file = Path.of(recording.get("file").asText());
+        assertTrue(Files.exists(Path.of(objectMapper.readTree(dumped.body()).get("file").asText())), "dump");
+        Set<String> events = RecordingFile.readAllEvents(file).stream()
+                .map(event -> event.getEventType().getName())
+                .collect(Collectors.toSet());
+        assertTrue(events.containsAll(Set.of("com.opr3.JwtValidation", "com.opr3.UserLoad",
+                "com.opr3.RepositoryCall", "com.opr3.DtoMapping")), events.toString());
+        assertEquals(404, post("/api/admin/recordings/" + id + "/stop", token, "").statusCode());
+    }
+
+    @Test
+    void shouldRecordOnlySlowCallsWithDefaultSettings() throws Exception {
+        // setup
+        String token = adminToken();
+
+        // execute
+        long id = objectMapper.readTree(post("/api/admin/recordings", token, "").body()).get("id").asLong();
+        assertEquals(201, post("/api/projects", token, "{\"title\":\"Recorded\"}").statusCode());
+        HttpResponse<String> stopped = post("/api/admin/recordings/" + id + "/stop", token, "");
+
+        // verify
+        assertEquals(200, stopped.statusCode(), stopped.body());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(
+                Path.of(objectMapper.readTree(stopped.body()).get("file").asText()));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.opr3.JwtValidation")));
+        assertTrue(events.stream()
+                .filter(event -> Set.of("com.opr3.RepositoryCall", "com.opr3.DtoMapping")
+                        .contains(event.getEventType().getName()))
+                .allMatch(event -> event.getDuration().compareTo(Duration.ofMillis(1)) >= 0));
+    }
+
+    @Test
+    void shouldReleaseRecordingsThatStoppedByThemselves() throws Exception {
+        // setup
+        String token = adminToken();
+        long id = objectMapper.readTree(post("/api/admin/recordings?durationSeconds=1", token, "").body())
+                .get("id").asLong();
+
+        // execute: list until the recording stopped after its duration
+        JsonNode finished = null;
+        for (int i = 0; i < 50 && finished == null; i++) {
+            Thread.sleep(200);
+            for (JsonNode recording : objectMapper.readTree(get("/api/admin/recordings", token).body())) {
+                if (recording.get("id").asLong() == id && !recording.get("state").asText().equals("RUNNING")) {
+                    finished = recording;
+                }
+            }
+        }
+        JsonNode next = objectMapper.readTree(post("/api/admin/recordings", token, "").body());
+        JsonNode last = objectMapper.readTree(post("/api/admin/recordings/" + next.get("id") + "/stop", token, "")
+                .body());
+
+        // verify: written, listed once and released, the next one in a file of its own
+        assertTrue(finished != null, "recording did not stop by itself");
+        assertTrue(Files.exists(Path.of(finished.get("file").asText())));
+        assertTrue(objectMapper.readTree(get("/api/admin/recordings", token).body()).isEmpty());
+        assertEquals(404, post("/api/admin/recordings/" + id + "/stop", token, "").statusCode());
+        assertNotEquals(finished.get("file").asText(), last.get("file").asText());
+        assertTrue(Files.exists(Path.of(last.get("file").asText())));
+    }
+
+    @Test
+    void shouldRejectNonAdministrators() throws Exception {
+        // setup
+        String name = "jfr-user-" + System.nanoTime();
+        User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+
+        // execute
+        HttpResponse<String> response = post("/api/admin/recordings", new MockJwtService().generateValidToken(user),
+                "");
+
+        // verify
+        assertEquals(403, response.statusCode());
+    }
+
+    private String adminToken() {
+        User admin = userRepository.findUserByEmail(ADMIN + "@email.com")
+                .orElseGet(() -> userRepository.save(new User(ADMIN, "password123", ADMIN + "@email.com")));
+        return new MockJwtService().generateValidToken(admin);
+    }
+
+    private HttpResponse<String> get(String path, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String token, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
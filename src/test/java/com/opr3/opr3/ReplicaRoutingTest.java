@@ -0,0 +1,146 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.ProjectResponse;
+import com.opr3.opr3.entity.Project;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs against two H2 databases standing in for primary and replica.
+ * Replication is done by hand with {@link #replicate()}, so anything written
+ * afterwards is "lag" that only the primary has.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:replica-${random.uuid};DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER",
+        "app.datasource.replica.username=sa",
+        "app.datasource.read-your-writes-ms=60000" })
+class ReplicaRoutingTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldReadFromReplicaUnlessUserWroteRecently() {
+        // setup: the writer changes data through the service, the reader's rows
+        // are written directly and raise no change event
+        User writer = createUser("writer");
+        User reader = createUser("reader");
+        authenticate(writer);
+        projectService.createProject(new ProjectCreateRequest("Writer 1", null, null));
+        insertProject(reader, "Reader 1");
+        replicate();
+
+        projectService.createProject(new ProjectCreateRequest("Writer 2", null, null));
+        insertProject(reader, "Reader 2");
+
+        // execute + verify: the reader sees the replica, lagging by one project
+        authenticate(reader);
+        assertEquals(List.of("Reader 1"), titles(projectService.getAllUserProjects()));
+
+        // execute + verify: the writer reads their own writes from the primary
+        authenticate(writer);
+        assertEquals(List.of("Writer 1", "Writer 2"), titles(projectService.getAllUserProjects()));
+
+        // verify: writes went to the primary only
+        assertEquals(4, jdbcTemplate.queryForObject(
+                "select count(*) from project where user_uid in (?, ?)", Integer.class,
+                writer.getUid(), reader.getUid()));
+    }
+
+    @Test
+    void shouldKeepReplicaReadsOutOfSharedCaches() {
+        // setup
+        User reader = createUser("cache");
+        insertProject(reader, "Replicated 1");
+        replicate();
+        authenticate(reader);
+
+        // execute
+        List<ProjectResponse> first = projectService.getAllUserProjects();
+        insertProject(reader, "Replicated 2");
+        replicate();
+        List<ProjectResponse> second = projectService.getAllUserProjects();
+
+        // verify: no project entity in the second-level cache, no stored list
+        assertFalse(entityManagerFactory.getCache().contains(Project.class, first.get(0).getId()));
+        assertEquals(List.of("Replicated 1"), titles(first));
+        assertEquals(List.of("Replicated 1", "Replicated 2"), titles(second));
+    }
+
+    private void replicate() {
+        String script = tempDir.resolve("replica-" + System.nanoTime() + ".sql").toString();
+        jdbcTemplate.execute("script to '" + script + "'");
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("drop all objects");
+        replica.execute("runscript from '" + script + "'");
+    }
+
+    private User createUser(String prefix) {
+        String name = prefix + "-" + System.nanoTime();
+        return userRepository.save(new User(name, "password123", name + "@email.com"));
+    }
+
+    private void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private void insertProject(User user, String title) {
+        jdbcTemplate.update("""
+                insert into project (user_uid, title, is_archived, todo_count, in_progress_count, done_count,
+                    created_at, updated_at, version, sync_seq)
+                values (?, ?, false, 0, 0, 0, current_timestamp, current_timestamp, 0, 0)
+                """, user.getUid(), title);
+    }
+
+    private static List<String> titles(List<ProjectResponse> projects) {
+        return projects.stream().map(ProjectResponse::getTitle).toList();
+    }
+}
@@ -0,0 +1,150 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.entity.Project;
+import com.opr3.opr3.entity.Task;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.ProjectRepository;
+import com.opr3.opr3.repository.TaskRepository;
+import com.opr3.opr3.repository.UserRepository;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Compares the read-heavy project/task workload with the second-level cache
+ * bypassed and in use. Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+class SecondLevelCacheBenchmarkTest {
+
+    private static final int PROJECTS = 50;
+    private static final int TASKS_PER_PROJECT = 20;
+    private static final int OPERATIONS = 20000;
+    // one write per twenty operations
+    private static final int WRITE_EVERY = 20;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+    private final List<Integer> projectIds = new ArrayList<>();
+    private final List<Integer> taskIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        User user = userRepository.findUserByEmail("test1@email.com").orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int p = 0; p < PROJECTS; p++) {
+                Project project = projectRepository.save(Project.builder()
+                        .user(user)
+                        .title("Benchmark " + p)
+                        .build());
+                projectIds.add(project.getId());
+
+                for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                    Task task = taskRepository.save(Task.builder()
+                            .project(project)
+                            .title("Task " + p + "/" + t)
+                            .status(Task.TaskStatus.TODO)
+                            .build());
+                    taskIds.add(task.getId());
+                }
+            }
+        });
+    }
+
+    @Test
+    void compareReadHeavyWorkloadWithAndWithoutCache() {
+        // warm up the JIT and, for the cached run, the regions
+        run(false);
+        run(true);
+
+        // execute
+        Result uncached = run(false);
+        Result cached = run(true);
+
+        // verify
+        System.out.printf("L2 cache off: %s%nL2 cache on:  %s%n", uncached, cached);
+        assertTrue(cached.statements() < uncached.statements());
+    }
+
+    private Result run(boolean cacheEnabled) {
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Random random = new Random(42);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            boolean write = i % WRITE_EVERY == 0;
+            Integer projectId = projectIds.get(random.nextInt(projectIds.size()));
+            Integer taskId = taskIds.get(random.nextInt(taskIds.size()));
+
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.setProperty("jakarta.persistence.cache.retrieveMode",
+                        cacheEnabled ? CacheRetrieveMode.USE : CacheRetrieveMode.BYPASS);
+                entityManager.setProperty("jakarta.persistence.cache.storeMode",
+                        cacheEnabled ? CacheStoreMode.USE : CacheStoreMode.BYPASS);
+                if (write) {
+                    taskRepository.findById(taskId).orElseThrow().setDescription("edited " + System.nanoTime());
+                } else {
+                    projectRepository.findById(projectId).orElseThrow().getTasks().size();
+                    taskRepository.findById(taskId).orElseThrow();
+                }
+            });
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long misses = statistics.getSecondLevelCacheMissCount();
+        return new Result(elapsedMs, statistics.getPrepareStatementCount(),
+                hits + misses == 0 ? 0 : Math.round(hits * 100.0 / (hits + misses)));
+    }
+
+    private record Result(long elapsedMs, long statements, long hitRatioPercent) {
+        @Override
+        public String toString() {
+            return String.format("%d ops in %d ms (%.0f ops/s), %d statements, hit ratio %d%%", OPERATIONS,
+                    elapsedMs, OPERATIONS * 1000.0 / Math.max(elapsedMs, 1), statements, hitRatioPercent);
+        }
+    }
+}
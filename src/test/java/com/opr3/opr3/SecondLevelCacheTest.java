@@ -0,0 +1,111 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.entity.Project;
+import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.ProjectRepository;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.TaskService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.findUserByEmail("test1@email.com").orElseThrow();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromCache() {
+        // setup
+        Integer projectId = projectService.createProject(new ProjectCreateRequest("Cached", null, null)).getId();
+        loadProjectWithTasks(projectId);
+        Statistics statistics = statistics();
+        long hitsBefore = statistics.getSecondLevelCacheHitCount();
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        // execute
+        loadProjectWithTasks(projectId);
+
+        // verify
+        assertTrue(statistics.getSecondLevelCacheHitCount() > hitsBefore);
+        assertEquals(statementsBefore, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldInvalidateOnlyTheWrittenProject() {
+        // setup
+        Integer written = projectService.createProject(new ProjectCreateRequest("Written", null, null)).getId();
+        Integer untouched = projectService.createProject(new ProjectCreateRequest("Untouched", null, null)).getId();
+        loadProjectWithTasks(written);
+        loadProjectWithTasks(untouched);
+
+        // execute
+        taskService.createTask(written, new TaskCreateRequest("new task", null, null, TaskStatus.DONE));
+
+        // verify
+        assertTrue(entityManagerFactory.getCache().contains(Project.class, untouched));
+        Project project = loadProjectWithTasks(written);
+        assertEquals(1, project.getDoneCount());
+        assertEquals(1, project.getTasks().size());
+    }
+
+    private Project loadProjectWithTasks(Integer projectId) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Project project = projectRepository.findById(projectId).orElseThrow();
+            project.getTasks().size();
+            return project;
+        });
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
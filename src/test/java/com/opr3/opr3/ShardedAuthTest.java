@@ -0,0 +1,124 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.UserService;
+import com.opr3.opr3.shard.ShardContext;
+import com.opr3.opr3.shard.ShardMap;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.sharding.additional-shards[0].jdbc-url=jdbc:h2:mem:shard1-${random.uuid};DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER",
+        "app.sharding.additional-shards[0].username=sa" })
+class ShardedAuthTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void shouldRotateAndRevokeTokensOfUsersOnDataShards() throws Exception {
+        // setup: a user whose data lives on shard 1
+        User user = createUser();
+        while (shardMap.shardOf(user.getUid()) == 0) {
+            user = createUser();
+        }
+        HttpResponse<String> login = send(HttpRequest.newBuilder(uri("/api/auth/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + user.getEmail() + "\",\"password\":\"password123\"}")));
+        assertEquals(200, login.statusCode(), login.body());
+
+        // execute: tokens of one second are equal, so wait before each rotation
+        Thread.sleep(1_100);
+        HttpResponse<String> first = refresh(login);
+        Thread.sleep(1_100);
+        HttpResponse<String> second = refresh(first);
+        HttpResponse<String> logout = send(HttpRequest.newBuilder(uri("/api/auth/logout"))
+                .header("Authorization", "Bearer " + accessToken(second))
+                .POST(HttpRequest.BodyPublishers.noBody()));
+        HttpResponse<String> afterLogout = refresh(second);
+
+        // verify
+        assertEquals(200, first.statusCode(), first.body());
+        assertEquals(200, second.statusCode(), second.body());
+        assertEquals(200, logout.statusCode(), logout.body());
+        assertEquals(401, afterLogout.statusCode(), afterLogout.body());
+        assertEquals(401, refresh(login).statusCode(), "token of the login");
+
+        // verify: every token is on the directory shard and revoked
+        String uid = user.getUid();
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "select count(*) from token where user_uid = ? and revoked", Integer.class, uid));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from token where user_uid = ? and not revoked", Integer.class, uid));
+        assertEquals(0, ShardContext.callOn(1, () -> jdbcTemplate.queryForObject(
+                "select count(*) from token where user_uid = ?", Integer.class, uid)));
+    }
+
+    private User createUser() {
+        // short names, the token column holds 255 characters
+        String name = "a" + System.nanoTime() % 1_000_000_000;
+        userService.postNewUser(new User(name, "password123", name + "@email.com"));
+        return userRepository.findUserByEmail(name + "@email.com").orElseThrow();
+    }
+
+    private HttpResponse<String> refresh(HttpResponse<String> tokens) throws Exception {
+        return send(HttpRequest.newBuilder(uri("/api/auth/refresh"))
+                .header("Authorization", "Bearer " + accessToken(tokens))
+                .header("Cookie", refreshCookie(tokens))
+                .POST(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private String accessToken(HttpResponse<String> tokens) throws Exception {
+        return objectMapper.readTree(tokens.body()).get("access_token").asText();
+    }
+
+    private static String refreshCookie(HttpResponse<String> tokens) {
+        String cookie = tokens.headers().firstValue("Set-Cookie").orElseThrow();
+        assertTrue(cookie.startsWith("refreshToken="), cookie);
+        return cookie.substring(0, cookie.indexOf(';'));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,169 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.TaskService;
+import com.opr3.opr3.service.UserService;
+import com.opr3.opr3.shard.ShardMap;
+
+/**
+ * Reads task lists from 32 threads for users on one, two and four of four
+ * shards and reports the throughput. Each shard has a pool of 2 connections
+ * and every read holds its connection for 5 ms more, standing in for a
+ * database that can only serve so much; the in-memory H2 shards share this
+ * machine's CPU and would not show the effect otherwise. Run with
+ * {@code ./mvnw test -Pbenchmark}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "app.sharding.additional-shards[0].jdbc-url=jdbc:h2:mem:bench-shard1-${random.uuid};DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER",
+        "app.sharding.additional-shards[0].username=sa",
+        "app.sharding.additional-shards[0].maximum-pool-size=2",
+        "app.sharding.additional-shards[1].jdbc-url=jdbc:h2:mem:bench-shard2-${random.uuid};DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER",
+        "app.sharding.additional-shards[1].username=sa",
+        "app.sharding.additional-shards[1].maximum-pool-size=2",
+        "app.sharding.additional-shards[2].jdbc-url=jdbc:h2:mem:bench-shard3-${random.uuid};DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER",
+        "app.sharding.additional-shards[2].username=sa",
+        "app.sharding.additional-shards[2].maximum-pool-size=2" })
+class ShardingBenchmarkTest {
+
+    private static final int USERS_PER_SHARD = 4;
+    private static final int THREADS = 32;
+    private static final long RUN_MS = 3000;
+    private static final long DATABASE_MS = 5;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private record Reader(User user, Integer projectId) {
+    }
+
+    @Test
+    void throughputScalesWithShards() throws Exception {
+        List<List<Reader>> readersByShard = new ArrayList<>();
+        for (int shard = 0; shard < shardMap.shardCount(); shard++) {
+            readersByShard.add(new ArrayList<>());
+        }
+        while (readersByShard.stream().anyMatch(readers -> readers.size() < USERS_PER_SHARD)) {
+            String name = "shard-bench-" + System.nanoTime();
+            userService.postNewUser(new User(name, "password123", name + "@email.com"));
+            User user = userRepository.findUserByEmail(name + "@email.com").orElseThrow();
+            List<Reader> readers = readersByShard.get(shardMap.shardOf(user.getUid()));
+            if (readers.size() < USERS_PER_SHARD) {
+                readers.add(new Reader(user, createProject(user)));
+            }
+        }
+
+        // warm up
+        run(readersByShard.get(0), 500);
+
+        double[] throughput = new double[5];
+        for (int shards : new int[] { 1, 2, 4 }) {
+            List<Reader> readers = new ArrayList<>();
+            for (int shard = 0; shard < shards; shard++) {
+                readers.addAll(readersByShard.get(shard));
+            }
+            throughput[shards] = run(readers, RUN_MS);
+            System.out.printf("%d shard(s): %.0f reads/s (%.2fx)%n", shards, throughput[shards],
+                    throughput[shards] / throughput[1]);
+        }
+
+        assertTrue(throughput[4] > 3 * throughput[1]);
+    }
+
+    private Integer createProject(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        try {
+            Integer projectId = projectService.createProject(new ProjectCreateRequest("Bench", null, null)).getId();
+            for (int i = 0; i < 20; i++) {
+                taskService.createTask(projectId, new TaskCreateRequest("Task " + i, null, null, TaskStatus.TODO));
+            }
+            return projectId;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private double run(List<Reader> readers, long runMs) throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            long end = start + runMs * 1_000_000;
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t;
+                results.add(executor.submit(() -> {
+                    int reads = 0;
+                    while (System.nanoTime() < end) {
+                        Reader reader = readers.get((offset + reads) % readers.size());
+                        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                                reader.user(), null, reader.user().getAuthorities()));
+                        transaction.executeWithoutResult(status -> {
+                            taskService.getProjectTasks(reader.projectId());
+                            try {
+                                Thread.sleep(DATABASE_MS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+                        reads++;
+                    }
+                    SecurityContextHolder.clearContext();
+                    return reads;
+                }));
+            }
+            int reads = 0;
+            for (Future<Integer> result : results) {
+                reads += result.get();
+            }
+            return reads * 1e9 / (System.nanoTime() - start);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
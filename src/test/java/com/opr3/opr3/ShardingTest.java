@@ -0,0 +1,176 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.ProjectResponse;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.dto.TaskResponse;
+import com.opr3.opr3.dto.TaskStatusUpdateRequest;
+import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.TaskService;
+import com.opr3.opr3.service.UserService;
+import com.opr3.opr3.shard.ShardContext;
+import com.opr3.opr3.shard.ShardMap;
+import com.opr3.opr3.shard.ShardMigrationService;
+import com.opr3.opr3.shard.ShardMigrationService.Migration;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.sharding.additional-shards[0].jdbc-url=jdbc:h2:mem:shard1-${random.uuid};DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER",
+        "app.sharding.additional-shards[0].username=sa",
+        "app.sharding.additional-shards[1].jdbc-url=jdbc:h2:mem:shard2-${random.uuid};DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER",
+        "app.sharding.additional-shards[1].username=sa" })
+class ShardingTest {
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private ShardMigrationService shardMigrationService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldKeepEachUsersDataOnTheirShard() {
+        // setup: users on two different shards
+        User first = createUser("first");
+        User second = createUser("second");
+        while (shardMap.shardOf(second.getUid()) == shardMap.shardOf(first.getUid())) {
+            second = createUser("second");
+        }
+        int firstShard = shardMap.shardOf(first.getUid());
+        int secondShard = shardMap.shardOf(second.getUid());
+
+        // execute
+        authenticate(first);
+        Integer firstProject = createProjectWithTask("First");
+        authenticate(second);
+        Integer secondProject = createProjectWithTask("Second");
+
+        // verify: rows only on the owner's shard, ids from the shard's block
+        assertEquals(1, countProjects(firstShard, first));
+        assertEquals(0, countProjects(secondShard, first));
+        assertEquals(1, countProjects(secondShard, second));
+        assertEquals(0, countProjects(firstShard, second));
+        assertTrue(firstProject >= firstShard * 100_000_000 && firstProject < (firstShard + 1) * 100_000_000);
+        assertTrue(secondProject >= secondShard * 100_000_000 && secondProject < (secondShard + 1) * 100_000_000);
+
+        // verify: reads find each user's data
+        assertEquals(List.of("Second"), titles(projectService.getAllUserProjects()));
+        authenticate(first);
+        assertEquals(List.of("First"), titles(projectService.getAllUserProjects()));
+        assertEquals(1, taskService.getProjectTasks(firstProject).size());
+    }
+
+    @Test
+    void shouldMoveUserWithChangesMadeDuringTheCopy() {
+        // setup
+        User user = createUser("moved");
+        int source = shardMap.shardOf(user.getUid());
+        int target = (source + 1) % shardMap.shardCount();
+        authenticate(user);
+        Integer projectId = createProjectWithTask("Moved");
+        TaskResponse updated = taskService.createTask(projectId,
+                new TaskCreateRequest("updated", null, null, TaskStatus.TODO));
+        TaskResponse deleted = taskService.createTask(projectId,
+                new TaskCreateRequest("deleted", null, null, TaskStatus.TODO));
+
+        // execute: copy, then keep working on the source before the flip
+        Migration migration = shardMigrationService.copy(user.getUid(), target);
+        taskService.createTask(projectId, new TaskCreateRequest("added", null, null, TaskStatus.TODO));
+        taskService.updateTaskStatus(updated.getId(), new TaskStatusUpdateRequest(TaskStatus.DONE), null);
+        taskService.deleteTask(deleted.getId());
+        Integer addedProject = createProjectWithTask("Added");
+        shardMigrationService.flip(migration);
+
+        // verify: the user is served from the target, including every change
+        assertEquals(target, shardMap.shardOf(user.getUid()));
+        assertEquals(0, countProjects(source, user));
+        assertEquals(2, countProjects(target, user));
+        assertNotNull(ShardContext.callOn(target, () -> jdbcTemplate.queryForObject(
+                "select deleted_at from task where id = ?", Object.class, deleted.getId())));
+
+        List<TaskResponse> tasks = new TransactionTemplate(transactionManager)
+                .execute(status -> taskService.getProjectTasks(projectId));
+        assertEquals(List.of("Moved task", "updated", "added"), tasks.stream().map(TaskResponse::getTitle).toList());
+        assertEquals(TaskStatus.DONE, tasks.get(1).getStatus());
+        ProjectResponse project = projectService.getProjectById(projectId);
+        assertEquals(2, project.getTodoCount());
+        assertEquals(1, project.getDoneCount());
+        assertEquals(List.of("Moved", "Added"), titles(projectService.getAllUserProjects()));
+        assertEquals(1, taskService.getProjectTasks(addedProject).size());
+
+        // verify: new writes go to the target
+        createProjectWithTask("After");
+        assertEquals(3, countProjects(target, user));
+        assertEquals(0, countProjects(source, user));
+    }
+
+    private User createUser(String prefix) {
+        String name = prefix + "-" + System.nanoTime();
+        userService.postNewUser(new User(name, "password123", name + "@email.com"));
+        return userRepository.findUserByEmail(name + "@email.com").orElseThrow();
+    }
+
+    private void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private Integer createProjectWithTask(String title) {
+        Integer projectId = projectService.createProject(new ProjectCreateRequest(title, null, null)).getId();
+        taskService.createTask(projectId, new TaskCreateRequest(title + " task", null, null, TaskStatus.TODO));
+        return projectId;
+    }
+
+    private int countProjects(int shard, User user) {
+        return ShardContext.callOn(shard, () -> jdbcTemplate.queryForObject(
+                "select count(*) from project where user_uid = ?", Integer.class, user.getUid()));
+    }
+
+    private static List<String> titles(List<ProjectResponse> projects) {
+        return projects.stream().map(ProjectResponse::getTitle).toList();
+    }
+}
@@ -0,0 +1,118 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.job.SoftDeletePurgeJob;
+import com.opr3.opr3.repository.ProjectRepository;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+
+/**
+ * Deletes a project of 20000 tasks by removing the entity, which cascades
+ * through {@code Project.tasks}, and another one through the soft delete, and
+ * reports both times and the time the purge job needs afterwards. Run with
+ * {@code ./mvnw test -Pbenchmark}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+class SoftDeleteBenchmarkTest {
+
+    private static final int TASKS = 20000;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private SoftDeletePurgeJob softDeletePurgeJob;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        String name = "delete-bench-" + System.nanoTime();
+        user = userRepository.save(new User(name, "password123", name + "@email.com"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void compareCascadingAndSoftDelete() {
+        Integer cascaded = createProject();
+        Integer softDeleted = createProject();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // execute
+        long start = System.nanoTime();
+        transaction.executeWithoutResult(
+                status -> projectRepository.delete(projectRepository.findById(cascaded).orElseThrow()));
+        long cascadeMs = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        projectService.deleteProject(softDeleted, null);
+        long softDeleteMs = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        softDeletePurgeJob.purgeDeleted();
+        long purgeMs = (System.nanoTime() - start) / 1_000_000;
+
+        // verify
+        System.out.printf("deleting a project of %d tasks: %d ms cascading, %d ms soft delete, "
+                + "%d ms purge afterwards%n", TASKS, cascadeMs, softDeleteMs, purgeMs);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from task where project_id in (?, ?)",
+                Integer.class, cascaded, softDeleted));
+        assertTrue(softDeleteMs * 2 < cascadeMs);
+    }
+
+    private Integer createProject() {
+        Integer projectId = projectService.createProject(new ProjectCreateRequest("Large", null, null)).getId();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            rows.add(new Object[] { projectId, user.getUid(), "Task number " + i, now, now });
+        }
+        jdbcTemplate.batchUpdate("""
+                insert into task (project_id, owner_uid, title, status, created_at, updated_at, version, sync_seq)
+                values (?, ?, ?, 'TODO', ?, ?, 0, 0)
+                """, rows);
+        return projectId;
+    }
+}
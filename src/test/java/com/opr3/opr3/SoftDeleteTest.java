@@ -0,0 +1,155 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.ProjectResponse;
+import com.opr3.opr3.dto.SyncResponse;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.dto.TaskResponse;
+import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.job.SoftDeletePurgeJob;
+import com.opr3.opr3.job.TaskArchiveJob;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.SyncService;
+import com.opr3.opr3.service.TaskService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+// small batches so a purge spans several transactions; also gives this class
+// its own database, since the purge and archive jobs work on every account
+@TestPropertySource(properties = "app.soft-delete.purge-batch-size=2")
+class SoftDeleteTest {
+
+    @Autowired
+    private SoftDeletePurgeJob softDeletePurgeJob;
+
+    @Autowired
+    private TaskArchiveJob taskArchiveJob;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        String name = "soft-delete-" + System.nanoTime();
+        User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldHideDeletedProjectAndPurgeItLater() {
+        // setup
+        Integer deleted = projectService.createProject(new ProjectCreateRequest("Deleted", null, null)).getId();
+        taskService.createTask(deleted, new TaskCreateRequest("archived", null, null, TaskStatus.DONE));
+        taskArchiveJob.archiveTasksBefore(LocalDateTime.now().plusMinutes(1));
+        TaskResponse task = taskService.createTask(deleted, new TaskCreateRequest("a", null, null, TaskStatus.TODO));
+        taskService.createTask(deleted, new TaskCreateRequest("b", null, null, TaskStatus.TODO));
+        taskService.createTask(deleted, new TaskCreateRequest("c", null, null, TaskStatus.TODO));
+        Integer kept = projectService.createProject(new ProjectCreateRequest("Kept", null, null)).getId();
+        taskService.createTask(kept, new TaskCreateRequest("kept", null, null, TaskStatus.TODO));
+        // reads the task into the second-level cache
+        transaction.execute(status -> taskService.getTaskById(task.getId()));
+        long cursor = syncService.getChanges(null).getCursor();
+
+        // execute
+        projectService.deleteProject(deleted, null);
+
+        // verify: hidden, but still stored
+        assertThrows(IllegalArgumentException.class, () -> projectService.getProjectById(deleted));
+        assertThrows(IllegalArgumentException.class,
+                () -> transaction.execute(status -> taskService.getTaskById(task.getId())));
+        assertThrows(IllegalArgumentException.class, () -> taskService.getProjectTasks(deleted));
+        List<ProjectResponse> projects = transaction.execute(status -> projectService.getAllUserProjects());
+        assertEquals(List.of(kept), projects.stream().map(ProjectResponse::getId).toList());
+
+        SyncResponse sync = syncService.getChanges(cursor);
+        assertEquals(List.of(deleted), sync.getDeletedProjectIds());
+        assertEquals(List.of(), sync.getDeletedTaskIds());
+        assertEquals(List.of(), sync.getTasks());
+
+        assertEquals(3, count("select count(*) from task where project_id = ?", deleted));
+        assertEquals(1, count("select count(*) from task_archive where project_id = ?", deleted));
+
+        // execute: purge
+        softDeletePurgeJob.purgeDeleted();
+
+        // verify: gone, the other project untouched
+        assertEquals(0, count("select count(*) from task where project_id = ?", deleted));
+        assertEquals(0, count("select count(*) from task_archive where project_id = ?", deleted));
+        assertEquals(0, count("select count(*) from project where id = ?", deleted));
+        assertEquals(1, count("select count(*) from task where project_id = ?", kept));
+    }
+
+    @Test
+    void shouldHideDeletedTaskAndPurgeItLater() {
+        // setup
+        Integer projectId = projectService.createProject(new ProjectCreateRequest("Tasks", null, null)).getId();
+        TaskResponse deleted = taskService.createTask(projectId,
+                new TaskCreateRequest("deleted", null, null, TaskStatus.IN_PROGRESS));
+        taskService.createTask(projectId, new TaskCreateRequest("kept", null, null, TaskStatus.TODO));
+        transaction.execute(status -> taskService.getTaskById(deleted.getId()));
+
+        // execute
+        taskService.deleteTask(deleted.getId());
+
+        // verify
+        List<TaskResponse> tasks = transaction.execute(status -> taskService.getProjectTasks(projectId));
+        assertEquals(List.of("kept"), tasks.stream().map(TaskResponse::getTitle).toList());
+        assertThrows(IllegalArgumentException.class,
+                () -> transaction.execute(status -> taskService.getTaskById(deleted.getId())));
+        assertThrows(IllegalArgumentException.class, () -> taskService.deleteTask(deleted.getId()));
+        assertEquals(0, transaction.execute(status -> projectService.getProjectById(projectId)).getInProgressCount());
+        assertEquals(1, count("select count(*) from task where id = ? and deleted_at is not null", deleted.getId()));
+
+        softDeletePurgeJob.purgeDeleted();
+        assertEquals(0, count("select count(*) from task where id = ?", deleted.getId()));
+    }
+
+    private int count(String sql, Integer id) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, id);
+    }
+}
@@ -0,0 +1,224 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.ProjectUpdateRequest;
+import com.opr3.opr3.dto.RegisterRequest;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.dto.TaskStatusUpdateRequest;
+import com.opr3.opr3.dto.TaskUpdateRequest;
+import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.TaskService;
+import com.opr3.opr3.test_util.MockJwtService;
+import com.opr3.opr3.test_util.SqlCountingDataSource;
+
+/**
+ * Calls every endpoint of {@code AuthController}, {@code ProjectController}
+ * and {@code TaskController} against a seeded dataset and compares the SQL
+ * statements each one runs, and the rows it reads, with
+ * {@code sql-budget.properties}. An N+1 query or an extra round trip changes
+ * the numbers and fails the build; the failure message lists all measured
+ * values for updating the budget after an intended change.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class SqlStatementBudgetTest {
+
+    private static final int PROJECTS = 3;
+    private static final int TASKS_PER_PROJECT = 5;
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return beanName.equals("dataSource") ? new SqlCountingDataSource((DataSource) bean) : bean;
+                }
+            };
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final Map<String, String> measured = new LinkedHashMap<>();
+    private Integer projectId;
+    private Integer taskId;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldStayWithinTheStatementBudget() throws Exception {
+        // setup
+        User user = seed();
+        String token = new MockJwtService().generateValidToken(user);
+        String tasks = "/api/projects/" + projectId + "/tasks";
+
+        // execute: auth; the refresh token column is 255 chars, keep the name short
+        String name = "b" + System.nanoTime() % 1_000_000;
+        measure("auth.register", 201, request("/api/auth/register", null)
+                .POST(json(new RegisterRequest(name, name + "@email.com", "password123"))));
+        HttpResponse<String> login = measure("auth.authenticate", 200, request("/api/auth/authenticate", null)
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + name + "@email.com\","
+                        + "\"password\":\"password123\"}")));
+        String accessToken = objectMapper.readTree(login.body()).get("access_token").asText();
+        String refreshCookie = login.headers().firstValue("Set-Cookie").orElseThrow().split(";")[0];
+        measure("auth.validate-token", 200, request("/api/auth/validateToken", accessToken).GET());
+        // tokens issued within the same second are identical, and refresh tokens are unique
+        Thread.sleep(1000);
+        HttpResponse<String> refreshed = measure("auth.refresh", 200, request("/api/auth/refresh", accessToken)
+                .header("Cookie", refreshCookie)
+                .POST(HttpRequest.BodyPublishers.noBody()));
+        measure("auth.logout", 200, request("/api/auth/logout",
+                objectMapper.readTree(refreshed.body()).get("access_token").asText())
+                .POST(HttpRequest.BodyPublishers.noBody()));
+
+        // execute: projects
+        HttpResponse<String> list = measure("project.list", 200, request("/api/projects", token).GET());
+        measure("project.list.not-modified", 304, request("/api/projects", token)
+                .header("If-None-Match", list.headers().firstValue("ETag").orElseThrow()).GET());
+        HttpResponse<String> project = measure("project.get", 200,
+                request("/api/projects/" + projectId, token).GET());
+        measure("project.get.not-modified", 304, request("/api/projects/" + projectId, token)
+                .header("If-None-Match", project.headers().firstValue("ETag").orElseThrow()).GET());
+        HttpResponse<String> created = measure("project.create", 201, request("/api/projects", token)
+                .POST(json(new ProjectCreateRequest("Budget", "created", null))));
+        Integer createdId = objectMapper.readTree(created.body()).get("id").asInt();
+        measure("project.update", 200, request("/api/projects/" + createdId, token)
+                .PUT(json(new ProjectUpdateRequest("Budget", "updated", null))));
+        measure("project.archive", 200, request("/api/projects/" + createdId + "/archive", token)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody()));
+        measure("project.get.archived", 200, request("/api/projects/" + createdId, token).GET());
+        measure("project.delete", 204, request("/api/projects/" + createdId, token).DELETE());
+
+        // execute: tasks
+        HttpResponse<String> task = measure("task.create", 201, request(tasks, token)
+                .POST(json(new TaskCreateRequest("Budget", null, null, TaskStatus.TODO))));
+        Integer createdTaskId = objectMapper.readTree(task.body()).get("id").asInt();
+        HttpResponse<String> found = measure("task.get", 200, request(tasks + "/" + taskId, token).GET());
+        measure("task.get.not-modified", 304, request(tasks + "/" + taskId, token)
+                .header("If-None-Match", found.headers().firstValue("ETag").orElseThrow()).GET());
+        measure("task.list", 200, request(tasks, token).GET());
+        measure("task.list.include-archived", 200, request(tasks + "?includeArchived=true", token).GET());
+        measure("task.stream", 200, request(tasks + "/stream", token).GET());
+        measure("task.update", 200, request(tasks + "/" + createdTaskId, token)
+                .PUT(json(new TaskUpdateRequest("Budget", "updated", null, TaskStatus.IN_PROGRESS))));
+        measure("task.update-status", 200, request(tasks + "/" + createdTaskId + "/status", token)
+                .method("PATCH", json(new TaskStatusUpdateRequest(TaskStatus.DONE))));
+        measure("task.delete", 204, request(tasks + "/" + createdTaskId, token).DELETE());
+
+        // verify
+        Properties budget = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/sql-budget.properties")) {
+            budget.load(in);
+        }
+        StringBuilder mismatches = new StringBuilder();
+        StringBuilder all = new StringBuilder();
+        measured.forEach((key, value) -> {
+            all.append(key).append('=').append(value).append('\n');
+            if (!value.equals(budget.getProperty(key))) {
+                mismatches.append(key).append(": budget ").append(budget.getProperty(key)).append(", measured ")
+                        .append(value).append('\n');
+            }
+        });
+        if (!mismatches.isEmpty()) {
+            fail("SQL budget exceeded or changed:\n" + mismatches + "\nMeasured:\n" + all);
+        }
+        assertEquals(budget.stringPropertyNames(), measured.keySet(), "endpoints in sql-budget.properties");
+    }
+
+    // nothing is read here, so the first list and get calls start with cold caches
+    private User seed() {
+        String name = "budget-" + System.nanoTime();
+        User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int p = 0; p < PROJECTS; p++) {
+            Integer id = projectService.createProject(new ProjectCreateRequest("Project " + p, null, null)).getId();
+            for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                Integer created = taskService.createTask(id,
+                        new TaskCreateRequest("Task " + t, null, null, statuses[t % statuses.length])).getId();
+                if (projectId == null) {
+                    projectId = id;
+                    taskId = created;
+                }
+            }
+        }
+        return user;
+    }
+
+    private HttpResponse<String> measure(String key, int expectedStatus, HttpRequest.Builder request)
+            throws Exception {
+        SqlCountingDataSource counting = (SqlCountingDataSource) dataSource;
+        counting.reset();
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(expectedStatus, response.statusCode(), key + ": " + response.body());
+        measured.put(key, counting.getStatements() + " statements, " + counting.getRows() + " rows");
+        return response;
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws Exception {
+        return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+    }
+}
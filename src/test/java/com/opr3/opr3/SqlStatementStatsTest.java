@@ -0,0 +1,54 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.filter.LoggingFilter;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.test_util.MockJwtService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class SqlStatementStatsTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void shouldReportStatementsOfTheRequest() throws Exception {
+        // setup
+        String name = "sql-stats-" + System.nanoTime();
+        User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+
+        // execute
+        HttpResponse<String> response = client.send(HttpRequest
+                .newBuilder(URI.create("http://localhost:" + port + "/api/projects"))
+                .header("Authorization", "Bearer " + new MockJwtService().generateValidToken(user))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        // verify: at least loading the user and the projects
+        assertEquals(200, response.statusCode());
+        int statements = Integer.parseInt(response.headers().firstValue(LoggingFilter.SQL_STATEMENTS_HEADER)
+                .orElseThrow());
+        assertTrue(statements >= 2, "statements: " + statements);
+        assertTrue(Double.parseDouble(response.headers().firstValue(LoggingFilter.SQL_TIME_HEADER)
+                .orElseThrow()) > 0);
+    }
+}
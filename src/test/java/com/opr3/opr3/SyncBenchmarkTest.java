@@ -0,0 +1,136 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.SyncResponse;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectListCache;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.SyncService;
+import com.opr3.opr3.service.TaskService;
+
+/**
+ * Compares picking up a few changes on an account with 50 projects of 1000
+ * tasks each by reloading the project list and by a delta sync. Run with
+ * {@code ./mvnw test -Pbenchmark}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+class SyncBenchmarkTest {
+
+    private static final int PROJECTS = 50;
+    private static final int TASKS_PER_PROJECT = 1000;
+    private static final int CHANGES_PER_ROUND = 5;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectListCache projectListCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Integer> projectIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String name = "sync-bench-" + System.nanoTime();
+        User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int p = 0; p < PROJECTS; p++) {
+            Integer projectId = projectService.createProject(new ProjectCreateRequest("Project " + p, null, null))
+                    .getId();
+            projectIds.add(projectId);
+            List<Object[]> rows = new ArrayList<>(TASKS_PER_PROJECT);
+            for (int i = 0; i < TASKS_PER_PROJECT; i++) {
+                rows.add(new Object[] { projectId, user.getUid(), "Task number " + i, now, now });
+            }
+            jdbcTemplate.batchUpdate("""
+                    insert into task (project_id, owner_uid, title, status, created_at, updated_at, version, sync_seq)
+                    values (?, ?, ?, 'TODO', ?, ?, 0, 0)
+                    """, rows);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void compareListReloadAndDeltaSync() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long cursor = syncService.getChanges(0L).getCursor();
+        long reloadNanos = 0;
+        long syncNanos = 0;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < CHANGES_PER_ROUND; i++) {
+                taskService.createTask(projectIds.get((round + i) % PROJECTS),
+                        new TaskCreateRequest("Round " + round + " change " + i, null, null, null));
+            }
+
+            // execute
+            long start = System.nanoTime();
+            // the list cache was invalidated by the changes, as it would be in production
+            projectListCache.invalidateAll();
+            int projects = transaction.execute(status -> projectService.getAllUserProjects()).size();
+            reloadNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            SyncResponse delta = syncService.getChanges(cursor);
+            syncNanos += System.nanoTime() - start;
+            cursor = delta.getCursor();
+
+            // verify
+            assertEquals(PROJECTS, projects);
+            assertEquals(CHANGES_PER_ROUND, delta.getTasks().size());
+        }
+
+        long reloadMs = reloadNanos / ROUNDS / 1_000_000;
+        double syncMs = syncNanos / (double) ROUNDS / 1_000_000;
+        System.out.printf("%d tasks, %d changes per round: list reload %d ms, delta sync %.2f ms%n",
+                PROJECTS * TASKS_PER_PROJECT, CHANGES_PER_ROUND, reloadMs, syncMs);
+        assertTrue(syncMs * 20 < reloadMs);
+    }
+}
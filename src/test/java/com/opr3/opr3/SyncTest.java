@@ -0,0 +1,115 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.SyncResponse;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.dto.TaskResponse;
+import com.opr3.opr3.dto.TaskStatusUpdateRequest;
+import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.job.TombstonePurgeJob;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.SyncService;
+import com.opr3.opr3.service.TaskService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SyncTest {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TombstonePurgeJob tombstonePurgeJob;
+
+    @BeforeEach
+    void setUp() {
+        // a fresh account, so the sync contains exactly what is created here
+        String name = "sync-" + System.nanoTime();
+        User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldReturnOnlyChangesAndDeletionsSinceCursor() {
+        // setup
+        Integer projectId = projectService.createProject(new ProjectCreateRequest("Synced", null, null)).getId();
+        Integer otherId = projectService.createProject(new ProjectCreateRequest("Untouched", null, null)).getId();
+        TaskResponse kept = taskService.createTask(projectId, new TaskCreateRequest("kept", null, null, null));
+        TaskResponse deleted = taskService.createTask(projectId, new TaskCreateRequest("deleted", null, null, null));
+        taskService.createTask(otherId, new TaskCreateRequest("unchanged", null, null, null));
+
+        SyncResponse full = syncService.getChanges(null);
+
+        // execute
+        taskService.updateTaskStatus(kept.getId(), new TaskStatusUpdateRequest(TaskStatus.DONE), null);
+        taskService.deleteTask(deleted.getId());
+        SyncResponse delta = syncService.getChanges(full.getCursor());
+        SyncResponse idle = syncService.getChanges(delta.getCursor());
+
+        // verify
+        assertFalse(full.isReset());
+        assertEquals(2, full.getProjects().size());
+        assertEquals(3, full.getTasks().size());
+
+        assertEquals(List.of(projectId), delta.getProjects().stream().map(p -> p.getId()).toList());
+        assertEquals(1, delta.getProjects().get(0).getDoneCount());
+        assertEquals(List.of(kept.getId()), delta.getTasks().stream().map(TaskResponse::getId).toList());
+        assertEquals(TaskStatus.DONE, delta.getTasks().get(0).getStatus());
+        assertEquals(List.of(deleted.getId()), delta.getDeletedTaskIds());
+
+        assertEquals(delta.getCursor(), idle.getCursor());
+        assertTrue(idle.getProjects().isEmpty() && idle.getTasks().isEmpty() && idle.getDeletedTaskIds().isEmpty());
+    }
+
+    @Test
+    void shouldRequireResetOnceTombstonesArePurged() {
+        // setup
+        Integer projectId = projectService.createProject(new ProjectCreateRequest("Purged", null, null)).getId();
+        TaskResponse task = taskService.createTask(projectId, new TaskCreateRequest("gone", null, null, null));
+        long cursor = syncService.getChanges(null).getCursor();
+        taskService.deleteTask(task.getId());
+
+        // execute
+        tombstonePurgeJob.purgeTombstonesBefore(LocalDateTime.now().plusMinutes(1));
+        SyncResponse stale = syncService.getChanges(cursor);
+        SyncResponse fresh = syncService.getChanges(stale.getCursor());
+
+        // verify
+        assertTrue(stale.isReset());
+        assertFalse(fresh.isReset());
+        assertTrue(fresh.getDeletedTaskIds().isEmpty());
+    }
+}
@@ -0,0 +1,121 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.ProjectResponse;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.job.TaskArchiveJob;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectListCache;
+import com.opr3.opr3.service.ProjectService;
+
+/**
+ * Loads the project list of an account with 20 projects of 2500 tasks each,
+ * 90% of them completed a year ago, before and after archiving the completed
+ * ones. Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+class TaskArchiveBenchmarkTest {
+
+    private static final int PROJECTS = 20;
+    private static final int TASKS_PER_PROJECT = 2500;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private TaskArchiveJob taskArchiveJob;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectListCache projectListCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        String name = "archive-bench-" + System.nanoTime();
+        User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        Timestamp yearAgo = Timestamp.valueOf(LocalDateTime.now().minusYears(1));
+        for (int p = 0; p < PROJECTS; p++) {
+            Integer projectId = projectService.createProject(new ProjectCreateRequest("Project " + p, null, null))
+                    .getId();
+            List<Object[]> rows = new ArrayList<>(TASKS_PER_PROJECT);
+            for (int i = 0; i < TASKS_PER_PROJECT; i++) {
+                String status = i % 10 == 0 ? "TODO" : "DONE";
+                rows.add(new Object[] { projectId, user.getUid(), "Task number " + i, status, yearAgo, yearAgo });
+            }
+            jdbcTemplate.batchUpdate("""
+                    insert into task (project_id, owner_uid, title, status, created_at, updated_at, version, sync_seq)
+                    values (?, ?, ?, ?, ?, ?, 0, 0)
+                    """, rows);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void compareProjectListBeforeAndAfterArchiving() {
+        double beforeMs = timeProjectList(PROJECTS * TASKS_PER_PROJECT);
+
+        long start = System.nanoTime();
+        int archived = taskArchiveJob.archiveTasksBefore(LocalDateTime.now().minusMonths(6));
+        long archiveMs = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+
+        double afterMs = timeProjectList(PROJECTS * TASKS_PER_PROJECT / 10);
+
+        System.out.printf("archived %d tasks in %d ms (%d tasks/s); project list %.1f ms before, %.1f ms after%n",
+                archived, archiveMs, archived * 1000L / archiveMs, beforeMs, afterMs);
+        assertEquals(PROJECTS * TASKS_PER_PROJECT * 9 / 10, archived);
+        assertTrue(afterMs * 3 < beforeMs);
+    }
+
+    private double timeProjectList(int expectedTasks) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long nanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            projectListCache.invalidateAll();
+            long start = System.nanoTime();
+            List<ProjectResponse> projects = transaction.execute(status -> projectService.getAllUserProjects());
+            nanos += System.nanoTime() - start;
+
+            assertEquals(expectedTasks, projects.stream().mapToInt(p -> p.getTasks().size()).sum());
+        }
+        return nanos / (double) ROUNDS / 1_000_000;
+    }
+}
@@ -0,0 +1,151 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.dto.ExportFormat;
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.dto.TaskResponse;
+import com.opr3.opr3.dto.TaskUpdateRequest;
+import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.job.TaskArchiveJob;
+import com.opr3.opr3.job.TaskCounterRepairJob;
+import com.opr3.opr3.repository.ProjectRepository;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ExportService;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.TaskService;
+import com.opr3.opr3.service.UserService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+// small batches so a run spans several transactions; also gives this class its
+// own database, since archiving moves every old enough DONE task
+@TestPropertySource(properties = "app.task-archive.batch-size=2")
+class TaskArchiveTest {
+
+    @Autowired
+    private TaskArchiveJob taskArchiveJob;
+
+    @Autowired
+    private TaskCounterRepairJob taskCounterRepairJob;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        String name = "archive-" + System.nanoTime();
+        User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldMoveDoneTasksAndServeThemOnRequest() {
+        // setup
+        Integer projectId = projectService.createProject(new ProjectCreateRequest("Archive", null, null)).getId();
+        taskService.createTask(projectId, new TaskCreateRequest("open", null, null, TaskStatus.TODO));
+        TaskResponse done = taskService.createTask(projectId,
+                new TaskCreateRequest("done 1", null, null, TaskStatus.DONE));
+        taskService.createTask(projectId, new TaskCreateRequest("done 2", null, null, TaskStatus.DONE));
+        taskService.createTask(projectId, new TaskCreateRequest("done 3", null, null, TaskStatus.DONE));
+        LocalDateTime cutoff = LocalDateTime.now().plusMinutes(1);
+        String uid = ((User) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getUid();
+        long markerBefore = userService.getChangeMarker(uid);
+
+        // execute
+        int archived = taskArchiveJob.archiveTasksBefore(cutoff);
+        long markerAfter = userService.getChangeMarker(uid);
+        int archivedAgain = taskArchiveJob.archiveTasksBefore(cutoff);
+
+        // verify
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<TaskResponse> active = transaction.execute(status -> taskService.getProjectTasks(projectId));
+        List<TaskResponse> all = transaction.execute(status -> taskService.getProjectTasks(projectId, true));
+
+        assertEquals(3, archived);
+        assertEquals(0, archivedAgain);
+        // one change per batch that moved tasks, none for the run that moved nothing
+        assertEquals(markerBefore + 2, markerAfter);
+        assertEquals(markerAfter, userService.getChangeMarker(uid));
+        assertEquals(List.of("open"), active.stream().map(TaskResponse::getTitle).toList());
+        assertEquals(List.of("open", "done 1", "done 2", "done 3"),
+                all.stream().map(TaskResponse::getTitle).toList());
+
+        assertEquals("done 1", taskService.getTaskById(done.getId(), true).getTitle());
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTaskById(done.getId()));
+        assertThrows(IllegalStateException.class, () -> taskService.updateTask(done.getId(),
+                new TaskUpdateRequest("edited", null, null, TaskStatus.DONE), null));
+        assertThrows(IllegalStateException.class, () -> taskService.deleteTask(done.getId()));
+
+        taskCounterRepairJob.repairTaskCounters();
+        assertEquals(3, projectRepository.findById(projectId).orElseThrow().getDoneCount());
+    }
+
+    @Test
+    void shouldIncludeArchivedTasksInExport() {
+        // setup
+        Integer onlyArchived = projectService.createProject(new ProjectCreateRequest("Cold", null, null)).getId();
+        taskService.createTask(onlyArchived, new TaskCreateRequest("cold", null, null, TaskStatus.DONE));
+        projectService.createProject(new ProjectCreateRequest("Empty", null, null));
+        Integer mixed = projectService.createProject(new ProjectCreateRequest("Mixed", null, null)).getId();
+        taskService.createTask(mixed, new TaskCreateRequest("archived", null, null, TaskStatus.DONE));
+        taskService.createTask(mixed, new TaskCreateRequest("active", null, null, TaskStatus.TODO));
+
+        taskArchiveJob.archiveTasksBefore(LocalDateTime.now().plusMinutes(1));
+
+        // execute
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        exportService.writeExport(ExportFormat.NDJSON, ExportService.Cursor.START, false, export);
+
+        // verify
+        List<String> lines = export.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(4, lines.size());
+        assertEquals(List.of("\"cold\"", "null", "\"archived\"", "\"active\""), lines.stream()
+                .map(line -> line.replaceAll(".*\"taskTitle\":(null|\"[^\"]*\").*", "$1"))
+                .toList());
+    }
+}
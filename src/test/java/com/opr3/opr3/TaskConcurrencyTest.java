@@ -0,0 +1,232 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.SyncResponse;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.dto.TaskResponse;
+import com.opr3.opr3.dto.TaskUpdateRequest;
+import com.opr3.opr3.entity.Task;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.exception.PreconditionFailedException;
+import com.opr3.opr3.repository.TaskRepository;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.SyncService;
+import com.opr3.opr3.service.TaskService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskConcurrencyTest {
+
+    private static final int WRITERS = 8;
+    private static final long HOLD_MS = 400;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findUserByEmail("test1@email.com").orElseThrow();
+        authenticate();
+        executor = Executors.newFixedThreadPool(WRITERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldAcceptOnlyOneWriterForTheSameETag() throws Exception {
+        // setup
+        Integer taskId = createTask("contended");
+        String etag = taskService.getTaskETag(taskId);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // execute
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            String title = "writer " + i;
+            results.add(executor.submit(asUser(() -> {
+                start.await();
+                try {
+                    taskService.updateTask(taskId, new TaskUpdateRequest(title, null, null, null), etag);
+                    return true;
+                } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+                    return false;
+                }
+            })));
+        }
+        start.countDown();
+
+        // verify
+        List<Boolean> outcomes = new ArrayList<>();
+        for (Future<Boolean> result : results) {
+            outcomes.add(result.get(10, TimeUnit.SECONDS));
+        }
+
+        Task task = taskRepository.findById(taskId).orElseThrow();
+        assertEquals(1, outcomes.stream().filter(Boolean::booleanValue).count());
+        assertEquals(1L, task.getVersion());
+        assertTrue(task.getTitle().startsWith("writer "));
+    }
+
+    @Test
+    void shouldNotLoseUpdatesWhenWritersRetryOnConflict() throws Exception {
+        // setup
+        Integer taskId = createTask("appended");
+        CountDownLatch start = new CountDownLatch(1);
+
+        // execute: every writer appends its marker with a read-modify-write cycle
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            String marker = "[" + i + "]";
+            results.add(executor.submit(asUser(() -> {
+                start.await();
+                int conflicts = 0;
+                while (true) {
+                    String etag = taskService.getTaskETag(taskId);
+                    Task current = taskRepository.findById(taskId).orElseThrow();
+                    String description = (current.getDescription() == null ? "" : current.getDescription()) + marker;
+                    try {
+                        taskService.updateTask(taskId,
+                                new TaskUpdateRequest(current.getTitle(), description, null, null), etag);
+                        return conflicts;
+                    } catch (PreconditionFailedException | OptimisticLockingFailureException e) {
+                        conflicts++;
+                    }
+                }
+            })));
+        }
+        start.countDown();
+
+        // verify
+        for (Future<Integer> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+
+        Task task = taskRepository.findById(taskId).orElseThrow();
+        assertEquals((long) WRITERS, task.getVersion());
+        for (int i = 0; i < WRITERS; i++) {
+            assertTrue(task.getDescription().contains("[" + i + "]"), "lost update of writer " + i);
+        }
+    }
+
+    // the change marker is only taken at commit, so one user's writes on
+    // different rows do not queue behind each other, and a sync cursor handed
+    // out meanwhile still covers the write that commits later
+    @Test
+    void shouldNotMakeWritesOfTheSameUserWaitForEachOther() throws Exception {
+        // setup
+        String name = "concurrency-" + System.nanoTime();
+        User writer = userRepository.save(new User(name, "password123", name + "@email.com"));
+        Integer heldTask = asUser(writer, () -> createTask("held")).call();
+        Integer otherTask = asUser(writer, () -> createTask("other")).call();
+        CountDownLatch written = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // execute: a write of the user stays open for HOLD_MS after writing its task
+        Future<?> holder = executor.submit(asUser(writer, () -> transaction.execute(status -> {
+            taskService.updateTask(heldTask, new TaskUpdateRequest("held and updated", null, null, null), null);
+            written.countDown();
+            sleep(HOLD_MS);
+            return null;
+        })));
+        written.await();
+        long sameUserMs = asUser(writer, () -> timeUpdate(otherTask)).call();
+        SyncResponse before = asUser(writer, () -> syncService.getChanges(null)).call();
+        holder.get(10, TimeUnit.SECONDS);
+        SyncResponse after = asUser(writer, () -> syncService.getChanges(before.getCursor())).call();
+
+        // verify
+        assertTrue(sameUserMs < HOLD_MS / 2, "update waited " + sameUserMs + " ms behind a write of the same user");
+        assertEquals(List.of("held", "updated"), before.getTasks().stream().map(TaskResponse::getTitle).toList());
+        assertEquals(List.of("held and updated"), after.getTasks().stream().map(TaskResponse::getTitle).toList());
+    }
+
+    private long timeUpdate(Integer taskId) {
+        long start = System.nanoTime();
+        taskService.updateTask(taskId, new TaskUpdateRequest("updated", null, null, null), null);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Integer createTask(String title) {
+        Integer projectId = projectService.createProject(new ProjectCreateRequest("Concurrency", null, null)).getId();
+        return taskService.createTask(projectId, new TaskCreateRequest(title, null, null, null)).getId();
+    }
+
+    private <T> Callable<T> asUser(Callable<T> work) {
+        return asUser(user, work);
+    }
+
+    private <T> Callable<T> asUser(User as, Callable<T> work) {
+        return () -> {
+            authenticate(as);
+            try {
+                return work.call();
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        };
+    }
+
+    private void authenticate() {
+        authenticate(user);
+    }
+
+    private void authenticate(User as) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(as, null, as.getAuthorities()));
+    }
+}
@@ -0,0 +1,109 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.opr3.opr3.dto.CalendarDayCount;
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.dto.TaskFeedResponse;
+import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.TaskService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskFeedTest {
+
+    // far enough in the future not to collide with tasks created by other tests
+    private static final LocalDate WEEK_START = LocalDate.of(2999, 3, 1);
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        authenticate("test2@email.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldPageOpenTasksAcrossProjectsByDueDate() {
+        // setup
+        Integer first = projectService.createProject(new ProjectCreateRequest("Feed A", null, null)).getId();
+        Integer second = projectService.createProject(new ProjectCreateRequest("Feed B", null, null)).getId();
+
+        taskService.createTask(first, task("a1", WEEK_START, TaskStatus.TODO));
+        taskService.createTask(second, task("b1", WEEK_START, TaskStatus.IN_PROGRESS));
+        taskService.createTask(first, task("a2", WEEK_START.plusDays(2), TaskStatus.TODO));
+        taskService.createTask(second, task("b2", WEEK_START.plusDays(3), TaskStatus.DONE));
+        taskService.createTask(first, task("a3", WEEK_START.plusDays(9), TaskStatus.TODO));
+
+        // execute
+        TaskFeedResponse firstPage = taskService.getDueTasks(WEEK_START, WEEK_START.plusDays(6), null, 2);
+        TaskFeedResponse secondPage = taskService.getDueTasks(WEEK_START, WEEK_START.plusDays(6),
+                firstPage.getNextCursor(), 2);
+
+        // verify
+        assertEquals(List.of("a1", "b1"), firstPage.getTasks().stream().map(t -> t.getTitle()).toList());
+        assertEquals(List.of("a2"), secondPage.getTasks().stream().map(t -> t.getTitle()).toList());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void shouldCountOpenTasksPerDayForMonth() {
+        // setup
+        LocalDate day = LocalDate.of(2999, 7, 14);
+        Integer projectId = projectService.createProject(new ProjectCreateRequest("Calendar", null, null)).getId();
+
+        taskService.createTask(projectId, task("c1", day, TaskStatus.TODO));
+        taskService.createTask(projectId, task("c2", day, TaskStatus.IN_PROGRESS));
+        taskService.createTask(projectId, task("c3", day, TaskStatus.DONE));
+        taskService.createTask(projectId, task("c4", day.plusDays(1), TaskStatus.TODO));
+
+        // execute
+        List<CalendarDayCount> counts = taskService.getCalendarCounts(YearMonth.from(day));
+
+        // verify
+        assertEquals(2, counts.size());
+        assertEquals(day, counts.get(0).getDate());
+        assertEquals(2L, counts.get(0).getCount());
+        assertEquals(day.plusDays(1), counts.get(1).getDate());
+        assertEquals(1L, counts.get(1).getCount());
+    }
+
+    private TaskCreateRequest task(String title, LocalDate dueDate, TaskStatus status) {
+        return new TaskCreateRequest(title, null, java.sql.Date.valueOf(dueDate), status);
+    }
+
+    private void authenticate(String email) {
+        User user = userRepository.findUserByEmail(email).orElseThrow();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
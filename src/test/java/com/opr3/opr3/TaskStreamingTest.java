@@ -0,0 +1,94 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opr3.opr3.dto.ProjectResponse;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.test_util.MockJwtService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TaskStreamingTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TestRestTemplate restTemplate;
+    private String accessToken;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        // the default client cannot read bodies of 4xx responses, see AuthControllerTest
+        restTemplate = new TestRestTemplate();
+        restTemplate.getRestTemplate().setRequestFactory(new HttpComponentsClientHttpRequestFactory());
+
+        User user = userRepository.findUserByEmail("test1@email.com").orElseThrow();
+        accessToken = new MockJwtService().generateValidToken(user);
+        baseUrl = "http://localhost:" + port + "/api/projects";
+    }
+
+    @Test
+    void shouldStreamSameTasksAsListEndpoint() throws Exception {
+        // setup
+        ProjectResponse project = exchange(baseUrl, HttpMethod.POST, "{\"title\": \"Streamed\"}",
+                ProjectResponse.class).getBody();
+        String tasksUrl = baseUrl + "/" + project.getId() + "/tasks";
+        for (int i = 0; i < 3; i++) {
+            exchange(tasksUrl, HttpMethod.POST, "{\"title\": \"task " + i + "\", \"dueDate\": \"2030-01-0" + (i + 1)
+                    + "\"}", String.class);
+        }
+
+        // execute
+        ResponseEntity<String> streamed = exchange(tasksUrl + "/stream", HttpMethod.GET, null, String.class);
+        ResponseEntity<String> listed = exchange(tasksUrl, HttpMethod.GET, null, String.class);
+
+        // verify
+        assertEquals(HttpStatus.OK, streamed.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, streamed.getHeaders().getContentType());
+        JsonNode streamedTasks = objectMapper.readTree(streamed.getBody());
+        assertEquals(3, streamedTasks.size());
+        assertEquals(objectMapper.readTree(listed.getBody()), streamedTasks);
+    }
+
+    @Test
+    void shouldRejectStreamOfForeignProject() {
+        // execute
+        ResponseEntity<String> response = exchange(baseUrl + "/999999/tasks/stream", HttpMethod.GET, null,
+                String.class);
+
+        // verify
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    private <T> ResponseEntity<T> exchange(String url, HttpMethod method, String body, Class<T> responseType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(accessToken);
+        return restTemplate.exchange(url, method, new HttpEntity<>(body, headers), responseType);
+    }
+}
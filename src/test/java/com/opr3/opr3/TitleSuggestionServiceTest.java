@@ -0,0 +1,194 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.opr3.opr3.dto.TitleSuggestionResponse;
+import com.opr3.opr3.dto.TitleSuggestionResponse.SuggestionType;
+import com.opr3.opr3.dto.TitleView;
+import com.opr3.opr3.entity.Project;
+import com.opr3.opr3.entity.Task;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.ProjectRepository;
+import com.opr3.opr3.repository.TaskRepository;
+import com.opr3.opr3.service.AuthService;
+import com.opr3.opr3.service.TitleSuggestionService;
+
+@ExtendWith(MockitoExtension.class)
+class TitleSuggestionServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private AuthService authService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private TitleSuggestionService titleSuggestionService;
+
+    private User mockUser;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(titleSuggestionService, "maxUsers", 10);
+        ReflectionTestUtils.setField(titleSuggestionService, "maxEntriesPerUser", 100);
+        ReflectionTestUtils.setField(titleSuggestionService, "idleTimeoutMs", 60000L);
+
+        mockUser = new User("testUser", "password123", "test@example.com");
+        mockUser.setUid("1");
+
+        when(authService.getAuthenticatedUser()).thenReturn(mockUser);
+        when(projectRepository.findTitlesByUserUid("1")).thenReturn(List.of(
+                view(1, 1, "Website Relaunch"),
+                view(2, 2, "Mobile app")));
+        when(taskRepository.findTitlesByUserUid("1")).thenReturn(List.of(
+                view(10, 1, "Write copy"),
+                view(11, 1, "Wireframes"),
+                view(12, 2, "Écran de connexion")));
+    }
+
+    @Test
+    void shouldReturnPrefixMatchesIgnoringCaseAndAccents() {
+        // execute
+        List<TitleSuggestionResponse> result = titleSuggestionService.suggest("  wE", 10);
+        List<TitleSuggestionResponse> accented = titleSuggestionService.suggest("ecran", 10);
+
+        // verify
+        assertEquals(1, result.size());
+        assertEquals("Website Relaunch", result.get(0).getTitle());
+        assertEquals(SuggestionType.PROJECT, result.get(0).getType());
+
+        assertEquals(1, accented.size());
+        assertEquals(12, accented.get(0).getId());
+    }
+
+    @Test
+    void shouldLimitResultsAndBuildIndexOnlyOnce() {
+        // execute
+        List<TitleSuggestionResponse> result = titleSuggestionService.suggest("w", 2);
+        titleSuggestionService.suggest("m", 10);
+
+        // verify
+        assertEquals(2, result.size());
+        assertEquals("Website Relaunch", result.get(0).getTitle());
+        assertEquals("Wireframes", result.get(1).getTitle());
+
+        verify(projectRepository, times(1)).findTitlesByUserUid("1");
+        verify(taskRepository, times(1)).findTitlesByUserUid("1");
+    }
+
+    @Test
+    void shouldReflectCreateUpdateAndDelete() {
+        // setup
+        titleSuggestionService.suggest("x", 10);
+
+        Project project = Project.builder().id(1).title("Website Relaunch").build();
+        Task created = Task.builder().id(20).project(project).title("Xylophone tuning").build();
+        Task renamed = Task.builder().id(10).project(project).title("Xray review").build();
+
+        // execute
+        titleSuggestionService.onTaskSaved("1", created);
+        titleSuggestionService.onTaskSaved("1", renamed);
+        titleSuggestionService.onTaskDeleted("1", 20);
+
+        // verify
+        List<TitleSuggestionResponse> result = titleSuggestionService.suggest("x", 10);
+        assertEquals(1, result.size());
+        assertEquals("Xray review", result.get(0).getTitle());
+        assertTrue(titleSuggestionService.suggest("write", 10).isEmpty());
+    }
+
+    @Test
+    void shouldApplyChangesOnlyOnceTheyCommit() {
+        // setup
+        titleSuggestionService.suggest("x", 10);
+        Project project = Project.builder().id(1).title("Website Relaunch").build();
+
+        // execute
+        List<TitleSuggestionResponse> beforeCommit = inTransaction(TransactionSynchronization.STATUS_COMMITTED,
+                () -> titleSuggestionService.onTaskSaved("1",
+                        Task.builder().id(20).project(project).title("Xylophone tuning").build()));
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> titleSuggestionService.onTaskSaved("1",
+                Task.builder().id(21).project(project).title("Xerox copies").build()));
+
+        // verify
+        assertTrue(beforeCommit.isEmpty());
+        List<TitleSuggestionResponse> result = titleSuggestionService.suggest("x", 10);
+        assertEquals(1, result.size());
+        assertEquals("Xylophone tuning", result.get(0).getTitle());
+    }
+
+    @Test
+    void shouldNotKeepAnIndexThatWasLoadingWhenAChangeCommitted() {
+        // setup: a task is saved while the index queries run
+        Project project = Project.builder().id(1).title("Website Relaunch").build();
+        when(taskRepository.findTitlesByUserUid("1")).thenAnswer(invocation -> {
+            titleSuggestionService.onTaskSaved("1", Task.builder().id(20).project(project).title("Xylophone").build());
+            return List.of(view(10, 1, "Write copy"));
+        });
+
+        // execute
+        titleSuggestionService.suggest("x", 10);
+        List<TitleSuggestionResponse> result = titleSuggestionService.suggest("w", 10);
+
+        // verify: rebuilt by the second lookup
+        assertEquals(2, result.size());
+        verify(taskRepository, times(2)).findTitlesByUserUid("1");
+    }
+
+    // runs the change in a simulated transaction ending with the given status
+    // and returns the suggestions for "x" seen before it ended
+    private List<TitleSuggestionResponse> inTransaction(int status, Runnable change) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            change.run();
+            List<TitleSuggestionResponse> seen = titleSuggestionService.suggest("x", 10);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(status));
+            return seen;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static TitleView view(Integer id, Integer projectId, String title) {
+        return new TitleView() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getProjectId() {
+                return projectId;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+        };
+    }
+}
@@ -0,0 +1,230 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.dto.TaskCreateRequest;
+import com.opr3.opr3.entity.Task.TaskStatus;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.TaskService;
+import com.opr3.opr3.test_util.MockJwtService;
+
+/**
+ * Reads the task list of a project from 400 concurrent clients, once on a pool
+ * of 50 platform threads and once on virtual threads, and reports throughput
+ * and p99 latency. Every statement waits 5 ms before it is prepared, standing
+ * in for the network round trip to a real database; in-memory H2 answers in
+ * microseconds. Both runs share a pool of 200 connections, so with platform
+ * threads the 50 request threads are the limit. The virtual thread run goes
+ * second, after the JVM has warmed up on the first, and is expected to be at
+ * least twice as fast. Needs Java 21. Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+class VirtualThreadBenchmarkTest {
+
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 25;
+    private static final long STATEMENT_LATENCY_MS = 5;
+
+    private static double platformThroughput;
+    private static long platformP99Ms;
+
+    @Nested
+    @Order(1)
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @ActiveProfiles("test")
+    @Import(StatementLatency.class)
+    @TestPropertySource(properties = { "spring.threads.virtual.enabled=false", "spring.jpa.show-sql=false",
+            "server.tomcat.threads.max=50", "spring.datasource.hikari.maximum-pool-size=200" })
+    class PlatformThreads extends Workload {
+
+        @Test
+        void readTasks() throws Exception {
+            Result result = run("platform threads");
+            platformThroughput = result.throughput();
+            platformP99Ms = result.p99Ms();
+        }
+    }
+
+    @Nested
+    @Order(2)
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @ActiveProfiles("test")
+    @Import(StatementLatency.class)
+    @TestPropertySource(properties = { "spring.threads.virtual.enabled=true", "spring.jpa.show-sql=false",
+            "server.tomcat.threads.max=50", "spring.datasource.hikari.maximum-pool-size=200" })
+    class VirtualThreads extends Workload {
+
+        @Test
+        void readTasks() throws Exception {
+            Result result = run("virtual threads ");
+            if (platformThroughput > 0) {
+                System.out.printf("virtual threads: %.2fx the throughput, p99 %d ms instead of %d ms%n",
+                        result.throughput() / platformThroughput, result.p99Ms(), platformP99Ms);
+                assertTrue(result.throughput() > 2 * platformThroughput);
+                assertTrue(result.p99Ms() < platformP99Ms);
+            }
+        }
+    }
+
+    record Result(double throughput, long p99Ms) {
+    }
+
+    @TestConfiguration
+    static class StatementLatency {
+
+        @Bean
+        static BeanPostProcessor statementLatency() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new SlowDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    static class SlowDataSource extends DelegatingDataSource {
+
+        SlowDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare")) {
+                            Thread.sleep(STATEMENT_LATENCY_MS);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+
+    abstract static class Workload {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private ProjectService projectService;
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        Result run(String label) throws Exception {
+            String name = "vt-bench-" + System.nanoTime();
+            User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+            Integer projectId = projectService.createProject(new ProjectCreateRequest("Bench", null, null)).getId();
+            for (int i = 0; i < 10; i++) {
+                taskService.createTask(projectId, new TaskCreateRequest("Task " + i, null, null, TaskStatus.TODO));
+            }
+            SecurityContextHolder.clearContext();
+
+            HttpClient client = HttpClient.newHttpClient();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(
+                    "http://localhost:" + port + "/api/projects/" + projectId + "/tasks"))
+                    .header("Authorization", "Bearer " + new MockJwtService().generateValidToken(user))
+                    .build();
+
+            // warm up
+            load(client, request, 2);
+
+            long start = System.nanoTime();
+            long[] latencies = load(client, request, REQUESTS_PER_CLIENT);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            Arrays.sort(latencies);
+            long p50Ms = latencies[latencies.length / 2] / 1_000_000;
+            long p99Ms = latencies[(int) Math.ceil(latencies.length * 0.99) - 1] / 1_000_000;
+            double throughput = latencies.length * 1000.0 / elapsedMs;
+            System.out.printf("%s: %d requests in %d ms (%.0f req/s), p50 %d ms, p99 %d ms%n", label,
+                    latencies.length, elapsedMs, throughput, p50Ms, p99Ms);
+            return new Result(throughput, p99Ms);
+        }
+
+        // latencies in nanoseconds, one per successful request
+        private long[] load(HttpClient client, HttpRequest request, int requestsPerClient) throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+            try {
+                List<Future<long[]>> results = new ArrayList<>();
+                for (int c = 0; c < CLIENTS; c++) {
+                    results.add(executor.submit(() -> {
+                        long[] latencies = new long[requestsPerClient];
+                        for (int i = 0; i < requestsPerClient; i++) {
+                            long start = System.nanoTime();
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            latencies[i] = System.nanoTime() - start;
+                            assertEquals(200, status);
+                        }
+                        return latencies;
+                    }));
+                }
+                long[] latencies = new long[CLIENTS * requestsPerClient];
+                int next = 0;
+                for (Future<long[]> result : results) {
+                    long[] clientLatencies = result.get();
+                    System.arraycopy(clientLatencies, 0, latencies, next, clientLatencies.length);
+                    next += clientLatencies.length;
+                }
+                return latencies;
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+}
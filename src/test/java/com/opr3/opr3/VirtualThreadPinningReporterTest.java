@@ -0,0 +1,57 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import com.opr3.opr3.job.VirtualThreadPinningReporter;
+
+/**
+ * Virtual threads exist from Java 21; from Java 24 on, blocking in a
+ * {@code synchronized} block no longer pins the carrier.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21, max = JRE.JAVA_23)
+class VirtualThreadPinningReporterTest {
+
+    private final Object monitor = new Object();
+
+    @Test
+    void shouldReportThreadBlockedInsideMonitor() throws Exception {
+        // setup
+        VirtualThreadPinningReporter reporter = new VirtualThreadPinningReporter(20);
+        VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("pinned-");
+        try {
+            reporter.start();
+
+            // execute: one short and one long pin
+            Future<?> brief = executor.submit(() -> blockInsideMonitor(1));
+            brief.get();
+            Future<?> pinned = executor.submit(() -> blockInsideMonitor(100));
+            pinned.get();
+
+            // verify: only the pin above the threshold, once the stream flushed
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (reporter.getPinnedCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            assertEquals(1, reporter.getPinnedCount());
+        } finally {
+            reporter.destroy();
+        }
+    }
+
+    private void blockInsideMonitor(long millis) {
+        synchronized (monitor) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
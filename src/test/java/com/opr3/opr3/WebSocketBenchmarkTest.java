@@ -0,0 +1,175 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.UserService;
+import com.opr3.opr3.test_util.MockJwtService;
+import com.opr3.opr3.websocket.ChangePushHandler;
+
+/**
+ * Holds 2000 idle WebSocket connections (200 users with 10 connections each),
+ * reports the heap retained per connection and the time to fan a change of
+ * every user out to all connections. Clients are plain sockets doing the
+ * upgrade handshake by hand, so client-side state stays negligible next to the
+ * server's. Run with {@code ./mvnw test -Pbenchmark}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Tag("benchmark")
+class WebSocketBenchmarkTest {
+
+    private static final int USERS = 200;
+    private static final int CONNECTIONS_PER_USER = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ChangePushHandler changePushHandler;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Socket> sockets = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+    }
+
+    @Test
+    void holdIdleConnectionsAndFanOut() throws Exception {
+        MockJwtService jwtService = new MockJwtService();
+        List<String> userUids = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            String name = "ws-bench-" + u + "-" + System.nanoTime();
+            User user = userRepository.save(new User(name, "password123", name + "@email.com"));
+            userUids.add(user.getUid());
+            tokens.add(jwtService.generateValidToken(user));
+        }
+
+        // warm up the handshake path before measuring
+        open(tokens.get(0)).close();
+        awaitConnections(0);
+
+        // execute: open idle connections
+        long heapBefore = usedHeapAfterGc();
+        for (String token : tokens) {
+            for (int c = 0; c < CONNECTIONS_PER_USER; c++) {
+                sockets.add(open(token));
+            }
+        }
+        awaitConnections(USERS * CONNECTIONS_PER_USER);
+        long heapAfter = usedHeapAfterGc();
+
+        // execute: one change per user, read the push on every connection
+        long start = System.nanoTime();
+        for (String userUid : userUids) {
+            userService.markDataChanged(userUid);
+        }
+        long commitMs = (System.nanoTime() - start) / 1_000_000;
+        int received = 0;
+        for (Socket socket : sockets) {
+            if (readTextFrame(socket).startsWith("{\"type\":\"CHANGED\"")) {
+                received++;
+            }
+        }
+        long fanOutMs = (System.nanoTime() - start) / 1_000_000;
+
+        // verify
+        int connections = sockets.size();
+        assertEquals(connections, received);
+        long bytesPerConnection = (heapAfter - heapBefore) / connections;
+        System.out.printf("%d idle connections: %d KiB heap each; %d changes committed in %d ms, "
+                + "all pushes received after %d ms%n",
+                connections, bytesPerConnection / 1024, USERS, commitMs, fanOutMs);
+        assertTrue(bytesPerConnection < 64 * 1024);
+    }
+
+    private Socket open(String token) throws IOException {
+        Socket socket = new Socket("localhost", port);
+        socket.setSoTimeout(30_000);
+        String handshake = "GET /ws/changes HTTP/1.1\r\n"
+                + "Host: localhost:" + port + "\r\n"
+                + "Upgrade: websocket\r\n"
+                + "Connection: Upgrade\r\n"
+                + "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\n"
+                + "Sec-WebSocket-Version: 13\r\n"
+                + "Authorization: Bearer " + token + "\r\n\r\n";
+        socket.getOutputStream().write(handshake.getBytes(StandardCharsets.US_ASCII));
+
+        String response = readHeaders(socket.getInputStream());
+        if (!response.startsWith("HTTP/1.1 101")) {
+            socket.close();
+            throw new IOException("Handshake failed: " + response);
+        }
+        return socket;
+    }
+
+    private static String readHeaders(InputStream in) throws IOException {
+        ByteArrayOutputStream headers = new ByteArrayOutputStream();
+        int matched = 0;
+        while (matched < 4) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("Connection closed during handshake");
+            }
+            headers.write(b);
+            matched = (b == (matched % 2 == 0 ? '\r' : '\n')) ? matched + 1 : (b == '\r' ? 1 : 0);
+        }
+        return headers.toString(StandardCharsets.US_ASCII);
+    }
+
+    // server frames are unmasked; push messages are short enough for a 7-bit length
+    private static String readTextFrame(Socket socket) throws IOException {
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        int opcode = in.readUnsignedByte() & 0x0F;
+        byte[] payload = new byte[in.readUnsignedByte() & 0x7F];
+        in.readFully(payload);
+        return opcode == 0x1 ? new String(payload, StandardCharsets.UTF_8) : "";
+    }
+
+    private void awaitConnections(int expected) throws InterruptedException {
+        for (int i = 0; i < 500 && changePushHandler.getConnectionCount() != expected; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, changePushHandler.getConnectionCount());
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,114 @@
+package com.opr3.opr3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URI;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import com.opr3.opr3.dto.ProjectCreateRequest;
+import com.opr3.opr3.entity.User;
+import com.opr3.opr3.repository.UserRepository;
+import com.opr3.opr3.service.ProjectService;
+import com.opr3.opr3.service.UserService;
+import com.opr3.opr3.test_util.MockJwtService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class WebSocketPushTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldPushChangesOnlyToConnectionsOfTheChangedUser() throws Exception {
+        // setup
+        User user = createUser();
+        User other = createUser();
+
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.setBearerAuth(new MockJwtService().generateValidToken(user));
+        WebSocketSession session = connect(headers, received);
+
+        // execute
+        authenticate(other);
+        projectService.createProject(new ProjectCreateRequest("Someone else's", null, null));
+        authenticate(user);
+        projectService.createProject(new ProjectCreateRequest("Pushed", null, null));
+
+        // verify
+        String message = received.poll(10, TimeUnit.SECONDS);
+        assertNotNull(message);
+        assertEquals("{\"type\":\"CHANGED\",\"cursor\":" + userService.getChangeMarker(user.getUid()) + "}",
+                message);
+
+        session.close();
+    }
+
+    @Test
+    void shouldRejectHandshakeWithoutValidToken() {
+        // setup
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.setBearerAuth(new MockJwtService().generateExpiredToken(createUser()));
+
+        // execute & verify
+        assertThrows(ExecutionException.class, () -> connect(new WebSocketHttpHeaders(), new LinkedBlockingQueue<>()));
+        assertThrows(ExecutionException.class, () -> connect(headers, new LinkedBlockingQueue<>()));
+    }
+
+    private WebSocketSession connect(WebSocketHttpHeaders headers, BlockingQueue<String> received)
+            throws Exception {
+        TextWebSocketHandler handler = new TextWebSocketHandler() {
+            @Override
+            protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+                received.add(message.getPayload());
+            }
+        };
+        return new StandardWebSocketClient()
+                .execute(handler, headers, URI.create("ws://localhost:" + port + "/ws/changes"))
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    private User createUser() {
+        String name = "ws-" + System.nanoTime();
+        return userRepository.save(new User(name, "password123", name + "@email.com"));
+    }
+
+    private void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
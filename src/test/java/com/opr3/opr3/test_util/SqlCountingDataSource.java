@@ -0,0 +1,109 @@
+package com.opr3.opr3.test_util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Counts the statements executed through it and the rows read from their
+ * result sets, on any thread. A JDBC batch counts as one statement; generated
+ * keys are not counted as rows.
+ */
+public class SqlCountingDataSource extends DelegatingDataSource {
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicInteger rows = new AtomicInteger();
+
+    public SqlCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    public void reset() {
+        statements.set(0);
+        rows.set(0);
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public int getRows() {
+        return rows.get();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private Connection connection(Connection connection) {
+        return proxy(Connection.class, connection, (method, result) -> {
+            if (result instanceof CallableStatement statement) {
+                return statement(CallableStatement.class, statement);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return statement(PreparedStatement.class, statement);
+            }
+            if (result instanceof Statement statement) {
+                return statement(Statement.class, statement);
+            }
+            return result;
+        });
+    }
+
+    private <S extends Statement> S statement(Class<S> type, S statement) {
+        return proxy(type, statement, (method, result) -> {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                statements.incrementAndGet();
+            }
+            if (result instanceof ResultSet resultSet
+                    && (name.equals("executeQuery") || name.equals("getResultSet"))) {
+                return resultSet(resultSet);
+            }
+            return result;
+        });
+    }
+
+    private ResultSet resultSet(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (method, result) -> {
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rows.incrementAndGet();
+            }
+            return result;
+        });
+    }
+
+    private interface ResultHandler {
+        Object handle(Method method, Object result);
+    }
+
+    private static <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            try {
+                return handler.handle(method, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(SqlCountingDataSource.class.getClassLoader(),
+                new Class<?>[] { type }, invocationHandler));
+    }
+}